@@ -147,6 +147,10 @@ export default class Game {
                 this.winner = this.getTeamByID(footer.winner())
                 return
             }
+            case schema.Event.RobotLogs: {
+                // Robot output isn't shown in the client yet
+                return
+            }
             default: {
                 console.log(`Unknown event type: ${event.eType()}`)
                 return
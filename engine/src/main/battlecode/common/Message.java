@@ -1,10 +1,16 @@
 package battlecode.common;
 
+/**
+ * A squeak, as heard by the robots in range of it.
+ *
+ * Messages never change once sent, so every robot that hears a squeak is
+ * handed the same one.
+ */
 public class Message {
-    private int senderID;
-    private int round;
-    private int bytes;
-    private MapLocation sourceLoc;
+    private final int senderID;
+    private final int round;
+    private final int bytes;
+    private final MapLocation sourceLoc;
 
     public Message(int bytes, int senderID, int round, MapLocation sourceLoc) {
         this.senderID = senderID;
@@ -3,11 +3,13 @@ package battlecode.instrumenter;
 import battlecode.common.RobotController;
 import battlecode.common.Team;
 import battlecode.instrumenter.profiler.Profiler;
+import battlecode.instrumenter.stream.LimitedPrintStream;
 import battlecode.instrumenter.stream.RoboPrintStream;
 import battlecode.instrumenter.stream.SilencedPrintStream;
 import battlecode.server.ErrorReporter;
 import battlecode.world.control.PlayerControlProvider;
 import battlecode.server.Config;
+import battlecode.server.Server;
 
 import java.io.OutputStream;
 import java.io.PrintStream;
@@ -144,7 +146,7 @@ public class SandboxedRobotPlayer {
             Class<?> system = individualLoader
                     .loadClass("battlecode.instrumenter.inject.System");
 
-            this.systemOut = getOut(robotOut);
+            this.systemOut = getOut(robotOut, provider);
             system.getMethod("setSystemOut", PrintStream.class).invoke(null, this.systemOut);
 
         } catch (ReflectiveOperationException e) {
@@ -184,12 +186,12 @@ public class SandboxedRobotPlayer {
                 loadAndRunPlayer(teamName, PLAYER_CLASS_NAME);
                 // If we get here, we've returned from the 'run' method. Tell the user.
                 if (robotController.getLocation() != null){
-                System.out.println(robotController.getTeam().toString() + "'s " +
+                Server.console().println(robotController.getTeam().toString() + "'s " +
                         robotController.getID() + " at location " + robotController.getLocation().toString()
                         + " froze in round " +robotController.getRoundNum() +
                         " because it returned from its run() method!"); }
                 else{
-                    System.out.println(robotController.getTeam().toString() + "'s " +
+                    Server.console().println(robotController.getTeam().toString() + "'s " +
                         robotController.getID() + " that has not spawned yet " 
                         + " froze in round " +robotController.getRoundNum() +
                         " because it returned from its run() method!");
@@ -400,7 +402,7 @@ public class SandboxedRobotPlayer {
         void kill();
     }
 
-    public PrintStream getOut(OutputStream wrapped) {
+    public PrintStream getOut(OutputStream wrapped, PlayerControlProvider provider) {
         Config options = Config.getGlobalConfig();
 
         if (robotController.getTeam() == Team.A
@@ -411,9 +413,13 @@ public class SandboxedRobotPlayer {
             // Modifying Systems specific to this robot.
         } else {
             try {
+                LimitedPrintStream.Budget budget = provider != null
+                        ? provider.getOutputBudget()
+                        : new LimitedPrintStream.Budget(
+                                options.getInt("bc.server.robot-player-replay-file-per-team-limit-bytes"));
                 return new RoboPrintStream(wrapped, options.getBoolean(
                         "bc.server.robot-player-to-system-out"
-                ), options.getInt("bc.server.robot-player-replay-file-per-team-limit-bytes"));
+                ), budget);
             } catch (UnsupportedEncodingException e) {
                 throw new RuntimeException("UTF-8 isn't supported on this system??", e);
             }
@@ -4,11 +4,11 @@ import battlecode.instrumenter.InstrumentationException;
 import battlecode.instrumenter.TeamClassLoaderFactory;
 import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.Label;
 import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.Opcodes;
 
-import java.util.HashSet;
-import java.util.Set;
+import java.util.Arrays;
 
 /**
  * Instruments a class. Overrides class references and runs an
@@ -18,7 +18,29 @@ import java.util.Set;
  */
 public class InstrumentingClassVisitor extends ClassVisitor implements Opcodes {
 
+    /**
+     * The interface player classes are given so ObjectMethods can find their
+     * identity hash codes without a map lookup.
+     */
+    private static final String IDENTITY_HASHED = "battlecode/instrumenter/inject/IdentityHashed";
+
+    /**
+     * The hidden field holding an object's identity hash code plus one, or 0
+     * if it hasn't been hashed yet. Not a legal Java name, so it can't clash
+     * with player fields.
+     */
+    private static final String IDENTITY_HASH_FIELD = "bc-identity-hash";
+
+    /**
+     * The IdentityHashed method that reads the field.
+     */
+    private static final String IDENTITY_HASH_METHOD = "$bcIdentityHashCode";
+
     private String className;
+    private int version;
+
+    // Whether to add the identity hash field and IdentityHashed to this class.
+    private boolean injectIdentityHash;
     private final boolean silenced;
     private final boolean debugMethodsEnabled;
     private final boolean profilerEnabled;
@@ -63,12 +85,24 @@ public class InstrumentingClassVisitor extends ClassVisitor implements Opcodes {
             final String superName,
             final String[] interfaces) {
         className = loader.getRefUtil().classReference(name, checkDisallowed);
+        this.version = version;
+        String[] newInterfaces = interfaces;
         for (int i = 0; i < interfaces.length; i++) {
             interfaces[i] = loader.getRefUtil().classReference(interfaces[i], checkDisallowed);
         }
+        // Player classes get the field once, at the top of their own hierarchy;
+        // subclasses inherit it.
+        injectIdentityHash = checkDisallowed
+                && (access & (ACC_INTERFACE | ACC_MODULE)) == 0
+                && superName != null
+                && !loader.getFactory().hasTeamClass(superName);
+        if (injectIdentityHash) {
+            newInterfaces = Arrays.copyOf(interfaces, interfaces.length + 1);
+            newInterfaces[interfaces.length] = IDENTITY_HASHED;
+        }
         String newSuperName;
         newSuperName = loader.getRefUtil().classReference(superName, checkDisallowed);
-        super.visit(version, access, className, loader.getRefUtil().methodSignatureReference(signature, checkDisallowed), newSuperName, interfaces);
+        super.visit(version, access, className, loader.getRefUtil().methodSignatureReference(signature, checkDisallowed), newSuperName, newInterfaces);
     }
 
     /**
@@ -130,6 +164,53 @@ public class InstrumentingClassVisitor extends ClassVisitor implements Opcodes {
                 value);
     }
 
+    /**
+     * @inheritDoc
+     */
+    @Override
+    public void visitEnd() {
+        if (injectIdentityHash) {
+            addIdentityHash();
+        }
+        super.visitEnd();
+    }
+
+    /**
+     * Add the identity hash field, and the IdentityHashed method that reads
+     * it. The code is handed out lazily, the first time the object is hashed,
+     * so codes come out in the same order they would from ObjectMethods' map.
+     * The method is written straight to the class, so it costs no bytecodes.
+     */
+    private void addIdentityHash() {
+        cv.visitField(ACC_PRIVATE | ACC_SYNTHETIC, IDENTITY_HASH_FIELD, "I", null, null).visitEnd();
+
+        MethodVisitor mv = cv.visitMethod(ACC_PUBLIC | ACC_FINAL | ACC_SYNTHETIC,
+                IDENTITY_HASH_METHOD, "()I", null, null);
+        Label assigned = new Label();
+        mv.visitCode();
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitFieldInsn(GETFIELD, className, IDENTITY_HASH_FIELD, "I");
+        mv.visitInsn(DUP);
+        mv.visitJumpInsn(IFNE, assigned);
+        mv.visitInsn(POP);
+        mv.visitVarInsn(ALOAD, 0);
+        mv.visitMethodInsn(INVOKESTATIC, "battlecode/instrumenter/inject/ObjectMethods",
+                "nextIdentityHashCode", "()I", false);
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(IADD);
+        mv.visitInsn(DUP_X1);
+        mv.visitFieldInsn(PUTFIELD, className, IDENTITY_HASH_FIELD, "I");
+        mv.visitLabel(assigned);
+        if ((version & 0xFFFF) >= V1_6) {
+            mv.visitFrame(F_SAME1, 0, null, 1, new Object[]{INTEGER});
+        }
+        mv.visitInsn(ICONST_1);
+        mv.visitInsn(ISUB);
+        mv.visitInsn(IRETURN);
+        mv.visitMaxs(0, 0);
+        mv.visitEnd();
+    }
+
     /**
      * @inheritDoc
      */
@@ -0,0 +1,76 @@
+package battlecode.instrumenter.inject;
+
+import java.lang.reflect.Method;
+
+/**
+ * Answers the questions ObjectMethods asks about a class: whether its
+ * hashCode and toString are the identity-based ones we have to replace.
+ *
+ * Unlike ObjectMethods, this class isn't redefined for every robot. The
+ * answers only depend on the class, so each is worked out once for the
+ * whole JVM and shared by every robot, instead of every robot repeating the
+ * reflection for every class it hashes. Sharing them can't be used to pass
+ * messages, since no robot can change them.
+ */
+public final class ClassProperties {
+
+    private static final Method objectHashCode;
+    private static final Method enumHashCode;
+    private static final Method characterHashCode;
+
+    private static final Method objectToString;
+
+    static {
+        try {
+            objectHashCode = Object.class.getMethod("hashCode");
+            enumHashCode = Enum.class.getMethod("hashCode");
+            characterHashCode = Character.class.getMethod("hashCode");
+            objectToString = Object.class.getMethod("toString");
+        } catch (Exception e) {
+            throw new RuntimeException("Can't load needed functions", e);
+        }
+    }
+
+    private static final ClassValue<Boolean> usesOHC = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> cl) {
+            Method hashCodeMethod = getMethod(cl, "hashCode");
+            return hashCodeMethod.equals(enumHashCode) ||
+                    hashCodeMethod.equals(objectHashCode) ||
+                    hashCodeMethod.equals(characterHashCode);
+        }
+    };
+
+    private static final ClassValue<Boolean> usesOTS = new ClassValue<Boolean>() {
+        @Override
+        protected Boolean computeValue(Class<?> cl) {
+            return getMethod(cl, "toString").equals(objectToString);
+        }
+    };
+
+    /**
+     * @return whether instances of the class hash by identity
+     */
+    public static boolean usesObjectHashCode(Class<?> cl) {
+        return usesOHC.get(cl);
+    }
+
+    /**
+     * @return whether instances of the class print by identity
+     */
+    public static boolean usesObjectToString(Class<?> cl) {
+        return usesOTS.get(cl);
+    }
+
+    private static Method getMethod(Class<?> cl, String name) {
+        try {
+            return cl.getMethod(name);
+        } catch (NoSuchMethodException e) {
+            // every class inherits these from Object
+            throw new IllegalStateException("No " + name + " method on " + cl, e);
+        }
+    }
+
+    private ClassProperties() {
+    }
+}
@@ -0,0 +1,19 @@
+package battlecode.instrumenter.inject;
+
+/**
+ * Implemented by instrumented player classes that don't extend another
+ * player class. The instrumenter gives each such class a hidden field for
+ * its deterministic identity hash code, and this method to read it, so
+ * ObjectMethods doesn't have to look player objects up in a map.
+ *
+ * Not redefined per robot: every robot's player classes implement the same
+ * interface, but each calls back into its own ObjectMethods for codes.
+ */
+public interface IdentityHashed {
+
+    /**
+     * @return the object's identity hash code, handing out the next one
+     *         from ObjectMethods the first time it's asked for
+     */
+    int $bcIdentityHashCode();
+}
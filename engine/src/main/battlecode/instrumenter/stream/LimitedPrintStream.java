@@ -1,8 +1,5 @@
 package battlecode.instrumenter.stream;
 
-import battlecode.common.GameConstants;
-import battlecode.common.Team;
-
 import java.io.PrintStream;
 import java.io.OutputStream;
 import java.io.IOException;
@@ -12,27 +9,35 @@ import java.io.UnsupportedEncodingException;
  * LimitedPrintStream is a subclass of PrintStream that limits the total amount of output that a team
  * may produce. Any excess output exceeding these limits are ignored.
  *
+ * All the streams of one team in one game share a Budget.
+ *
  * @author j-mao
  */
 @SuppressWarnings("unused")
 public class LimitedPrintStream extends PrintStream {
 
     private static final String TRUNCATION_MESSAGE = "[output truncated due to team output limit]\n";
-    private static int[] limit = {-1, -1, -1}; // -1 means no limit
-    private static boolean[] reportedTruncation = {false, false, false};
 
-    private Team team;
+    /**
+     * The output a team has left.
+     */
+    public static final class Budget {
+        private int limit; // -1 means no limit
+        private boolean reportedTruncation;
+
+        public Budget(int maxOutputBytes) {
+            this.limit = maxOutputBytes;
+            this.reportedTruncation = false;
+        }
+    }
+
+    private final Budget budget;
     private boolean byteCounting;
 
-    public LimitedPrintStream(OutputStream out, boolean autoFlush, String encoding, int maxOutputBytes) throws UnsupportedEncodingException {
+    public LimitedPrintStream(OutputStream out, boolean autoFlush, String encoding, Budget budget) throws UnsupportedEncodingException {
         super(out, autoFlush, encoding);
+        this.budget = budget;
         byteCounting = true;
-        if (limit[0] == -1) // means it is not set yet
-            limit[0] = maxOutputBytes;
-        if (limit[1] == -1) // means it is not set yet
-            limit[1] = maxOutputBytes;
-        if (limit[2] == -1) // means it is not set yet
-            limit[2] = maxOutputBytes;
     }
 
     @Override
@@ -79,33 +84,18 @@ public class LimitedPrintStream extends PrintStream {
     }
 
     public void increaseByteLimit(int x) {
-        if (limit[getArrayIndex()] > 0)
-            limit[getArrayIndex()] += x;
-    }
-
-    public void setTeam(Team team) {
-        this.team = team;
+        if (budget.limit > 0)
+            budget.limit += x;
     }
 
     public void setByteCountingStatus(boolean byteCounting) {
         this.byteCounting = byteCounting;
     }
 
-    private int getArrayIndex() {
-        switch (this.team) {
-            case A:
-                return 0;
-            case B:
-                return 1;
-            default:
-                return 2;
-        }
-    }
-
     private int getRemainingByteLimit() {
-        int result = limit[getArrayIndex()];
+        int result = budget.limit;
         // -1 is infinity
-        if (limit[getArrayIndex()] == -1) {
+        if (budget.limit == -1) {
             result = Integer.MAX_VALUE;
         }
         // Even if we're not counting bytes, allow no headers to escape if completely exhausted
@@ -120,16 +110,15 @@ public class LimitedPrintStream extends PrintStream {
             return;
         }
         // -1 is infinity
-        if (limit[getArrayIndex()] == -1) {
+        if (budget.limit == -1) {
             return;
         }
-        limit[getArrayIndex()] = java.lang.Math.max(limit[getArrayIndex()]-bytes,0);
+        budget.limit = java.lang.Math.max(budget.limit-bytes,0);
     }
 
     private void reportTruncation() {
-        int index = getArrayIndex();
-        if (!reportedTruncation[index]) {
-            reportedTruncation[index] = true;
+        if (!budget.reportedTruncation) {
+            budget.reportedTruncation = true;
             try {
                 out.write(TRUNCATION_MESSAGE.getBytes(), 0, TRUNCATION_MESSAGE.length());
             } catch (IOException e) {
@@ -37,8 +37,13 @@ public final class Event {
    * There should only be one GameFooter, at the end of the stream.
    */
   public static final byte GameFooter = 5;
+  /**
+   * Robot output printed during the preceding round. Only sent to live
+   * clients; saved games keep their logs in GameWrapper.logs instead.
+   */
+  public static final byte RobotLogs = 6;
 
-  public static final String[] names = { "NONE", "GameHeader", "MatchHeader", "Round", "MatchFooter", "GameFooter", };
+  public static final String[] names = { "NONE", "GameHeader", "MatchHeader", "Round", "MatchFooter", "GameFooter", "RobotLogs", };
 
   public static String name(int e) { return names[e]; }
 }
@@ -34,6 +34,11 @@ public class Config {
         defaults.setProperty("bc.server.port", "6175");
         defaults.setProperty("bc.server.wait-for-client", "false");
 
+        // How many events of the current game the websocket server keeps for
+        // late joiners, and how far behind a client may fall before it is dropped.
+        defaults.setProperty("bc.server.event-buffer-size", "4096");
+        defaults.setProperty("bc.server.client-queue-size", "4096");
+
         // Whether to write robot player output to System.out as well as match files.
         defaults.setProperty("bc.server.robot-player-to-system-out", "true");
 
@@ -42,6 +47,10 @@ public class Config {
         // This does not affect output to stdout
         defaults.setProperty("bc.server.robot-player-replay-file-per-team-limit-bytes","-1");
 
+        // How much robot output to keep per team for the replay log section;
+        // once exceeded, the oldest output is dropped. -1 means no limit.
+        defaults.setProperty("bc.server.robot-log-buffer-bytes", "8388608");
+
         defaults.setProperty("bc.server.save-file", "match.rms");
         defaults.setProperty("bc.server.transcribe-input", "match.rms");
         defaults.setProperty("bc.server.transcribe-output", "transcribed.txt");
@@ -52,6 +61,36 @@ public class Config {
         defaults.setProperty("bc.server.validate-maps", "true");
         defaults.setProperty("bc.server.alternate-order", "false");
 
+        // Play all the maps of a game at once, one thread each, when not interactive.
+        // In a best-of-three, the third map is abandoned once the first two agree.
+        // This turns off live streaming: a match only reaches the websocket once
+        // it and the maps before it are done, all at once.
+        defaults.setProperty("bc.server.parallel-maps", "false");
+
+        // Memory-map map files and only read each layer when it's first needed,
+        // instead of reading whole maps up front. Map files must not be edited
+        // while the server is running.
+        defaults.setProperty("bc.server.mmap-maps", "false");
+
+        // Stats-only mode skips building replays entirely; useful for bulk evaluation.
+        // If stats-file is set, one summary per match is appended to it
+        // (CSV if it ends in .csv, JSON lines otherwise), in any mode.
+        defaults.setProperty("bc.server.stats-only", "false");
+        defaults.setProperty("bc.server.stats-file", "");
+
+        // Save a snapshot of every match's world every snapshot-interval rounds
+        // (0 for never) into a directory per game under snapshot-dir, to resume
+        // from with GameWorld.restore.
+        defaults.setProperty("bc.server.snapshot-interval", "0");
+        defaults.setProperty("bc.server.snapshot-dir", "snapshots");
+
+        // Tournament mode (bc.server.mode=tournament) plays every game of the bracket
+        // in bc.tournament.spec on bc.tournament.threads threads (0 for one per core),
+        // writing replays and results to bc.tournament.out-dir.
+        defaults.setProperty("bc.tournament.spec", "bracket.properties");
+        defaults.setProperty("bc.tournament.out-dir", "tournament");
+        defaults.setProperty("bc.tournament.threads", "0");
+
 
 
         // Whether to write robot player output to match files / system out
@@ -65,6 +104,10 @@ public class Config {
         defaults.setProperty("bc.engine.enable-profiler", "false");
         defaults.setProperty("bc.engine.show-indicators", "true");
 
+        // Run the cheese mines the way they used to be run, drawing the same
+        // random numbers, so older matches replay exactly as they were recorded.
+        defaults.setProperty("bc.engine.legacy-cheese-spawns", "false");
+
         defaults.setProperty("bc.game.team-a", "team000");
         defaults.setProperty("bc.game.team-b", "team000");
         defaults.setProperty("bc.game.maps", "glass");
@@ -84,12 +127,37 @@ public class Config {
 
     private static Config globalConfig = new Config(new String[0]);
 
+    /**
+     * Overrides globalConfig for a match running on its own thread, and for
+     * the robot threads it starts.
+     */
+    private static final InheritableThreadLocal<Config> matchConfig = new InheritableThreadLocal<>();
+
     public static void setGlobalConfig(Config config) {
         globalConfig = config;
     }
 
+    /**
+     * @return the config of the match running on this thread, if there is
+     *         one, otherwise the global config
+     */
     public static Config getGlobalConfig() {
-        return globalConfig;
+        Config config = matchConfig.get();
+        return config != null ? config : globalConfig;
+    }
+
+    /**
+     * Use a config for the current thread and any threads it creates,
+     * instead of the global config.
+     *
+     * @param config the config to use, or null to go back to the global one
+     */
+    public static void setMatchConfig(Config config) {
+        if (config == null) {
+            matchConfig.remove();
+        } else {
+            matchConfig.set(config);
+        }
     }
 
     /**
@@ -122,6 +190,16 @@ public class Config {
         addArgs(args);
     }
 
+    /**
+     * Creates a copy of another Config, which can be changed independently.
+     *
+     * @param base the configuration to copy
+     */
+    public Config(Config base) {
+        properties = new Properties(defaults);
+        properties.putAll(base.properties);
+    }
+
     /**
      * Processes command-line arguments, converting them to properties and
      * adding them to the local options.
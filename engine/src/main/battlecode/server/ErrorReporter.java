@@ -42,8 +42,8 @@ public class ErrorReporter {
     }
 
     private static void printStackTrace(Throwable e) {
-        System.err.println("Stack trace: ");
-        e.printStackTrace(System.err);
+        Server.errorConsole().println("Stack trace: ");
+        e.printStackTrace(Server.errorConsole());
     }
 
     private static void printThingsToTry(String thingsToTry) {
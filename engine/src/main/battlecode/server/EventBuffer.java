@@ -0,0 +1,143 @@
+package battlecode.server;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A single serialized event, backed by a buffer borrowed from a {@link Pool}.
+ *
+ * The event starts out with one reference, owned by whoever created it.
+ * Anything that holds on to the event past the call it was handed to must
+ * {@link #retain()} it, and {@link #release()} it when done; once the last
+ * reference is released the backing buffer goes back to the pool and the
+ * event must no longer be read.
+ */
+public final class EventBuffer {
+
+    private final Pool pool;
+    private final ByteBuffer backing;
+    private final ByteBuffer data;
+    private final AtomicInteger references;
+
+    /**
+     * @param pool    the pool to return the backing buffer to, may be null
+     * @param backing the buffer the event was serialized into
+     * @param data    the event itself, a view of backing
+     */
+    EventBuffer(Pool pool, ByteBuffer backing, ByteBuffer data) {
+        this.pool = pool;
+        this.backing = backing;
+        this.data = data.slice().order(ByteOrder.LITTLE_ENDIAN).asReadOnlyBuffer();
+        this.references = new AtomicInteger(1);
+    }
+
+    /**
+     * Wrap an event that does not belong to any pool.
+     */
+    public static EventBuffer wrap(byte[] event) {
+        ByteBuffer bb = ByteBuffer.wrap(event);
+        return new EventBuffer(null, bb, bb);
+    }
+
+    /**
+     * Wrap an event that does not belong to any pool.
+     *
+     * @param event the event, which must not be written to afterwards
+     */
+    public static EventBuffer wrap(ByteBuffer event) {
+        return new EventBuffer(null, event, event);
+    }
+
+    /**
+     * @return a read-only view of the event, positioned at its start;
+     *         callers may move its position freely
+     */
+    public ByteBuffer data() {
+        if (references.get() <= 0) {
+            throw new IllegalStateException("Event buffer read after release");
+        }
+        return data.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * @return the size of the event in bytes
+     */
+    public int size() {
+        return data.remaining();
+    }
+
+    public EventBuffer retain() {
+        if (references.getAndIncrement() <= 0) {
+            throw new IllegalStateException("Event buffer retained after release");
+        }
+        return this;
+    }
+
+    public void release() {
+        int remaining = references.decrementAndGet();
+        if (remaining == 0) {
+            if (pool != null) {
+                pool.recycle(backing);
+            }
+        } else if (remaining < 0) {
+            throw new IllegalStateException("Event buffer released too many times");
+        }
+    }
+
+    /**
+     * A bounded free list of buffers to serialize events into.
+     * Safe to use from multiple threads.
+     */
+    public static final class Pool {
+
+        private final ConcurrentLinkedQueue<ByteBuffer> free = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger freeCount = new AtomicInteger();
+
+        private final int initialCapacity;
+        private final int maxPooled;
+
+        /**
+         * @param initialCapacity the size of freshly allocated buffers
+         * @param maxPooled       the most buffers to keep around while unused
+         */
+        public Pool(int initialCapacity, int maxPooled) {
+            this.initialCapacity = initialCapacity;
+            this.maxPooled = maxPooled;
+        }
+
+        /**
+         * @return a buffer with undefined contents; it may be larger than
+         *         initialCapacity if it was grown while in use
+         */
+        public ByteBuffer acquire() {
+            ByteBuffer bb = free.poll();
+            if (bb == null) {
+                return ByteBuffer.allocate(initialCapacity).order(ByteOrder.LITTLE_ENDIAN);
+            }
+            freeCount.decrementAndGet();
+            bb.clear();
+            return bb;
+        }
+
+        /**
+         * Wrap part of a buffer obtained from {@link #acquire()} as an event.
+         *
+         * @param backing the buffer, which may have been replaced by a larger
+         *                one while serializing
+         * @param data    the event, a view of backing
+         */
+        public EventBuffer wrap(ByteBuffer backing, ByteBuffer data) {
+            return new EventBuffer(this, backing, data);
+        }
+
+        void recycle(ByteBuffer bb) {
+            if (freeCount.incrementAndGet() <= maxPooled) {
+                free.offer(bb);
+            } else {
+                freeCount.decrementAndGet();
+            }
+        }
+    }
+}
@@ -6,15 +6,15 @@ import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.function.Consumer;
 import java.util.function.ToIntFunction;
 import java.util.zip.GZIPOutputStream;
 
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
-import org.apache.commons.lang3.ArrayUtils;
 
 import com.google.flatbuffers.FlatBufferBuilder;
 
@@ -57,6 +57,8 @@ import battlecode.schema.RatAttack;
 import battlecode.schema.RatNap;
 import battlecode.schema.RatSqueak;
 import battlecode.schema.RemoveTrap;
+import battlecode.schema.RobotLog;
+import battlecode.schema.RobotLogs;
 import battlecode.schema.RobotTypeMetadata;
 import battlecode.schema.Round;
 import battlecode.schema.SpawnAction;
@@ -69,10 +71,11 @@ import battlecode.schema.Turn;
 import battlecode.schema.UpgradeToRatKing;
 import battlecode.util.FlatHelpers;
 import battlecode.util.TeamMapping;
+import battlecode.util.collections.ByteArrayList;
+import battlecode.util.collections.IntArrayList;
 import battlecode.world.DominationFactor;
 import battlecode.world.GameMapIO;
 import battlecode.world.LiveMap;
-import gnu.trove.TIntArrayList;
 
 /**
  * Writes a game to a flatbuffer, hooray.
@@ -117,10 +120,10 @@ public class GameMaker {
     private byte[] finishedGame;
 
     /**
-     * We have a separate byte[] for each packet sent to the client.
-     * This is necessary because flatbuffers shares metadata between structures, so
-     * we
-     * can't just cut out chunks of the larger buffer :/
+     * When there is a packet sink, each event is serialized exactly once, into
+     * its own pooled buffer. The finished buffer is spliced into fileBuilder
+     * and then handed to the sink as is, so we never cut chunks out of the
+     * larger buffer (flatbuffers shares metadata between structures there).
      */
     private FlatBufferBuilderWrapper packetBuilder;
 
@@ -130,6 +133,20 @@ public class GameMaker {
      */
     private final NetServer packetSink;
 
+    /**
+     * Only set on a fork: every event, finished in its own buffer, in the
+     * order written. The events, matchHeaders and matchFooters lists index
+     * into this instead of fileBuilder. The fork owns one reference to each
+     * until they are absorbed.
+     */
+    private final ArrayList<EventBuffer> captured;
+
+    /**
+     * Only set on a fork whose parent streams events: the sink's pool, so
+     * that captured events can be handed on to the sink as they are.
+     */
+    private final EventBuffer.Pool capturePool;
+
     /**
      * Information about the active game.
      */
@@ -141,9 +158,9 @@ public class GameMaker {
      * that lets you quickly navigate to events by index, and tells you the
      * indices of headers and footers.
      */
-    private TIntArrayList events;
-    private TIntArrayList matchHeaders;
-    private TIntArrayList matchFooters;
+    private IntArrayList events;
+    private IntArrayList matchHeaders;
+    private IntArrayList matchFooters;
 
     /**
      * The MatchMaker associated with this GameMaker.
@@ -155,30 +172,170 @@ public class GameMaker {
      */
     private final boolean showIndicators;
 
+    /**
+     * Whether to build a replay at all. When false, only the state machine is
+     * kept, and every recording method returns before doing any work.
+     */
+    private final boolean recording;
+
+    /**
+     * Actions recorded since the last turn or event was written.
+     */
+    private final ActionBuffer pendingActions;
+
+    /**
+     * Everything robots printed, per team, indexed by TeamMapping id.
+     * Saved as a separate compressed section of the replay.
+     */
+    private final RobotLogBuffer[] robotLogs;
+
+    /**
+     * Scratch list for the robot output streamed each round.
+     */
+    private final ArrayList<RobotLogBuffer.Record> freshRobotLogs;
+
     /**
      * @param gameInfo       the mapping of teams to bytes
      * @param packetSink     the NetServer to send packets to
      * @param showIndicators whether to write indicator dots and lines to replay
      */
     public GameMaker(final GameInfo gameInfo, final NetServer packetSink, final boolean showIndicators) {
+        this(gameInfo, packetSink, showIndicators, true);
+    }
+
+    /**
+     * @param gameInfo       the mapping of teams to bytes
+     * @param packetSink     the NetServer to send packets to; ignored when not recording
+     * @param showIndicators whether to write indicator dots and lines to replay
+     * @param recording      whether to build a replay, false for stats-only runs
+     */
+    public GameMaker(final GameInfo gameInfo, final NetServer packetSink, final boolean showIndicators,
+                     final boolean recording) {
         this.state = State.GAME_HEADER;
+        this.recording = recording;
 
         this.gameInfo = gameInfo;
 
-        this.packetSink = packetSink;
-        if (packetSink != null) {
-            this.packetBuilder = new FlatBufferBuilderWrapper();
+        this.packetSink = recording ? packetSink : null;
+        if (this.packetSink != null) {
+            this.packetBuilder = new FlatBufferBuilderWrapper(packetSink.getBufferPool().acquire());
         }
 
         this.fileBuilder = new FlatBufferBuilderWrapper();
 
-        this.events = new TIntArrayList();
-        this.matchHeaders = new TIntArrayList();
-        this.matchFooters = new TIntArrayList();
+        this.events = new IntArrayList();
+        this.matchHeaders = new IntArrayList();
+        this.matchFooters = new IntArrayList();
+
+        this.pendingActions = new ActionBuffer();
+        int logCapacity = recording
+                ? Config.getGlobalConfig().getInt("bc.server.robot-log-buffer-bytes")
+                : 0;
+        this.robotLogs = new RobotLogBuffer[]{
+                null,
+                new RobotLogBuffer(Team.A, logCapacity),
+                new RobotLogBuffer(Team.B, logCapacity)
+        };
+        this.freshRobotLogs = new ArrayList<>();
+        this.matchMaker = new MatchMaker();
+        this.captured = null;
+        this.capturePool = null;
 
+        this.showIndicators = showIndicators && recording;
+    }
+
+    /**
+     * Make a fork that records one match of the parent's game on its own, so
+     * that several matches can be played at once and then absorbed into the
+     * parent in order.
+     *
+     * @param parent     the game the match belongs to
+     * @param matchIndex the index of the match within the game
+     */
+    private GameMaker(final GameMaker parent, final int matchIndex) {
+        this.state = State.IN_GAME;
+        this.recording = parent.recording;
+        this.gameInfo = parent.gameInfo;
+        this.packetSink = null;
+        this.captured = new ArrayList<>();
+        this.capturePool = parent.packetSink != null ? parent.packetSink.getBufferPool() : null;
+        if (this.recording) {
+            this.packetBuilder = newCaptureBuilder();
+        }
+        this.fileBuilder = null;
+
+        this.events = new IntArrayList();
+        this.matchHeaders = new IntArrayList();
+        this.matchFooters = new IntArrayList();
+
+        this.pendingActions = new ActionBuffer();
+        this.robotLogs = new RobotLogBuffer[]{
+                null,
+                new RobotLogBuffer(Team.A, parent.robotLogs[1].getCapacity()),
+                new RobotLogBuffer(Team.B, parent.robotLogs[2].getCapacity())
+        };
+        this.freshRobotLogs = null;
         this.matchMaker = new MatchMaker();
+        this.matchMaker.currentMatch = matchIndex - 1;
+
+        this.showIndicators = parent.showIndicators;
+    }
 
-        this.showIndicators = showIndicators;
+    /**
+     * Fork off a GameMaker for one match of this game. Write the match to the
+     * fork's MatchMaker, then hand the fork to absorb.
+     *
+     * @param matchIndex the index of the match within the game
+     */
+    public GameMaker fork(int matchIndex) {
+        assertState(State.IN_GAME);
+        if (captured != null) {
+            throw new RuntimeException("Can't fork a fork");
+        }
+        return new GameMaker(this, matchIndex);
+    }
+
+    /**
+     * Append a finished fork's match to this game, as if it had been written
+     * here. Forks must be absorbed in match order.
+     *
+     * @param fork a fork of this GameMaker, between matches
+     */
+    public void absorb(GameMaker fork) {
+        assertState(State.IN_GAME);
+        fork.assertState(State.IN_GAME);
+        if (fork.captured == null) {
+            throw new RuntimeException("Can only absorb a fork");
+        }
+
+        for (int team = 1; team < robotLogs.length; team++) {
+            robotLogs[team].absorb(fork.robotLogs[team]);
+        }
+        if (!recording) {
+            return;
+        }
+
+        final int base = events.size();
+        for (EventBuffer event : fork.captured) {
+            events.add(spliceFinished(fileBuilder, event.data()));
+            if (packetSink != null) {
+                // the fork's reference goes to the sink
+                packetSink.addEvent(event);
+            } else {
+                event.release();
+            }
+        }
+        for (int i = 0; i < fork.matchHeaders.size(); i++) {
+            matchHeaders.add(base + fork.matchHeaders.get(i));
+        }
+        for (int i = 0; i < fork.matchFooters.size(); i++) {
+            matchFooters.add(base + fork.matchFooters.get(i));
+        }
+        fork.captured.clear();
+
+        if (packetSink != null) {
+            streamRobotLogs();
+        }
     }
 
     /**
@@ -207,34 +364,90 @@ public class GameMaker {
      * @return game as a packed flatbuffer byte array.
      */
     public byte[] toBytes() {
+        if (!recording) {
+            throw new RuntimeException("Can't get replay bytes, this game was not recorded");
+        }
         if (finishedGame == null) {
             assertState(State.DONE);
 
-            int events = GameWrapper.createEventsVector(fileBuilder, this.events.toNativeArray());
-            int matchHeaders = GameWrapper.createMatchHeadersVector(fileBuilder, this.matchHeaders.toNativeArray());
-            int matchFooters = GameWrapper.createMatchFootersVector(fileBuilder, this.matchFooters.toNativeArray());
+            int events = GameWrapper.createEventsVector(fileBuilder, this.events.toArray());
+            int matchHeaders = GameWrapper.createMatchHeadersVector(fileBuilder, this.matchHeaders.toArray());
+            int matchFooters = GameWrapper.createMatchFootersVector(fileBuilder, this.matchFooters.toArray());
+
+            // left out entirely when empty, so games without output are unchanged
+            int logs = hasRobotLogs()
+                    ? GameWrapper.createLogsVector(fileBuilder, gzip(serializeRobotLogs()))
+                    : 0;
 
             GameWrapper.startGameWrapper(fileBuilder);
             GameWrapper.addEvents(fileBuilder, events);
             GameWrapper.addMatchHeaders(fileBuilder, matchHeaders);
             GameWrapper.addMatchFooters(fileBuilder, matchFooters);
+            if (logs != 0) {
+                GameWrapper.addLogs(fileBuilder, logs);
+            }
 
             fileBuilder.finish(GameWrapper.endGameWrapper(fileBuilder));
-            byte[] rawBytes = fileBuilder.sizedByteArray();
+            finishedGame = gzip(fileBuilder.sizedByteArray());
+        }
+        return finishedGame;
+    }
+
+    private static byte[] gzip(byte[] rawBytes) {
+        try {
+            ByteArrayOutputStream result = new ByteArrayOutputStream();
+            GZIPOutputStream zipper = new GZIPOutputStream(result);
+            IOUtils.copy(new ByteArrayInputStream(rawBytes), zipper);
+            zipper.close();
+            zipper.flush();
+            result.flush();
+            return result.toByteArray();
+        } catch (IOException e) {
+            throw new RuntimeException("Gzipping failed?", e);
+        }
+    }
 
-            try {
-                ByteArrayOutputStream result = new ByteArrayOutputStream();
-                GZIPOutputStream zipper = new GZIPOutputStream(result);
-                IOUtils.copy(new ByteArrayInputStream(rawBytes), zipper);
-                zipper.close();
-                zipper.flush();
-                result.flush();
-                finishedGame = result.toByteArray();
-            } catch (IOException e) {
-                throw new RuntimeException("Gzipping failed?", e);
+    private boolean hasRobotLogs() {
+        return !robotLogs[1].isEmpty() || !robotLogs[2].isEmpty()
+                || robotLogs[1].getDroppedBytes() > 0 || robotLogs[2].getDroppedBytes() > 0;
+    }
+
+    /**
+     * Serialize all the robot output we still hold into its own flatbuffer,
+     * team A's before team B's.
+     *
+     * @return a finished RobotLogs buffer
+     */
+    private byte[] serializeRobotLogs() {
+        ArrayList<RobotLogBuffer.Record> records = new ArrayList<>();
+        for (int team = 1; team < robotLogs.length; team++) {
+            for (RobotLogBuffer.Record record : robotLogs[team].getRecords()) {
+                records.add(record);
             }
         }
-        return finishedGame;
+        FlatBufferBuilder builder = new FlatBufferBuilder();
+        builder.finish(createRobotLogs(builder, records));
+        return builder.sizedByteArray();
+    }
+
+    /**
+     * Write a RobotLogs table holding some records.
+     *
+     * @return the offset of the table
+     */
+    private int createRobotLogs(FlatBufferBuilder builder, List<RobotLogBuffer.Record> records) {
+        int[] logs = new int[records.size()];
+        for (int i = 0; i < logs.length; i++) {
+            RobotLogBuffer.Record record = records.get(i);
+            int text = builder.createByteVector(record.getData(), 0, record.getLength());
+            logs[i] = RobotLog.createRobotLog(builder, record.getMatch(), record.getRound(),
+                    record.getRobotID(), TeamMapping.id(record.getTeam()), text);
+        }
+        int logsP = RobotLogs.createLogsVector(builder, logs);
+        int droppedP = RobotLogs.createDroppedBytesVector(builder, new int[]{
+                0, robotLogs[1].getDroppedBytes(), robotLogs[2].getDroppedBytes()
+        });
+        return RobotLogs.createRobotLogs(builder, logsP, droppedP);
     }
 
     /**
@@ -256,37 +469,197 @@ public class GameMaker {
     }
 
     /**
-     * Run the same logic for both builders.
-     *
-     * @param perBuilder called with each builder;
+     * @return the builder the current event is being serialized into
      */
-    private void applyToBuilders(Consumer<FlatBufferBuilderWrapper> perBuilder) {
-        perBuilder.accept(fileBuilder);
-        if (packetSink != null) {
-            perBuilder.accept(packetBuilder);
-        }
+    private FlatBufferBuilderWrapper eventBuilder() {
+        return packetBuilder != null ? packetBuilder : fileBuilder;
     }
 
     /**
-     * Run the same logic for both builders.
+     * Finish an event and record it in the file; if there is a packet sink,
+     * also send it there.
      *
-     * @param perBuilder called with each builder; return event id. Should not
+     * @param perBuilder called with the builder; return event id. Should not
      *                   mutate state.
      */
     private void createEvent(ToIntFunction<FlatBufferBuilderWrapper> perBuilder) {
-        // make file event and add its offset to the list
-        int eventAP = perBuilder.applyAsInt(fileBuilder);
-        events.add(eventAP);
+        // actions not yet claimed by a turn stay pending for the next turn;
+        // flushing them here would lose them with the packet builder
+        if (packetBuilder == null) {
+            events.add(perBuilder.applyAsInt(fileBuilder));
+            return;
+        }
 
-        if (packetSink != null) {
-            // make packet event and package it up
-            int eventBP = perBuilder.applyAsInt(packetBuilder);
-            packetBuilder.finish(eventBP);
-            packetSink.addEvent(packetBuilder.sizedByteArray());
+        int eventP = perBuilder.applyAsInt(packetBuilder);
+        packetBuilder.finish(eventP);
+        ByteBuffer packet = packetBuilder.dataBuffer();
+
+        if (captured != null) {
+            events.add(captured.size());
+            captured.add(capturePool != null ? capturePool.wrap(packet, packet) : EventBuffer.wrap(packet));
+            packetBuilder = newCaptureBuilder();
+            return;
+        }
+
+        events.add(spliceFinished(fileBuilder, packet.duplicate()));
+        packetSink.addEvent(packetSink.getBufferPool().wrap(packet, packet));
+
+        packetBuilder = new FlatBufferBuilderWrapper(packetSink.getBufferPool().acquire());
+    }
+
+    /**
+     * @return a builder for a fork's next event, from the sink's pool if
+     *         the event will end up there
+     */
+    private FlatBufferBuilderWrapper newCaptureBuilder() {
+        return capturePool != null
+                ? new FlatBufferBuilderWrapper(capturePool.acquire())
+                : new FlatBufferBuilderWrapper();
+    }
 
-            // reset packet builder
-            packetBuilder = new FlatBufferBuilderWrapper(packetBuilder.dataBuffer());
+    /**
+     * Send an event to the packet sink without recording it in the file.
+     * There must be a packet sink.
+     *
+     * @param perBuilder called with the builder; return event id.
+     */
+    private void streamEvent(ToIntFunction<FlatBufferBuilderWrapper> perBuilder) {
+        int eventP = perBuilder.applyAsInt(packetBuilder);
+        packetBuilder.finish(eventP);
+        ByteBuffer packet = packetBuilder.dataBuffer();
+        packetSink.addEvent(packetSink.getBufferPool().wrap(packet, packet));
+
+        packetBuilder = new FlatBufferBuilderWrapper(packetSink.getBufferPool().acquire());
+    }
+
+    /**
+     * Send robot output printed since the last call to the packet sink, if
+     * there is any.
+     */
+    private void streamRobotLogs() {
+        final ArrayList<RobotLogBuffer.Record> fresh = this.freshRobotLogs;
+        for (int team = 1; team < robotLogs.length; team++) {
+            robotLogs[team].takeUnstreamed(fresh);
+        }
+        if (fresh.isEmpty()) {
+            return;
+        }
+        streamEvent((builder) -> EventWrapper.createEventWrapper(builder, Event.RobotLogs,
+                createRobotLogs(builder, fresh)));
+        fresh.clear();
+    }
+
+    /**
+     * Write all pending actions to a builder, in the order they were recorded,
+     * and add them to the builder's current turn.
+     *
+     * Only a turn takes actions, so this is only called when one is about
+     * to be written; actions recorded after a round's last turn go to the
+     * next turn, whichever builder that is written to.
+     */
+    private void flushActions(FlatBufferBuilderWrapper builder) {
+        final ActionBuffer actions = this.pendingActions;
+        for (int n = 0; n < actions.size; n++) {
+            final byte type = actions.types[n];
+            final int[] a = actions.args;
+            final int i = n * ActionBuffer.ARGS;
+            final int offset;
+            switch (type) {
+                case Action.DamageAction:
+                    offset = DamageAction.createDamageAction(builder, a[i], a[i + 1]);
+                    break;
+                case Action.RatNap:
+                    offset = RatNap.createRatNap(builder, a[i]);
+                    break;
+                case Action.CatFeed:
+                    offset = CatFeed.createCatFeed(builder, a[i]);
+                    break;
+                case Action.ThrowRat:
+                    offset = ThrowRat.createThrowRat(builder, a[i], a[i + 1]);
+                    break;
+                case Action.RatAttack:
+                    offset = RatAttack.createRatAttack(builder, a[i]);
+                    break;
+                case Action.CatScratch:
+                    offset = CatScratch.createCatScratch(builder, a[i]);
+                    break;
+                case Action.StunAction:
+                    offset = StunAction.createStunAction(builder, a[i], a[i + 1]);
+                    break;
+                case Action.UpgradeToRatKing:
+                    offset = UpgradeToRatKing.createUpgradeToRatKing(builder, a[i]);
+                    break;
+                case Action.PlaceTrap:
+                    offset = PlaceTrap.createPlaceTrap(builder, a[i], (byte) a[i + 1], a[i + 2] != 0);
+                    break;
+                case Action.RemoveTrap:
+                    offset = RemoveTrap.createRemoveTrap(builder, a[i], (byte) a[i + 1]);
+                    break;
+                case Action.TriggerTrap:
+                    offset = TriggerTrap.createTriggerTrap(builder, a[i], (byte) a[i + 1]);
+                    break;
+                case Action.PlaceDirt:
+                    offset = PlaceDirt.createPlaceDirt(builder, a[i]);
+                    break;
+                case Action.BreakDirt:
+                    offset = BreakDirt.createBreakDirt(builder, a[i]);
+                    break;
+                case Action.RatSqueak:
+                    offset = RatSqueak.createRatSqueak(builder, a[i]);
+                    break;
+                case Action.CheeseTransfer:
+                    offset = CheeseTransfer.createCheeseTransfer(builder, a[i], a[i + 1]);
+                    break;
+                case Action.CheeseSpawn:
+                    offset = CheeseSpawn.createCheeseSpawn(builder, a[i], a[i + 1]);
+                    break;
+                case Action.CheesePickup:
+                    offset = CheesePickup.createCheesePickup(builder, a[i]);
+                    break;
+                case Action.SpawnAction:
+                    offset = SpawnAction.createSpawnAction(builder, a[i], a[i + 1], a[i + 2], a[i + 3], a[i + 4],
+                            (byte) a[i + 5], (byte) a[i + 6]);
+                    break;
+                case Action.DieAction:
+                    offset = DieAction.createDieAction(builder, a[i], (byte) a[i + 1]);
+                    break;
+                case Action.IndicatorStringAction:
+                    offset = IndicatorStringAction.createIndicatorStringAction(builder,
+                            builder.createString(actions.strings[n]));
+                    break;
+                case Action.IndicatorDotAction:
+                    offset = IndicatorDotAction.createIndicatorDotAction(builder, a[i], a[i + 1]);
+                    break;
+                case Action.IndicatorLineAction:
+                    offset = IndicatorLineAction.createIndicatorLineAction(builder, a[i], a[i + 1], a[i + 2]);
+                    break;
+                default:
+                    throw new RuntimeException("Unknown action type: " + type);
+            }
+            builder.addAction(offset, type);
         }
+        actions.clear();
+    }
+
+    /**
+     * Copy a finished flatbuffer into another builder as an opaque block.
+     * All flatbuffer offsets are relative, so the copied tables stay valid
+     * wherever the block lands as long as its alignment is preserved.
+     *
+     * @param target   the builder to copy into
+     * @param finished the finished buffer, positioned at its root offset
+     * @return the offset of the copied root table in target
+     */
+    static int spliceFinished(FlatBufferBuilder target, ByteBuffer finished) {
+        int size = finished.remaining();
+        int root = finished.order(ByteOrder.LITTLE_ENDIAN).getInt(finished.position());
+
+        // a finished buffer's size is a multiple of its alignment, which is at most 8
+        ByteBuffer block = target.createUnintializedVector(1, size, 8);
+        block.put(finished);
+        // the block is stored as a byte vector, so it sits just after the length
+        int blockStart = target.endVector() - Integer.BYTES;
+        return blockStart - root;
     }
 
     /**
@@ -299,6 +672,9 @@ public class GameMaker {
     public void makeGameHeader() {
 
         changeState(State.GAME_HEADER, State.IN_GAME);
+        if (!recording) {
+            return;
+        }
 
         createEvent((builder) -> {
             int specVersionOffset = builder.createString(GameConstants.SPEC_VERSION);
@@ -340,7 +716,7 @@ public class GameMaker {
     }
 
     public int makeRobotTypeMetadata(FlatBufferBuilder builder) {
-        TIntArrayList robotTypeMetadataOffsets = new TIntArrayList();
+        IntArrayList robotTypeMetadataOffsets = new IntArrayList();
         for (UnitType type : UnitType.values()) {
             // turns all types into level 1 to convert easily into RobotType
             UnitType levelOneType = FlatHelpers.getUnitTypeFromRobotType(FlatHelpers.getRobotTypeFromUnitType(type));
@@ -361,11 +737,14 @@ public class GameMaker {
             RobotTypeMetadata.addMessageRadiusSquared(builder, GameConstants.SQUEAK_RADIUS_SQUARED);
             robotTypeMetadataOffsets.add(RobotTypeMetadata.endRobotTypeMetadata(builder));
         }
-        return GameHeader.createRobotTypeMetadataVector(builder, robotTypeMetadataOffsets.toNativeArray());
+        return GameHeader.createRobotTypeMetadataVector(builder, robotTypeMetadataOffsets.toArray());
     }
 
     public void makeGameFooter(Team winner) {
         changeState(State.IN_GAME, State.DONE);
+        if (!recording) {
+            return;
+        }
 
         createEvent((builder) -> EventWrapper.createEventWrapper(builder, Event.GameFooter,
                 GameFooter.createGameFooter(builder, TeamMapping.id(winner))));
@@ -382,25 +761,26 @@ public class GameMaker {
     public class MatchMaker {
 
         // Round statistics
-        private TIntArrayList teamIDs;
-        private TIntArrayList teamCatDamage;
-        private TIntArrayList teamCheeseTransferred;
-        private TIntArrayList teamAliveRatKings;
-        private TIntArrayList teamAliveBabyRats;
-        private TIntArrayList teamRatTrapCount;
-        private TIntArrayList teamCatTrapCount;
-        private TIntArrayList teamDirtCount;
-
-        private TIntArrayList diedIds; // ints
-
-        // private TIntArrayList trapAddedIds;
-        // private TIntArrayList trapAddedX;
-        // private TIntArrayList trapAddedY;
-        // private TByteArrayList trapAddedTypes;
-        // private TByteArrayList trapAddedTeams;
-
-        private TIntArrayList trapTriggeredIds;
-
+        private IntArrayList teamIDs;
+        private IntArrayList teamCatDamage;
+        private IntArrayList teamCheeseTransferred;
+        private IntArrayList teamAliveRatKings;
+        private IntArrayList teamAliveBabyRats;
+        private IntArrayList teamRatTrapCount;
+        private IntArrayList teamCatTrapCount;
+        private IntArrayList teamDirtCount;
+
+        private IntArrayList diedIds; // ints
+
+        // private IntArrayList trapAddedIds;
+        // private IntArrayList trapAddedX;
+        // private IntArrayList trapAddedY;
+        // private ByteArrayList trapAddedTypes;
+        // private ByteArrayList trapAddedTeams;
+
+        private IntArrayList trapTriggeredIds;
+
+        private int currentMatch = -1;
         private int currentRound;
         private int currentMapWidth = -1;
 
@@ -409,39 +789,39 @@ public class GameMaker {
         private ArrayList<String> timelineMarkerLabels;
         private ArrayList<Integer> timelineMarkerColors;
 
-        // Used to write logs.
-        private final ByteArrayOutputStream logger;
-
         public MatchMaker() {
-            this.teamIDs = new TIntArrayList();
-            this.teamCatDamage = new TIntArrayList();
-            this.teamCheeseTransferred = new TIntArrayList();
-            this.teamAliveRatKings = new TIntArrayList();
-            this.teamAliveBabyRats = new TIntArrayList();
-            this.teamDirtCount = new TIntArrayList();
-            this.teamRatTrapCount = new TIntArrayList();
-            this.teamCatTrapCount = new TIntArrayList();
-
-            this.diedIds = new TIntArrayList();
+            this.teamIDs = new IntArrayList();
+            this.teamCatDamage = new IntArrayList();
+            this.teamCheeseTransferred = new IntArrayList();
+            this.teamAliveRatKings = new IntArrayList();
+            this.teamAliveBabyRats = new IntArrayList();
+            this.teamDirtCount = new IntArrayList();
+            this.teamRatTrapCount = new IntArrayList();
+            this.teamCatTrapCount = new IntArrayList();
+
+            this.diedIds = new IntArrayList();
             this.currentRound = 0;
-            this.logger = new ByteArrayOutputStream();
             this.timelineMarkerTeams = new ArrayList<>();
             this.timelineMarkerRounds = new ArrayList<>();
             this.timelineMarkerLabels = new ArrayList<>();
             this.timelineMarkerColors = new ArrayList<>();
             
-            // this.trapAddedIds = new TIntArrayList();
-            // this.trapAddedX = new TIntArrayList();
-            // this.trapAddedY = new TIntArrayList();
-            // this.trapAddedTypes = new TByteArrayList();
-            // this.trapAddedTeams = new TByteArrayList();
-            // this.trapTriggeredIds = new TIntArrayList();
+            // this.trapAddedIds = new IntArrayList();
+            // this.trapAddedX = new IntArrayList();
+            // this.trapAddedY = new IntArrayList();
+            // this.trapAddedTypes = new ByteArrayList();
+            // this.trapAddedTeams = new ByteArrayList();
+            // this.trapTriggeredIds = new IntArrayList();
 
         }
 
         public void makeMatchHeader(LiveMap gameMap) {
             changeState(State.IN_GAME, State.IN_MATCH);
+            this.currentMatch++;
             this.currentMapWidth = gameMap.getWidth();
+            if (!recording) {
+                return;
+            }
             createEvent((builder) -> {
                 int map = GameMapIO.Serial.serialize(builder, gameMap);
                 return EventWrapper.createEventWrapper(builder, Event.MatchHeader,
@@ -456,20 +836,23 @@ public class GameMaker {
         public void makeMatchFooter(Team winTeam, DominationFactor winType, int totalRounds,
                 List<ProfilerCollection> profilerCollections) {
             changeState(State.IN_MATCH, State.IN_GAME);
+            if (!recording) {
+                return;
+            }
 
             createEvent((builder) -> {
-                TIntArrayList profilerFiles = new TIntArrayList();
+                IntArrayList profilerFiles = new IntArrayList();
 
                 for (ProfilerCollection profilerCollection : profilerCollections) {
-                    TIntArrayList frames = new TIntArrayList();
-                    TIntArrayList profiles = new TIntArrayList();
+                    IntArrayList frames = new IntArrayList();
+                    IntArrayList profiles = new IntArrayList();
 
                     for (String frame : profilerCollection.getFrames()) {
                         frames.add(builder.createString(frame));
                     }
 
                     for (Profiler profiler : profilerCollection.getProfilers()) {
-                        TIntArrayList events = new TIntArrayList();
+                        IntArrayList events = new IntArrayList();
 
                         for (battlecode.instrumenter.profiler.ProfilerEvent event : profiler.getEvents()) {
                             ProfilerEvent.startProfilerEvent(builder);
@@ -480,7 +863,7 @@ public class GameMaker {
                         }
 
                         int nameOffset = builder.createString(profiler.getName());
-                        int eventsOffset = ProfilerProfile.createEventsVector(builder, events.toNativeArray());
+                        int eventsOffset = ProfilerProfile.createEventsVector(builder, events.toArray());
 
                         ProfilerProfile.startProfilerProfile(builder);
                         ProfilerProfile.addName(builder, nameOffset);
@@ -488,15 +871,15 @@ public class GameMaker {
                         profiles.add(ProfilerProfile.endProfilerProfile(builder));
                     }
 
-                    int framesOffset = ProfilerFile.createFramesVector(builder, frames.toNativeArray());
-                    int profilesOffset = ProfilerFile.createProfilesVector(builder, profiles.toNativeArray());
+                    int framesOffset = ProfilerFile.createFramesVector(builder, frames.toArray());
+                    int profilesOffset = ProfilerFile.createProfilesVector(builder, profiles.toArray());
 
                     profilerFiles.add(ProfilerFile.createProfilerFile(builder, framesOffset, profilesOffset));
                 }
 
-                int profilerFilesOffset = MatchFooter.createProfilerFilesVector(builder, profilerFiles.toNativeArray());
+                int profilerFilesOffset = MatchFooter.createProfilerFilesVector(builder, profilerFiles.toArray());
 
-                TIntArrayList timelineMarkerOffsets = new TIntArrayList();
+                IntArrayList timelineMarkerOffsets = new IntArrayList();
                 for (int i = 0; i < this.timelineMarkerRounds.size(); i++) {
                     int timelineMarkerOffset = TimelineMarker.createTimelineMarker(builder, timelineMarkerTeams.get(i),
                             timelineMarkerRounds.get(i),
@@ -504,7 +887,7 @@ public class GameMaker {
                     timelineMarkerOffsets.add(timelineMarkerOffset);
                 }
                 int timelineMarkersOffset = MatchFooter.createTimelineMarkersVector(builder,
-                        timelineMarkerOffsets.toNativeArray());
+                        timelineMarkerOffsets.toArray());
 
                 return EventWrapper.createEventWrapper(builder, Event.MatchFooter,
                         MatchFooter.createMatchFooter(builder, TeamMapping.id(winTeam),
@@ -518,30 +901,26 @@ public class GameMaker {
         public void startRound(int roundNum) {
             assertState(State.IN_MATCH);
 
-            try {
-                this.logger.flush();
-            } catch (IOException e) {
-                throw new RuntimeException("Can't flush byte[]outputstream?", e);
-            }
-            // byte[] logs = this.logger.toByteArray();
-            this.logger.reset();
             this.currentRound = roundNum;
         }
 
         public void endRound() {
+            if (!recording) {
+                return;
+            }
             createEvent((builder) -> {
                 // Round statistics
-                int teamIDsP = Round.createTeamIdsVector(builder, teamIDs.toNativeArray());
+                int teamIDsP = Round.createTeamIdsVector(builder, teamIDs.toArray());
                 int teamCheeseTransferredP = Round.createTeamCheeseTransferredVector(builder,
-                        teamCheeseTransferred.toNativeArray());
-                int teamCatDamageP = Round.createTeamCatDamageVector(builder, teamCatDamage.toNativeArray());
-                int teamAliveRatKingsP = Round.createTeamAliveRatKingsVector(builder, teamAliveRatKings.toNativeArray());
-                int teamAliveBabyRatsP = Round.createTeamAliveBabyRatsVector(builder, teamAliveBabyRats.toNativeArray());
-                int teamDirtCountP = Round.createTeamDirtAmountsVector(builder, teamDirtCount.toNativeArray());
-                int teamRatTrapCountP = Round.createTeamRatTrapCountVector(builder, teamRatTrapCount.toNativeArray());
-                int teamCatTrapCountP = Round.createTeamCatTrapCountVector(builder, teamCatTrapCount.toNativeArray());
+                        teamCheeseTransferred.toArray());
+                int teamCatDamageP = Round.createTeamCatDamageVector(builder, teamCatDamage.toArray());
+                int teamAliveRatKingsP = Round.createTeamAliveRatKingsVector(builder, teamAliveRatKings.toArray());
+                int teamAliveBabyRatsP = Round.createTeamAliveBabyRatsVector(builder, teamAliveBabyRats.toArray());
+                int teamDirtCountP = Round.createTeamDirtAmountsVector(builder, teamDirtCount.toArray());
+                int teamRatTrapCountP = Round.createTeamRatTrapCountVector(builder, teamRatTrapCount.toArray());
+                int teamCatTrapCountP = Round.createTeamCatTrapCountVector(builder, teamCatTrapCount.toArray());
 
-                int diedIdsP = Round.createDiedIdsVector(builder, diedIds.toNativeArray());
+                int diedIdsP = Round.createDiedIdsVector(builder, diedIds.toArray());
 
                 builder.startRound();
 
@@ -560,191 +939,223 @@ public class GameMaker {
                 return EventWrapper.createEventWrapper(builder, Event.Round, round);
             });
 
+            if (packetSink != null) {
+                streamRobotLogs();
+            }
+
             clearRoundData();
         }
 
-        public void startTurn(int robotID) {
-            return;
+        public void startTurn(int robotID, Team team) {
+            if (team == Team.A || team == Team.B) {
+                robotLogs[TeamMapping.id(team)].startTurn(this.currentMatch, this.currentRound, robotID);
+            }
         }
 
         public void endTurn(int robotID, int health, int cheese, int movementCooldown, int actionCooldown, int turningCooldown,
                 int bytecodesUsed, MapLocation loc, Direction dir, boolean isCooperation) {
-            applyToBuilders((builder) -> {
-                builder.startTurn();
-
-                Turn.addRobotId(builder, robotID);
-                Turn.addHealth(builder, health);
-                Turn.addCheese(builder, cheese);
-                Turn.addIsCooperation(builder, isCooperation);
-                Turn.addMoveCooldown(builder, movementCooldown);
-                Turn.addActionCooldown(builder, actionCooldown);
-                Turn.addTurningCooldown(builder, turningCooldown);
-                Turn.addBytecodesUsed(builder, bytecodesUsed);
-                Turn.addX(builder, loc.x);
-                Turn.addY(builder, loc.y);
-                Turn.addDir(builder, FlatHelpers.getOrdinalFromDirection(dir));
-
-                builder.finishTurn();
-            });
+            if (!recording) {
+                return;
+            }
+            FlatBufferBuilderWrapper builder = eventBuilder();
+            flushActions(builder);
+            builder.startTurn();
+
+            Turn.addRobotId(builder, robotID);
+            Turn.addHealth(builder, health);
+            Turn.addCheese(builder, cheese);
+            Turn.addIsCooperation(builder, isCooperation);
+            Turn.addMoveCooldown(builder, movementCooldown);
+            Turn.addActionCooldown(builder, actionCooldown);
+            Turn.addTurningCooldown(builder, turningCooldown);
+            Turn.addBytecodesUsed(builder, bytecodesUsed);
+            Turn.addX(builder, loc.x);
+            Turn.addY(builder, loc.y);
+            Turn.addDir(builder, FlatHelpers.getOrdinalFromDirection(dir));
+
+            builder.finishTurn();
         }
 
         /**
+         * @param team the team whose robots will write to the stream
          * @return an outputstream that will be baked into the output file
          */
-        public OutputStream getOut() {
-            return logger;
+        public OutputStream getOut(Team team) {
+            if (team == Team.A || team == Team.B) {
+                return robotLogs[TeamMapping.id(team)];
+            }
+            return OutputStream.nullOutputStream();
         }
 
         /// Generic action representing damage to a robot
         public void addDamageAction(int damagedRobotID, int damage) {
-            applyToBuilders((builder) -> {
-                int action = DamageAction.createDamageAction(builder, damagedRobotID, damage);
-                builder.addAction(action, Action.DamageAction);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.DamageAction, damagedRobotID, damage);
         }
 
         public void addRatNapAction(int nappedID) {
-            applyToBuilders((builder) -> {
-                int action = RatNap.createRatNap(builder, nappedID);
-                builder.addAction(action, Action.RatNap);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.RatNap, nappedID);
         }
 
-        public void addCatFeedAction(int sacrificedRatID){
-            applyToBuilders((builder) -> {
-                int action = CatFeed.createCatFeed(builder, sacrificedRatID);
-                builder.addAction(action, Action.CatFeed);
-            });
+        public void addCatFeedAction(int sacrificedRatID) {
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.CatFeed, sacrificedRatID);
         }
 
 
         public void addThrowAction(int thrownRobotID, MapLocation throwDirLocation) {
-            applyToBuilders((builder) -> {
-                int action = ThrowRat.createThrowRat(builder, thrownRobotID, locationToInt(throwDirLocation));
-                builder.addAction(action, Action.ThrowRat);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.ThrowRat, thrownRobotID, locationToInt(throwDirLocation));
         }
 
         /// Visually indicate an rat bite
         public void addBiteAction(int biterID) {
-            applyToBuilders((builder) -> {
-                int action = RatAttack.createRatAttack(builder, biterID);
-                builder.addAction(action, Action.RatAttack);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.RatAttack, biterID);
         }
 
         /// Visually indicate an cat scratch
         public void addScratchAction(int loc) {
-            applyToBuilders((builder) -> {
-                int action = CatScratch.createCatScratch(builder, loc);
-                builder.addAction(action, Action.CatScratch);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.CatScratch, loc);
         }
 
         public void addStunAction(int robotID, int cooldown) {
-            applyToBuilders((builder) -> {
-                int action = StunAction.createStunAction(builder, robotID, cooldown);
-                builder.addAction(action, Action.StunAction);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.StunAction, robotID, cooldown);
         }
 
         public void addBecomeRatKingAction(int id) {
-            applyToBuilders((builder) -> {
-                int action = UpgradeToRatKing.createUpgradeToRatKing(builder, id);
-                builder.addAction(action, Action.UpgradeToRatKing);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.UpgradeToRatKing, id);
         }
 
         public void addPlaceTrapAction(int trapID, MapLocation loc, Team team, TrapType type) {
-            applyToBuilders((builder) -> {
-                byte teamID = TeamMapping.id(team);
-                int action = PlaceTrap.createPlaceTrap(builder, locationToInt(loc), teamID, type==TrapType.RAT_TRAP);
-                builder.addAction(action, Action.PlaceTrap);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.PlaceTrap, locationToInt(loc), TeamMapping.id(team), type == TrapType.RAT_TRAP ? 1 : 0);
         }
 
         public void addRemoveTrapAction(MapLocation loc, Team team) {
-            applyToBuilders((builder) -> {
-                byte teamID = TeamMapping.id(team);
-                int action = RemoveTrap.createRemoveTrap(builder, locationToInt(loc), teamID);
-                builder.addAction(action, Action.RemoveTrap);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.RemoveTrap, locationToInt(loc), TeamMapping.id(team));
         }
 
         public void addTrapTriggerAction(int trapID, MapLocation loc, Team team, TrapType type) {
-            applyToBuilders((builder) -> {
-                byte teamID = TeamMapping.id(team);
-                int action = TriggerTrap.createTriggerTrap(builder, locationToInt(loc), teamID);
-                builder.addAction(action, Action.TriggerTrap);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.TriggerTrap, locationToInt(loc), TeamMapping.id(team));
         }
 
         /// Visually indicate dirt or trap being built
         public void addPlaceDirtAction(MapLocation loc) {
-            applyToBuilders((builder) -> {
-                int action = PlaceDirt.createPlaceDirt(builder, locationToInt(loc));
-                builder.addAction(action, Action.PlaceDirt);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.PlaceDirt, locationToInt(loc));
         }
 
         /// Visually indicate dirt being removed
         public void addRemoveDirtAction(MapLocation loc) {
-            applyToBuilders((builder) -> {
-                int action = BreakDirt.createBreakDirt(builder, locationToInt(loc));
-                builder.addAction(action, Action.BreakDirt);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.BreakDirt, locationToInt(loc));
         }
 
         /// Visually indicates a rat squeaking
         public void addSqueakAction(MapLocation loc) {
-            applyToBuilders((builder) -> {
-                int action = RatSqueak.createRatSqueak(builder, locationToInt(loc));
-                builder.addAction(action, Action.RatSqueak);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.RatSqueak, locationToInt(loc));
         }
 
         /// Visually indicates a cheese transfer
         public void addCheeseTransferAction(int toID, int amount) {
-            applyToBuilders((builder) -> {
-                int action = CheeseTransfer.createCheeseTransfer(builder, toID, amount);
-                builder.addAction(action, Action.CheeseTransfer);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.CheeseTransfer, toID, amount);
         }
 
         public void addCheeseSpawnAction(MapLocation loc, int amount) {
-            applyToBuilders((builder) -> {
-                int action = CheeseSpawn.createCheeseSpawn(builder, locationToInt(loc), amount);
-                builder.addAction(action, Action.CheeseSpawn);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.CheeseSpawn, locationToInt(loc), amount);
+        }
+
+        /**
+         * Add the cheese the mines spawned this round, all at once.
+         *
+         * @param squares where cheese was spawned, as location indices
+         * @param amounts how much cheese each square had after
+         * @param count   how many of each to add
+         */
+        public void addCheeseSpawnActions(int[] squares, int[] amounts, int count) {
+            if (!recording) {
+                return;
+            }
+            for (int i = 0; i < count; i++) {
+                pendingActions.add(Action.CheeseSpawn, squares[i], amounts[i]);
+            }
         }
 
         public void addCheesePickUpAction(MapLocation loc) {
-            applyToBuilders((builder) -> {
-                int action = CheesePickup.createCheesePickup(builder, locationToInt(loc));
-                builder.addAction(action, Action.CheesePickup);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.CheesePickup, locationToInt(loc));
         }
 
         /// Indicate that this robot was spawned on this turn
         public void addSpawnAction(int id, MapLocation loc, Direction dir, int chirality, Team team, UnitType type) {
-            applyToBuilders((builder) -> {
-                byte teamID = TeamMapping.id(team);
-                byte robotType = FlatHelpers.getRobotTypeFromUnitType(type);
-                int dirOrdinal = FlatHelpers.getOrdinalFromDirection(dir);
-                int action = SpawnAction.createSpawnAction(builder, id, loc.x, loc.y, dirOrdinal, chirality, teamID, robotType);
-                builder.addAction(action, Action.SpawnAction);
-            });
+            if (!recording) {
+                return;
+            }
+            int i = pendingActions.add(Action.SpawnAction);
+            pendingActions.args[i] = id;
+            pendingActions.args[i + 1] = loc.x;
+            pendingActions.args[i + 2] = loc.y;
+            pendingActions.args[i + 3] = FlatHelpers.getOrdinalFromDirection(dir);
+            pendingActions.args[i + 4] = chirality;
+            pendingActions.args[i + 5] = TeamMapping.id(team);
+            pendingActions.args[i + 6] = FlatHelpers.getRobotTypeFromUnitType(type);
         }
 
         public void addDieAction(int id, boolean fromException) {
-            byte deathReason = fromException ? DieType.EXCEPTION : DieType.UNKNOWN;
-            applyToBuilders((builder) -> {
-                int action = DieAction.createDieAction(builder, id, deathReason);
-                builder.addAction(action, Action.DieAction);
-            });
+            if (!recording) {
+                return;
+            }
+            pendingActions.add(Action.DieAction, id, fromException ? DieType.EXCEPTION : DieType.UNKNOWN);
         }
 
         public void addTeamInfo(Team team, int cheeseTransferred, int catDamage, int aliveRatKings, int aliveBabyRats, int amountDirtCollected, int ratTrapCount, int catTrapCount) {
+            if (!recording) {
+                return;
+            }
             teamIDs.add(TeamMapping.id(team));
             teamCheeseTransferred.add(cheeseTransferred);
             teamCatDamage.add(catDamage);
@@ -771,10 +1182,7 @@ public class GameMaker {
             if (!showIndicators) {
                 return;
             }
-            applyToBuilders((builder) -> {
-                int action = IndicatorStringAction.createIndicatorStringAction(builder, builder.createString(string));
-                builder.addAction(action, Action.IndicatorStringAction);
-            });
+            pendingActions.add(Action.IndicatorStringAction, string);
         }
 
         /// Update the indicator dot for this robot
@@ -782,11 +1190,7 @@ public class GameMaker {
             if (!showIndicators) {
                 return;
             }
-            applyToBuilders((builder) -> {
-                int action = IndicatorDotAction.createIndicatorDotAction(builder, locationToInt(loc),
-                        FlatHelpers.RGBtoInt(red, green, blue));
-                builder.addAction(action, Action.IndicatorDotAction);
-            });
+            pendingActions.add(Action.IndicatorDotAction, locationToInt(loc), FlatHelpers.RGBtoInt(red, green, blue));
         }
 
         /// Update the indicator line for this robot
@@ -794,14 +1198,14 @@ public class GameMaker {
             if (!showIndicators) {
                 return;
             }
-            applyToBuilders((builder) -> {
-                int action = IndicatorLineAction.createIndicatorLineAction(builder, locationToInt(startLoc),
-                        locationToInt(endLoc), FlatHelpers.RGBtoInt(red, green, blue));
-                builder.addAction(action, Action.IndicatorLineAction);
-            });
+            pendingActions.add(Action.IndicatorLineAction, locationToInt(startLoc), locationToInt(endLoc),
+                    FlatHelpers.RGBtoInt(red, green, blue));
         }
 
         public void addDied(int id) {
+            if (!recording) {
+                return;
+            }
             diedIds.add(id);
         }
 
@@ -851,10 +1255,67 @@ public class GameMaker {
         }
     }
 
+    /**
+     * Recorded actions, stored as plain values so that recording an action
+     * neither allocates nor touches a builder. Each action has a type and up
+     * to ARGS int arguments, plus a string for indicator strings.
+     */
+    private static class ActionBuffer {
+        static final int ARGS = 7;
+
+        byte[] types = new byte[64];
+        int[] args = new int[64 * ARGS];
+        String[] strings = new String[64];
+        int size = 0;
+
+        /**
+         * Append an action; the caller fills in its arguments.
+         *
+         * @return the index of the action's first argument in args
+         */
+        int add(byte type) {
+            if (size == types.length) {
+                int capacity = size * 2;
+                types = Arrays.copyOf(types, capacity);
+                args = Arrays.copyOf(args, capacity * ARGS);
+                strings = Arrays.copyOf(strings, capacity);
+            }
+            types[size] = type;
+            return ARGS * size++;
+        }
+
+        void add(byte type, int a0) {
+            int i = add(type);
+            args[i] = a0;
+        }
+
+        void add(byte type, int a0, int a1) {
+            int i = add(type);
+            args[i] = a0;
+            args[i + 1] = a1;
+        }
+
+        void add(byte type, int a0, int a1, int a2) {
+            int i = add(type);
+            args[i] = a0;
+            args[i + 1] = a1;
+            args[i + 2] = a2;
+        }
+
+        void add(byte type, String string) {
+            strings[add(type) / ARGS] = string;
+        }
+
+        void clear() {
+            Arrays.fill(strings, 0, size, null);
+            size = 0;
+        }
+    }
+
     public class FlatBufferBuilderWrapper extends FlatBufferBuilder {
-        private ArrayList<Integer> turnOffsets = new ArrayList<>();
-        private ArrayList<Integer> actionOffsets = new ArrayList<>();
-        private ArrayList<Byte> actionTypes = new ArrayList<>();
+        private IntArrayList turnOffsets = new IntArrayList();
+        private IntArrayList actionOffsets = new IntArrayList();
+        private ByteArrayList actionTypes = new ByteArrayList();
 
         public FlatBufferBuilderWrapper() {
             super();
@@ -870,10 +1331,8 @@ public class GameMaker {
         }
 
         public void startTurn() {
-            int actionsOffset = Turn.createActionsVector(this,
-                    ArrayUtils.toPrimitive(this.actionOffsets.toArray(new Integer[this.actionOffsets.size()])));
-            int actionTypesOffsets = Turn.createActionsTypeVector(this,
-                    ArrayUtils.toPrimitive(this.actionTypes.toArray(new Byte[this.actionTypes.size()])));
+            int actionsOffset = Turn.createActionsVector(this, this.actionOffsets.toArray());
+            int actionTypesOffsets = Turn.createActionsTypeVector(this, this.actionTypes.toArray());
 
             Turn.startTurn(this);
             Turn.addActions(this, actionsOffset);
@@ -891,8 +1350,7 @@ public class GameMaker {
         }
 
         public void startRound() {
-            int turnsOffset = Round.createTurnsVector(this,
-                    ArrayUtils.toPrimitive(this.turnOffsets.toArray(new Integer[this.turnOffsets.size()])));
+            int turnsOffset = Round.createTurnsVector(this, this.turnOffsets.toArray());
 
             Round.startRound(this);
             Round.addTurns(this, turnsOffset);
@@ -82,6 +82,20 @@ public class Main {
         }
     }
 
+    private static boolean runTournament(Config options) {
+        try {
+            final String spec = options.get("bc.tournament.spec");
+            if (spec == null || spec.isEmpty()) {
+                System.err.println("Can't run a tournament without bc.tournament.spec set!");
+                return false;
+            }
+            return Tournament.fromSpec(new File(spec), options).run();
+        } catch (Exception e) {
+            ErrorReporter.report(e, true);
+            return false;
+        }
+    }
+
     public static Config setupConfig(String[] args) {
         try {
             Config options = new Config(args);
@@ -106,6 +120,8 @@ public class Main {
         switch (mode) {
             case HEADLESS:
                 return runHeadless(options);
+            case TOURNAMENT:
+                return runTournament(options);
             default:
                 return false;
         }
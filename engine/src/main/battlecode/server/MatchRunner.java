@@ -0,0 +1,166 @@
+package battlecode.server;
+
+import battlecode.common.Team;
+import battlecode.instrumenter.TeamClassLoaderFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs independent games concurrently inside one JVM, on a bounded pool of
+ * threads.
+ *
+ * Each game gets its own Server and its own copy of the config, which it
+ * (and every robot thread it starts) sees through Config.getGlobalConfig.
+ * Its console output, including robot output sent to System.out and error
+ * reports, is collected separately and printed as one block when the game
+ * finishes, so concurrent games don't interleave. Robot output budgets are
+ * per team and per game.
+ *
+ * Each team URL's classes are instrumented once and reused by every later
+ * game, so team code must not change while the runner is in use.
+ *
+ * Games run here are never streamed over the websocket server, since a
+ * client can only follow one game at a time.
+ */
+public class MatchRunner {
+
+    /**
+     * The outcome of one game.
+     */
+    public static final class Result {
+        private final GameInfo game;
+        private final Team winner;
+        private final String output;
+        private final long elapsedMillis;
+
+        private Result(GameInfo game, Team winner, String output, long elapsedMillis) {
+            this.game = game;
+            this.winner = winner;
+            this.output = output;
+            this.elapsedMillis = elapsedMillis;
+        }
+
+        public GameInfo getGame() {
+            return game;
+        }
+
+        /**
+         * @return the winner, or null if the game failed to run
+         */
+        public Team getWinner() {
+            return winner;
+        }
+
+        public boolean isSuccess() {
+            return winner != null;
+        }
+
+        /**
+         * @return everything the game printed to its console
+         */
+        public String getOutput() {
+            return output;
+        }
+
+        public long getElapsedMillis() {
+            return elapsedMillis;
+        }
+    }
+
+    private final Config baseConfig;
+    private final ExecutorService executor;
+    private final boolean echo;
+    private final Map<String, TeamClassLoaderFactory> loaderFactories;
+
+    /**
+     * @param baseConfig the config each game starts from
+     * @param threads    how many games to run at once
+     * @param echo       whether to print each game's output when it finishes
+     */
+    public MatchRunner(Config baseConfig, int threads, boolean echo) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Need at least one thread to run matches on, not " + threads);
+        }
+        this.baseConfig = baseConfig;
+        this.echo = echo;
+        this.loaderFactories = new ConcurrentHashMap<>();
+
+        final AtomicInteger count = new AtomicInteger();
+        final ThreadFactory factory = (r) -> {
+            Thread t = new Thread(r, "match-runner-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+        this.executor = Executors.newFixedThreadPool(threads, factory);
+    }
+
+    /**
+     * Queue a game, using a copy of the base config.
+     */
+    public CompletableFuture<Result> submit(GameInfo game) {
+        return submit(game, new Config(baseConfig));
+    }
+
+    /**
+     * Queue a game with its own config. The config should not be shared with
+     * other games that may run at the same time.
+     */
+    public CompletableFuture<Result> submit(GameInfo game, Config config) {
+        return CompletableFuture.supplyAsync(() -> run(game, config), executor);
+    }
+
+    private Result run(GameInfo game, Config config) {
+        final ByteArrayOutputStream log = new ByteArrayOutputStream();
+        final PrintStream console = new PrintStream(log, true, StandardCharsets.UTF_8);
+        final long start = System.currentTimeMillis();
+
+        Team winner = null;
+        Config.setMatchConfig(config);
+        Server.setConsole(console);
+        try {
+            winner = new Server(config, false, loaderFactories).runGame(game, null);
+        } catch (Exception e) {
+            ErrorReporter.report(e, true);
+        } finally {
+            Server.setConsole(null);
+            Config.setMatchConfig(null);
+        }
+
+        console.flush();
+        final String output = log.toString(StandardCharsets.UTF_8);
+        if (echo) {
+            synchronized (System.out) {
+                System.out.print(output);
+                System.out.flush();
+            }
+        }
+        return new Result(game, winner, output, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * Stop accepting games, and wait for the queued ones to finish.
+     *
+     * @return false if we timed out first
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Stop now, abandoning queued games.
+     */
+    public void shutdownNow() {
+        executor.shutdownNow();
+    }
+}
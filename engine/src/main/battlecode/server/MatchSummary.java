@@ -0,0 +1,202 @@
+package battlecode.server;
+
+import battlecode.common.Team;
+import battlecode.world.DominationFactor;
+import battlecode.world.GameWorld;
+import battlecode.world.TeamInfo;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * A compact record of how a single match went, for bulk evaluation runs
+ * where full replays are not needed.
+ *
+ * Summaries are appended to a file one per line, either as CSV (if the file
+ * name ends in .csv) or as JSON lines (otherwise).
+ */
+public class MatchSummary {
+
+    /**
+     * The per-team totals recorded, in output order.
+     */
+    private static final String[] TEAM_FIELDS = {
+            "cheese", "cheeseCollected", "cheeseTransferred", "ratKings", "babyRats",
+            "damageToCats", "damageSuffered", "dirt", "points"
+    };
+
+    private final String teamA;
+    private final String teamB;
+    private final String map;
+    private final int matchIndex;
+    private final Team winner;
+    private final DominationFactor dominationFactor;
+    private final int rounds;
+    private final int[][] teamTotals;
+
+    public MatchSummary(String teamA, String teamB, String map, int matchIndex,
+                        Team winner, DominationFactor dominationFactor, int rounds, int[][] teamTotals) {
+        this.teamA = teamA;
+        this.teamB = teamB;
+        this.map = map;
+        this.matchIndex = matchIndex;
+        this.winner = winner;
+        this.dominationFactor = dominationFactor;
+        this.rounds = rounds;
+        this.teamTotals = teamTotals;
+    }
+
+    /**
+     * Summarize a finished match.
+     *
+     * @param game       the game the match belongs to
+     * @param matchIndex the index of the match's map in the game
+     * @param world      the world the match ran in
+     */
+    public static MatchSummary of(GameInfo game, int matchIndex, GameWorld world) {
+        TeamInfo info = world.getTeamInfo();
+        int[][] totals = new int[2][];
+        for (Team team : new Team[] {Team.A, Team.B}) {
+            totals[team.ordinal()] = new int[] {
+                    info.getCheese(team),
+                    info.getCheeseCollected(team),
+                    info.getCheeseTransferred(team),
+                    info.getNumRatKings(team),
+                    info.getNumBabyRats(team),
+                    info.getDamageToCats(team),
+                    info.getDamageSuffered(team),
+                    info.getDirt(team),
+                    info.getPoints(team)
+            };
+        }
+        return new MatchSummary(game.getTeamAPackage(), game.getTeamBPackage(), game.getMaps()[matchIndex],
+                matchIndex, world.getWinner(), world.getGameStats().getDominationFactor(),
+                world.getCurrentRound(), totals);
+    }
+
+    public Team getWinner() {
+        return winner;
+    }
+
+    public DominationFactor getDominationFactor() {
+        return dominationFactor;
+    }
+
+    public int getRounds() {
+        return rounds;
+    }
+
+    public static String csvHeader() {
+        StringBuilder sb = new StringBuilder("teamA,teamB,map,match,winner,dominationFactor,rounds");
+        for (String team : new String[] {"A", "B"}) {
+            for (String field : TEAM_FIELDS) {
+                sb.append(',').append(field).append(team);
+            }
+        }
+        return sb.toString();
+    }
+
+    public String toCsv() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(csvField(teamA)).append(',')
+                .append(csvField(teamB)).append(',')
+                .append(csvField(map)).append(',')
+                .append(matchIndex).append(',')
+                .append(winner).append(',')
+                .append(dominationFactor).append(',')
+                .append(rounds);
+        for (int[] totals : teamTotals) {
+            for (int total : totals) {
+                sb.append(',').append(total);
+            }
+        }
+        return sb.toString();
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{");
+        sb.append("\"teamA\":").append(jsonString(teamA))
+                .append(",\"teamB\":").append(jsonString(teamB))
+                .append(",\"map\":").append(jsonString(map))
+                .append(",\"match\":").append(matchIndex)
+                .append(",\"winner\":").append(jsonString(String.valueOf(winner)))
+                .append(",\"dominationFactor\":").append(jsonString(String.valueOf(dominationFactor)))
+                .append(",\"rounds\":").append(rounds);
+        String[] teams = {"A", "B"};
+        for (int t = 0; t < teamTotals.length; t++) {
+            sb.append(",\"totals").append(teams[t]).append("\":{");
+            for (int i = 0; i < TEAM_FIELDS.length; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                sb.append('"').append(TEAM_FIELDS[i]).append("\":").append(teamTotals[t][i]);
+            }
+            sb.append('}');
+        }
+        return sb.append('}').toString();
+    }
+
+    /**
+     * Append this summary to a file, writing a CSV header first if the file
+     * is a new CSV file.
+     *
+     * @param file the file to append to
+     */
+    public void appendTo(File file) {
+        // summaries from concurrent matches share a file
+        synchronized (MatchSummary.class) {
+            boolean csv = file.getName().endsWith(".csv");
+            boolean fresh = !file.exists() || file.length() == 0;
+            try (Writer out = new FileWriter(file, true)) {
+                if (csv && fresh) {
+                    out.write(csvHeader());
+                    out.write('\n');
+                }
+                out.write(csv ? toCsv() : toJson());
+                out.write('\n');
+            } catch (IOException e) {
+                throw new RuntimeException("Couldn't write match summary to " + file, e);
+            }
+        }
+    }
+
+    private static String csvField(String s) {
+        if (s == null) {
+            return "";
+        }
+        if (s.indexOf(',') < 0 && s.indexOf('"') < 0 && s.indexOf('\n') < 0) {
+            return s;
+        }
+        return '"' + s.replace("\"", "\"\"") + '"';
+    }
+
+    private static String jsonString(String s) {
+        if (s == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder("\"");
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            switch (c) {
+                case '"':
+                    sb.append("\\\"");
+                    break;
+                case '\\':
+                    sb.append("\\\\");
+                    break;
+                case '\n':
+                    sb.append("\\n");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -1,13 +1,19 @@
 package battlecode.server;
 
+import battlecode.schema.Event;
+import battlecode.schema.EventWrapper;
 import org.java_websocket.WebSocket;
+import org.java_websocket.framing.CloseFrame;
 import org.java_websocket.handshake.ClientHandshake;
 import org.java_websocket.server.WebSocketServer;
 
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.TimeUnit;
@@ -17,42 +23,113 @@ import java.util.concurrent.TimeUnit;
  *
  * Sends one battlecode event per websocket message; ignores incoming messages.
  *
+ * Memory use is bounded: instead of keeping every event ever sent, the server
+ * keeps a keyframe for late joiners consisting of the most recent game header
+ * and the events of that game so far, up to a limit. Robot logs aren't part of
+ * the keyframe. When the limit is reached, the game's earlier matches are let
+ * go; if the current match alone doesn't fit, late joiners are turned away
+ * until the next match starts, since the client can't show a match it only
+ * has the end of. Each client has its own bounded send queue and sender
+ * thread, so a slow websocket cannot hold up the engine or the other clients;
+ * a client that falls too far behind is disconnected and may reconnect to
+ * receive a fresh keyframe.
+ *
+ * Events are reference counted {@link EventBuffer}s; the server holds a
+ * reference for as long as an event is in the keyframe or waiting in some
+ * client's queue, and the backing buffers are recycled through
+ * {@link #getBufferPool()}.
+ *
  * @author james
  */
 public class NetServer extends WebSocketServer {
 
-    private final List<byte[]> previousEvents;
-    private final BlockingQueue<byte[]> incomingEvents;
+    /**
+     * Default number of events kept for late joiners, not counting the game header.
+     */
+    public static final int DEFAULT_EVENT_BUFFER_SIZE = 4096;
+
+    /**
+     * Default number of events a single client may lag behind before being dropped.
+     */
+    public static final int DEFAULT_CLIENT_QUEUE_SIZE = 4096;
+
+    /**
+     * Number of frames a client's sender thread may hand to the socket
+     * without seeing it catch up before it waits for the socket to drain.
+     */
+    private static final int SOCKET_WINDOW = 64;
+
+    private final BlockingQueue<EventBuffer> incomingEvents;
+
+    private final EventBuffer.Pool bufferPool;
+
+    /**
+     * Guards the keyframe and the client map.
+     */
+    private final Object lock = new Object();
+
+    private EventBuffer gameHeader;
+    private final List<EventBuffer> gameEvents;
+    // where the current match starts in gameEvents
+    private int matchStart;
+    // whether the current match outgrew gameEvents, so late joiners can't be served
+    private boolean overflowed;
+    private final int eventBufferSize;
+
+    private final Map<WebSocket, ClientChannel> clients;
+    private final int clientQueueSize;
 
     private boolean waitForClient;
 
-    private boolean done = false;
-    private boolean connected = false;
+    private volatile boolean done = false;
+    private volatile boolean connected = false;
 
     private Thread queueThread;
 
     /**
-     * Create a new server.
+     * Create a new server with default buffer sizes.
      * @param port
      */
     public NetServer(int port, boolean waitForClient) {
+        this(port, waitForClient, DEFAULT_EVENT_BUFFER_SIZE, DEFAULT_CLIENT_QUEUE_SIZE);
+    }
+
+    /**
+     * Create a new server.
+     *
+     * @param port            the port to listen on
+     * @param waitForClient   whether start() should block until a client connects
+     * @param eventBufferSize the number of events of the current game kept for
+     *                        late joiners
+     * @param clientQueueSize the number of events a client may lag behind before
+     *                        it is disconnected
+     */
+    public NetServer(int port, boolean waitForClient, int eventBufferSize, int clientQueueSize) {
         super(new InetSocketAddress(port));
 
+        if (eventBufferSize <= 0 || clientQueueSize <= 0) {
+            throw new IllegalArgumentException("Event buffer and client queue sizes must be positive");
+        }
+
         this.waitForClient = waitForClient;
+        this.eventBufferSize = eventBufferSize;
+        this.clientQueueSize = clientQueueSize;
 
-        previousEvents = new ArrayList<>();
+        gameEvents = new ArrayList<>();
+        clients = new HashMap<>();
         incomingEvents = new ArrayBlockingQueue<>(2000);
+        bufferPool = new EventBuffer.Pool(16 * 1024, 256);
 
         queueThread = new Thread(() -> {
             try {
                 while (!done) {
-                    byte[] event = incomingEvents.poll(300, TimeUnit.MILLISECONDS);
+                    EventBuffer event = incomingEvents.poll(300, TimeUnit.MILLISECONDS);
                     if (event != null) {
                         processEvent(event);
                     }
                 }
                 while (incomingEvents.size() > 0) {
-                    byte[] event = incomingEvents.remove();
+                    EventBuffer event = incomingEvents.remove();
                     processEvent(event);
                 }
             } catch(Exception e) {
@@ -86,17 +163,44 @@ public class NetServer extends WebSocketServer {
         }
     }
 
+    /**
+     * @return the pool that buffers handed to {@link #addEvent(EventBuffer)}
+     *         should come from
+     */
+    public EventBuffer.Pool getBufferPool() {
+        return bufferPool;
+    }
+
     /**
      * Add an event.
      * It will be sent to clients at some point in the future.
      *
-     * @param event
+     * If the server has fallen behind, blocks until there is room for the
+     * event rather than failing.
+     *
+     * @param event the event; the server takes over the caller's reference
      */
-    public void addEvent(byte[] event) {
+    public void addEvent(EventBuffer event) {
         if (done) {
+            event.release();
             throw new RuntimeException("Can't add event, server already finished");
         }
-        incomingEvents.add(event);
+        try {
+            incomingEvents.put(event);
+        } catch (InterruptedException e) {
+            event.release();
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to queue event", e);
+        }
+    }
+
+    /**
+     * Add an event.
+     *
+     * @param event the serialized event
+     */
+    public void addEvent(byte[] event) {
+        addEvent(EventBuffer.wrap(event));
     }
 
     /**
@@ -114,7 +218,17 @@ public class NetServer extends WebSocketServer {
         done = true;
         try {
             queueThread.join();
+            final List<ClientChannel> remaining;
+            synchronized (lock) {
+                remaining = new ArrayList<>(clients.values());
+            }
+            for (ClientChannel channel : remaining) {
+                channel.drain();
+            }
             stop();
+            synchronized (lock) {
+                releaseKeyframe();
+            }
         } catch (Exception e) {
             ErrorReporter.report(e, true);
         }
@@ -122,35 +236,136 @@ public class NetServer extends WebSocketServer {
 
     // implementation details
 
-    // Two threads: one polling websocket stuff, one awaiting queue inputs
-    // When there's a new client, we lock, all events are sent to client, we unlock
-    // When there is a queue input, we lock, all clients receive event, we unlock
-    // There may still be thread-safety issues here:
-    //
-    // onOpen
+    // Threads: one polling websocket stuff, one awaiting queue inputs, and
+    // one sender per client.
+    // When there's a new client, we lock, hand it a copy of the keyframe, we unlock.
+    // When there is a queue input, we lock, update the keyframe and push the
+    // event onto every client's queue, we unlock. Neither path touches a socket
+    // while holding the lock, except to turn a client away in onOpen.
+
+    private void processEvent(EventBuffer event) {
+        final byte type = EventWrapper.getRootAsEventWrapper(event.data()).eType();
 
-    private void processEvent(byte[] event) {
-        synchronized (connections()) {
-            for (WebSocket client : connections()) {
-                client.send(event);
+        final List<ClientChannel> dropped = new ArrayList<>();
+
+        synchronized (lock) {
+            for (ClientChannel channel : new ArrayList<>(clients.values())) {
+                if (!channel.offer(event)) {
+                    clients.remove(channel.client);
+                    channel.close();
+                    dropped.add(channel);
+                }
             }
-            previousEvents.add(event);
+
+            // the queue's reference is handed over to the keyframe, if it
+            // keeps the event
+            switch (type) {
+                case Event.GameHeader:
+                    releaseKeyframe();
+                    gameHeader = event;
+                    break;
+                case Event.MatchHeader:
+                    overflowed = false;
+                    matchStart = gameEvents.size();
+                    keep(event);
+                    break;
+                case Event.RobotLogs:
+                    // only of interest live; keeping them would crowd out rounds
+                    event.release();
+                    break;
+                default:
+                    if (overflowed) {
+                        event.release();
+                    } else {
+                        keep(event);
+                    }
+                    break;
+            }
+        }
+
+        for (ClientChannel channel : dropped) {
+            System.err.println("Dropping client " + channel.client.getRemoteSocketAddress()
+                    + ": more than " + clientQueueSize + " events behind");
+            channel.client.close();
         }
     }
 
+    /**
+     * Add an event of the current match to the keyframe, making room by
+     * letting go of earlier matches, or of the keyframe altogether if the
+     * current match doesn't fit.
+     */
+    private void keep(EventBuffer event) {
+        if (gameEvents.size() == eventBufferSize && matchStart > 0) {
+            releaseGameEvents(matchStart);
+            matchStart = 0;
+        }
+        if (gameEvents.size() == eventBufferSize) {
+            releaseGameEvents(gameEvents.size());
+            event.release();
+            overflowed = true;
+            return;
+        }
+        gameEvents.add(event);
+    }
+
+    /**
+     * Release the first count events of the keyframe.
+     */
+    private void releaseGameEvents(int count) {
+        final List<EventBuffer> released = gameEvents.subList(0, count);
+        for (EventBuffer event : released) {
+            event.release();
+        }
+        released.clear();
+    }
+
+    private void releaseKeyframe() {
+        if (gameHeader != null) {
+            gameHeader.release();
+            gameHeader = null;
+        }
+        releaseGameEvents(gameEvents.size());
+        matchStart = 0;
+        overflowed = false;
+    }
+
     @Override
     public void onOpen(WebSocket client, ClientHandshake handshake) {
-        synchronized (connections()) {
-            connected = true;
+        synchronized (lock) {
+            if (overflowed) {
+                System.err.println("Turning away " + client.getRemoteSocketAddress()
+                        + ": the current match is longer than " + eventBufferSize + " events");
+                client.close(CloseFrame.GOING_AWAY,
+                        "Match too long to catch up on; reconnect when the next match starts");
+                return;
+            }
 
-            for (byte[] event : previousEvents) {
-                client.send(event);
+            final List<EventBuffer> keyframe = new ArrayList<>(gameEvents.size() + 1);
+            if (gameHeader != null) {
+                keyframe.add(gameHeader.retain());
             }
+            for (EventBuffer event : gameEvents) {
+                keyframe.add(event.retain());
+            }
+
+            ClientChannel channel = new ClientChannel(client, keyframe, clientQueueSize);
+            clients.put(client, channel);
+            channel.start();
+
+            connected = true;
         }
     }
 
     @Override
     public void onClose(WebSocket conn, int code, String reason, boolean remote) {
+        final ClientChannel channel;
+        synchronized (lock) {
+            channel = clients.remove(conn);
+        }
+        if (channel != null) {
+            channel.close();
+        }
         System.out.println("Closed: " + conn.getRemoteSocketAddress() + " for " + reason);
     }
 
@@ -168,4 +383,154 @@ public class NetServer extends WebSocketServer {
                 System.err.println("Error from [unopened WebSocket]: " + ex);
         }
     }
+
+    /**
+     * A single client's outgoing events, sent on a dedicated thread.
+     *
+     * The keyframe is sent first, followed by everything offered after the
+     * channel was created. The channel owns one reference to every event
+     * it has been given until that event has been handed to the socket.
+     *
+     * The channel's monitor guards closed and pending together, so nothing
+     * can be queued after the sender has emptied the queue for good.
+     */
+    private static class ClientChannel {
+        private static final EventBuffer END = EventBuffer.wrap(new byte[0]);
+
+        private final WebSocket client;
+        private final List<EventBuffer> keyframe;
+        private final BlockingQueue<EventBuffer> pending;
+        private final Thread sender;
+
+        private boolean closed = false;
+
+        // frames handed to the socket since its queue was last seen empty;
+        // only touched by the sender thread
+        private int unflushed = 0;
+
+        ClientChannel(WebSocket client, List<EventBuffer> keyframe, int capacity) {
+            this.client = client;
+            this.keyframe = keyframe;
+            this.pending = new ArrayBlockingQueue<>(capacity);
+            this.sender = new Thread(this::run, "NetServer sender " + client.getRemoteSocketAddress());
+            this.sender.setDaemon(true);
+        }
+
+        void start() {
+            sender.start();
+        }
+
+        /**
+         * @return false if the client is too far behind to accept the event
+         */
+        synchronized boolean offer(EventBuffer event) {
+            if (closed) {
+                return true;
+            }
+            event.retain();
+            if (!pending.offer(event)) {
+                event.release();
+                return false;
+            }
+            return true;
+        }
+
+        /**
+         * Wait for everything offered so far to be handed to the socket.
+         */
+        void drain() throws InterruptedException {
+            final boolean queued;
+            synchronized (this) {
+                queued = !closed && pending.offer(END);
+            }
+            if (queued) {
+                sender.join(5000);
+            }
+            close();
+        }
+
+        void close() {
+            synchronized (this) {
+                closed = true;
+            }
+            sender.interrupt();
+        }
+
+        private synchronized boolean isClosed() {
+            return closed;
+        }
+
+        private void run() {
+            try {
+                for (int i = 0; i < keyframe.size(); i++) {
+                    send(keyframe.set(i, null));
+                }
+                while (!isClosed()) {
+                    EventBuffer event = pending.take();
+                    if (event == END) {
+                        break;
+                    }
+                    send(event);
+                }
+            } catch (InterruptedException e) {
+                // closed
+            } catch (RuntimeException e) {
+                // the socket went away underneath us; onClose will clean up
+            } finally {
+                for (EventBuffer event : keyframe) {
+                    if (event != null) {
+                        event.release();
+                    }
+                }
+                keyframe.clear();
+                synchronized (this) {
+                    closed = true;
+                    EventBuffer event;
+                    while ((event = pending.poll()) != null) {
+                        if (event != END) {
+                            event.release();
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Hand an event to the socket, releasing it whether or not that works.
+         */
+        private void send(EventBuffer event) throws InterruptedException {
+            try {
+                awaitSocket();
+                if (!isClosed()) {
+                    // frames are copied out of the payload before send returns
+                    client.send(event.data());
+                }
+            } finally {
+                event.release();
+            }
+            unflushed++;
+        }
+
+        /**
+         * client.send only puts the frame on the socket's own queue, which is
+         * unbounded; wait for the socket to catch up every so often so that
+         * backlog builds up in our bounded queue instead, where it is noticed.
+         *
+         * Java-WebSocket has no callback for when a socket's queue empties,
+         * only hasBufferedData, so this polls.
+         */
+        private void awaitSocket() throws InterruptedException {
+            if (!client.hasBufferedData()) {
+                unflushed = 0;
+                return;
+            }
+            if (unflushed < SOCKET_WINDOW) {
+                return;
+            }
+            while (!isClosed() && client.hasBufferedData()) {
+                Thread.sleep(5);
+            }
+            unflushed = 0;
+        }
+    }
 }
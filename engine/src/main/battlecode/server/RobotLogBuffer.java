@@ -0,0 +1,269 @@
+package battlecode.server;
+
+import battlecode.common.Team;
+
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+
+/**
+ * Holds everything one team printed during a game, as a bounded ring of
+ * per-turn records.
+ *
+ * Bytes written to this stream are attributed to whichever robot was last
+ * passed to startTurn. Consecutive writes by the same robot in the same turn
+ * are coalesced into a single record. Once the team has printed more than
+ * the budget, the oldest output is dropped, and the dropped bytes counted.
+ *
+ * Nothing is allocated until the first byte is written, so teams that are
+ * silenced, or never print, cost nothing.
+ *
+ * Not thread safe; robots run one at a time.
+ */
+public class RobotLogBuffer extends OutputStream {
+
+    /**
+     * Output printed by one robot during one turn.
+     */
+    public static final class Record {
+        private final Team team;
+        private final int match;
+        private final int round;
+        private final int robotID;
+        private byte[] data;
+        private int length;
+        private boolean streamed;
+
+        private Record(Team team, int match, int round, int robotID) {
+            this.team = team;
+            this.match = match;
+            this.round = round;
+            this.robotID = robotID;
+            this.data = new byte[INITIAL_RECORD_CAPACITY];
+        }
+
+        public Team getTeam() {
+            return team;
+        }
+
+        public int getMatch() {
+            return match;
+        }
+
+        public int getRound() {
+            return round;
+        }
+
+        public int getRobotID() {
+            return robotID;
+        }
+
+        /**
+         * @return the printed bytes; only the first getLength() are valid
+         */
+        public byte[] getData() {
+            return data;
+        }
+
+        public int getLength() {
+            return length;
+        }
+
+        private void append(byte[] b, int off, int len) {
+            if (length + len > data.length) {
+                data = Arrays.copyOf(data, Math.max(length + len, data.length * 2));
+            }
+            System.arraycopy(b, off, data, length, len);
+            length += len;
+        }
+
+        private void dropFront(int n) {
+            System.arraycopy(data, n, data, 0, length - n);
+            length -= n;
+        }
+    }
+
+    private static final int INITIAL_RECORD_CAPACITY = 64;
+
+    private final Team team;
+
+    /**
+     * Maximum number of bytes held at once; negative means unbounded.
+     */
+    private final int capacity;
+
+    private ArrayDeque<Record> records;
+    private int bufferedBytes;
+    private int droppedBytes;
+
+    private int currentMatch;
+    private int currentRound;
+    private int currentRobotID;
+
+    /**
+     * @param team     the team whose output this holds
+     * @param capacity the most bytes to hold at once; negative for no limit
+     */
+    public RobotLogBuffer(Team team, int capacity) {
+        this.team = team;
+        this.capacity = capacity;
+    }
+
+    public Team getTeam() {
+        return team;
+    }
+
+    /**
+     * @return the most bytes held at once; negative for no limit
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Attribute subsequent output to a robot.
+     */
+    public void startTurn(int match, int round, int robotID) {
+        this.currentMatch = match;
+        this.currentRound = round;
+        this.currentRobotID = robotID;
+    }
+
+    @Override
+    public void write(int b) {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) {
+        if (len <= 0) {
+            return;
+        }
+        if (capacity == 0) {
+            droppedBytes += len;
+            return;
+        }
+        if (records == null) {
+            records = new ArrayDeque<>();
+        }
+
+        Record tail = records.peekLast();
+        if (tail == null || tail.streamed
+                || tail.robotID != currentRobotID
+                || tail.round != currentRound
+                || tail.match != currentMatch) {
+            tail = new Record(team, currentMatch, currentRound, currentRobotID);
+            records.addLast(tail);
+        }
+        tail.append(b, off, len);
+        bufferedBytes += len;
+
+        if (capacity > 0) {
+            evict();
+        }
+    }
+
+    /**
+     * Drop the oldest output until we're within budget. The record being
+     * written is only trimmed from the front, never dropped entirely.
+     */
+    private void evict() {
+        while (bufferedBytes > capacity) {
+            Record head = records.peekFirst();
+            int excess = bufferedBytes - capacity;
+            if (head != records.peekLast() && head.length <= excess) {
+                records.removeFirst();
+                bufferedBytes -= head.length;
+                droppedBytes += head.length;
+            } else {
+                int n = Math.min(head.length, excess);
+                head.dropFront(n);
+                bufferedBytes -= n;
+                droppedBytes += n;
+            }
+        }
+    }
+
+    /**
+     * Move everything another buffer holds to the end of this one, as if it
+     * had been written here, and take over its count of dropped bytes.
+     *
+     * @param other a buffer for the same team, written after this one
+     */
+    public void absorb(RobotLogBuffer other) {
+        droppedBytes += other.droppedBytes;
+        other.droppedBytes = 0;
+        if (other.records == null || other.records.isEmpty()) {
+            return;
+        }
+        if (capacity == 0) {
+            droppedBytes += other.bufferedBytes;
+        } else {
+            if (records == null) {
+                records = new ArrayDeque<>();
+            }
+            records.addAll(other.records);
+            bufferedBytes += other.bufferedBytes;
+            if (capacity > 0) {
+                evict();
+            }
+        }
+        other.records.clear();
+        other.bufferedBytes = 0;
+    }
+
+    /**
+     * @return whether any output is held
+     */
+    public boolean isEmpty() {
+        return records == null || records.isEmpty();
+    }
+
+    /**
+     * @return the records held, oldest first
+     */
+    public Iterable<Record> getRecords() {
+        if (records == null) {
+            return Collections.emptyList();
+        }
+        return records;
+    }
+
+    /**
+     * Collect the records that have not yet been streamed, oldest first, and
+     * mark them streamed. Later output from the same turn goes to a new record.
+     *
+     * @param out the collection to add the records to
+     * @return the number of records added
+     */
+    public int takeUnstreamed(Collection<Record> out) {
+        if (records == null) {
+            return 0;
+        }
+        int count = 0;
+        Iterator<Record> it = records.descendingIterator();
+        while (it.hasNext() && !it.next().streamed) {
+            count++;
+        }
+        int skip = records.size() - count;
+        for (Record record : records) {
+            if (skip > 0) {
+                skip--;
+                continue;
+            }
+            record.streamed = true;
+            out.add(record);
+        }
+        return count;
+    }
+
+    /**
+     * @return how many bytes of output have been dropped to stay within budget
+     */
+    public int getDroppedBytes() {
+        return droppedBytes;
+    }
+}
@@ -7,11 +7,22 @@ import battlecode.common.GameConstants;
 import battlecode.common.MapLocation;
 import battlecode.common.RobotInfo;
 import battlecode.common.Team;
+import battlecode.instrumenter.TeamClassLoaderFactory;
 import battlecode.world.*;
 import battlecode.world.control.*;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.text.SimpleDateFormat;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -19,7 +30,14 @@ import java.util.ArrayList;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.management.RuntimeErrorException;
 
@@ -61,6 +79,29 @@ public class Server implements Runnable {
      */
     private GameWorld currentWorld;
 
+    /**
+     * Tells this run's snapshot directories apart from other runs' writing
+     * to the same bc.server.snapshot-dir.
+     */
+    private static final String SNAPSHOT_RUN = new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date())
+            + "-" + ProcessHandle.current().pid();
+
+    /**
+     * Games started in this JVM, across servers, for naming snapshot directories.
+     */
+    private static final AtomicInteger snapshotGames = new AtomicInteger();
+
+    /**
+     * The name of the directory the current game's snapshots go in.
+     */
+    private String snapshotGame;
+
+    /**
+     * Class loader factories to reuse, by team URL, or null to create new
+     * ones for every game.
+     */
+    private final Map<String, TeamClassLoaderFactory> loaderFactories;
+
 
     /**
      * The server's mode affects how notifications are handled, whether or not
@@ -69,6 +110,7 @@ public class Server implements Runnable {
      */
     public enum Mode {
         HEADLESS,
+        TOURNAMENT,
     }
 
     /**
@@ -79,12 +121,27 @@ public class Server implements Runnable {
      *                    match run state
      */
     public Server(Config options, boolean interactive) {
+        this(options, interactive, null);
+    }
+
+    /**
+     * Initializes a new server that shares team class loader factories with
+     * other servers, so each team's classes are only instrumented once.
+     *
+     * @param options the configuration to use
+     * @param interactive whether to wait for notifications to control the
+     *                    match run state
+     * @param loaderFactories factories by team URL, filled in as needed;
+     *                        must be safe for concurrent use if shared
+     */
+    public Server(Config options, boolean interactive, Map<String, TeamClassLoaderFactory> loaderFactories) {
         this.gameQueue = new LinkedBlockingQueue<>();
 
         this.interactive = interactive;
 
         this.options = options;
         this.state = ServerState.NOT_READY;
+        this.loaderFactories = loaderFactories;
     }
 
     // ******************************
@@ -132,7 +189,9 @@ public class Server implements Runnable {
         final NetServer netServer;
         if (options.getBoolean("bc.server.websocket")) {
             netServer = new NetServer(options.getInt("bc.server.port"),
-                                      options.getBoolean("bc.server.wait-for-client"));
+                                      options.getBoolean("bc.server.wait-for-client"),
+                                      options.getInt("bc.server.event-buffer-size"),
+                                      options.getInt("bc.server.client-queue-size"));
             netServer.start();
         } else {
             netServer = null;
@@ -159,21 +218,49 @@ public class Server implements Runnable {
                 return;
             }
 
-            GameMaker gameMaker = new GameMaker(currentGame, netServer, options.getBoolean("bc.engine.show-indicators"));
-            gameMaker.makeGameHeader();
-
-            debug("Running: "+currentGame);
+            if (runGame(currentGame, netServer) == null) {
+                return;
+            }
+        }
+    }
 
+    /**
+     * Run every match of a game, then write the replay.
+     *
+     * @param currentGame the game to run
+     * @param netServer   where to stream events, or null
+     * @return the winner of the game, or null if a match failed to run
+     */
+    Team runGame(GameInfo currentGame, NetServer netServer) {
+        final boolean statsOnly = options.getBoolean("bc.server.stats-only");
+        GameMaker gameMaker = new GameMaker(currentGame, netServer, options.getBoolean("bc.engine.show-indicators"),
+                !statsOnly);
+        gameMaker.makeGameHeader();
+        snapshotGame = String.format("%s-%d-%s-vs-%s", SNAPSHOT_RUN, snapshotGames.incrementAndGet(),
+                currentGame.getTeamAName(), currentGame.getTeamBName());
+
+        debug("Running: "+currentGame);
+
+        final boolean profilingEnabled = options.getBoolean("bc.engine.enable-profiler");
+        final boolean checkMapGuarantees = options.getBoolean("bc.server.validate-maps");
+        final boolean alternateOrder = options.getBoolean("bc.server.alternate-order");
+
+        // Count wins
+        int aWins = 0, bWins = 0;
+
+        if (options.getBoolean("bc.server.parallel-maps") && !interactive && currentGame.getMaps().length > 1) {
+            final int[] wins = runMatchesInParallel(currentGame, gameMaker, profilingEnabled,
+                    checkMapGuarantees, alternateOrder);
+            if (wins == null) {
+                this.state = ServerState.ERROR;
+                return null;
+            }
+            aWins = wins[0];
+            bWins = wins[1];
+        } else {
             // Set up our control provider
-            final boolean profilingEnabled = options.getBoolean("bc.engine.enable-profiler");
             final RobotControlProvider prov = createControlProvider(currentGame, gameMaker, profilingEnabled);
 
-            final boolean checkMapGuarantees = options.getBoolean("bc.server.validate-maps");
-            final boolean alternateOrder = options.getBoolean("bc.server.alternate-order");
-
-            // Count wins
-            int aWins = 0, bWins = 0;
-
             // Loop through the maps in the current game
             boolean teamsReversed = false;
             for (int matchIndex = 0; matchIndex < currentGame.getMaps().length; matchIndex++) {
@@ -185,7 +272,7 @@ public class Server implements Runnable {
                 } catch (Exception e) {
                     ErrorReporter.report(e);
                     this.state = ServerState.ERROR;
-                    return;
+                    return null;
                 }
 
                 switch (winner) {
@@ -207,10 +294,13 @@ public class Server implements Runnable {
                     }
                 }
             }
-            Team winner = aWins >= bWins ? Team.A : Team.B;
-            gameMaker.makeGameFooter(winner);
+        }
+        Team winner = aWins >= bWins ? Team.A : Team.B;
+        gameMaker.makeGameFooter(winner);
+        if (!statsOnly) {
             gameMaker.writeGame(currentGame.getSaveFile());
         }
+        return winner;
     }
 
     private int locationToIndex(LiveMap liveMap, int x, int y) {
@@ -247,15 +337,7 @@ public class Server implements Runnable {
 
 
         final String mapName = currentGame.getMaps()[matchIndex];
-        final LiveMap loadedMap;
-
-
-        try {
-            loadedMap = GameMapIO.loadMap(mapName, new File(options.get("bc.game.map-path")), teamsReversed);
-        } catch (IOException e) {
-            warn("Couldn't load map " + mapName + ", skipping");
-            throw e;
-        }
+        final LiveMap loadedMap = loadMap(mapName, teamsReversed);
 
         // Create the game world!
         currentWorld = new GameWorld(loadedMap, prov, gameMaker.getMatchMaker());
@@ -281,6 +363,7 @@ public class Server implements Runnable {
         long startTime = System.currentTimeMillis();
         say("-------------------- Match Starting --------------------");
         say(String.format("%s vs. %s on %s", currentGame.getTeamAPackage(), currentGame.getTeamBPackage(), mapName));
+        final int snapshotInterval = options.getInt("bc.server.snapshot-interval");
 
         // If there are more rounds to be run, run them and
         // and send the round (and optionally stats) bytes to
@@ -297,6 +380,7 @@ public class Server implements Runnable {
                         this.state = ServerState.FINISHED;
                         break;
                     }
+                    saveSnapshotIfDue(currentWorld, matchIndex, snapshotInterval);
 
                     break;
 
@@ -306,12 +390,222 @@ public class Server implements Runnable {
             }
         }
 
-        say(getWinnerString(currentGame, currentWorld.getWinner(), currentWorld.getCurrentRound()));
+        sayMatchFinished(currentGame, currentWorld, startTime);
+
+        final File statsFile = statsFile();
+        if (statsFile != null) {
+            MatchSummary.of(currentGame, matchIndex, currentWorld).appendTo(statsFile);
+        }
+        return currentWorld.getWinner();
+    }
+
+    private LiveMap loadMap(String mapName, boolean teamsReversed) throws IOException {
+        try {
+            return MapCache.getDefault().loadMap(mapName, new File(options.get("bc.game.map-path")), teamsReversed,
+                    options.getBoolean("bc.server.mmap-maps"));
+        } catch (IOException e) {
+            warn("Couldn't load map " + mapName + ", skipping");
+            throw e;
+        }
+    }
+
+    private void sayMatchFinished(GameInfo game, GameWorld world, long startTime) {
+        say(getWinnerString(game, world.getWinner(), world.getCurrentRound(), world.getGameStats()));
         say("-------------------- Match Finished --------------------");
 
         double timeDiff = (System.currentTimeMillis() - startTime) / 1000.0;
         debug(String.format("match completed in %.4g seconds", timeDiff));
-        return currentWorld.getWinner();
+    }
+
+    /**
+     * @return where to append match summaries, or null if nowhere
+     */
+    private File statsFile() {
+        final String statsFile = options.get("bc.server.stats-file");
+        return statsFile != null && !statsFile.isEmpty() ? new File(statsFile) : null;
+    }
+
+    /**
+     * Save a snapshot of a world into a directory of its own game under
+     * bc.server.snapshot-dir, if the round it just ran is a multiple of the
+     * interval.
+     *
+     * The snapshot is written to a temporary file and renamed into place, so
+     * a snapshot file is always whole. Failing to save one only warns; the
+     * match goes on.
+     *
+     * @param interval how many rounds apart snapshots are; 0 for none
+     */
+    private void saveSnapshotIfDue(GameWorld world, int matchIndex, int interval) {
+        if (interval <= 0 || world.getCurrentRound() % interval != 0) {
+            return;
+        }
+        final File dir = new File(options.get("bc.server.snapshot-dir"), snapshotGame);
+        final File file = new File(dir, String.format("%s-%d-round%04d.snapshot",
+                world.getGameMap().getMapName(), matchIndex, world.getCurrentRound()));
+        File temp = null;
+        try {
+            Files.createDirectories(dir.toPath());
+            temp = File.createTempFile(file.getName(), ".tmp", dir);
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(temp))) {
+                world.snapshot().writeTo(out);
+            }
+            Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            warn("Couldn't save snapshot " + file + ": " + e);
+            if (temp != null) {
+                temp.delete();
+            }
+        }
+    }
+
+    /**
+     * A match played on its own thread, waiting to be added to its game.
+     */
+    private static final class ForkedMatch {
+        final GameMaker fork;
+        final Team winner;
+        final MatchSummary summary;
+        final String output;
+
+        ForkedMatch(GameMaker fork, Team winner, MatchSummary summary, String output) {
+            this.fork = fork;
+            this.winner = winner;
+            this.summary = summary;
+            this.output = output;
+        }
+    }
+
+    /**
+     * Play every map of a game at once, each in its own world with its own
+     * control providers, then add the matches to the game in map order.
+     *
+     * In a best-of-three, every map starts right away; once the first two
+     * matches agree, the third is abandoned and left out of the replay.
+     * Each match's console output is held back and printed in map order.
+     *
+     * @return the number of wins of teams A and B, or null if a match failed
+     */
+    private int[] runMatchesInParallel(GameInfo game, GameMaker gameMaker, boolean profilingEnabled,
+                                       boolean checkMapGuarantees, boolean alternateOrder) {
+        final int matches = game.getMaps().length;
+        final int threads = Math.min(matches, Runtime.getRuntime().availableProcessors());
+        final AtomicBoolean cancelled = new AtomicBoolean();
+        final AtomicInteger count = new AtomicInteger();
+        // threads are started from this one, so they see the same config and console
+        final ExecutorService pool = Executors.newFixedThreadPool(threads, (r) -> {
+            Thread t = new Thread(r, Thread.currentThread().getName() + "-map-" + count.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+
+        final List<Future<ForkedMatch>> results = new ArrayList<>(matches);
+        for (int matchIndex = 0; matchIndex < matches; matchIndex++) {
+            final int index = matchIndex;
+            final GameMaker fork = gameMaker.fork(matchIndex);
+            final boolean teamsReversed = alternateOrder && matchIndex % 2 == 1;
+            results.add(pool.submit(() -> runForkedMatch(game, index, fork, profilingEnabled,
+                    checkMapGuarantees, teamsReversed, cancelled)));
+        }
+
+        int aWins = 0, bWins = 0;
+        try {
+            for (int matchIndex = 0; matchIndex < matches; matchIndex++) {
+                if (game.isBestOfThree() && (aWins == 2 || bWins == 2)) {
+                    break;
+                }
+
+                final ForkedMatch match;
+                try {
+                    match = results.get(matchIndex).get();
+                } catch (ExecutionException e) {
+                    ErrorReporter.report(e.getCause());
+                    return null;
+                }
+
+                console().print(match.output);
+                console().flush();
+                gameMaker.absorb(match.fork);
+                final File statsFile = statsFile();
+                if (statsFile != null) {
+                    match.summary.appendTo(statsFile);
+                }
+
+                switch (match.winner) {
+                    case A:
+                        aWins++;
+                        break;
+                    case B:
+                        bWins++;
+                        break;
+                    default:
+                        warn("Team "+match.winner+" won???");
+                }
+            }
+        } catch (InterruptedException e) {
+            ErrorReporter.report(e);
+            return null;
+        } finally {
+            cancelled.set(true);
+            pool.shutdown();
+            try {
+                // let abandoned matches stop their robots before we move on
+                pool.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return new int[]{aWins, bWins};
+    }
+
+    /**
+     * Play one match into a fork of the game, unless cancelled first.
+     *
+     * @return the finished match, or null if it was cancelled
+     * @throws Exception if the match fails to run for some reason
+     */
+    private ForkedMatch runForkedMatch(GameInfo game, int matchIndex, GameMaker fork, boolean profilingEnabled,
+                                       boolean checkMapGuarantees, boolean teamsReversed,
+                                       AtomicBoolean cancelled) throws Exception {
+        if (cancelled.get()) {
+            return null;
+        }
+
+        final ByteArrayOutputStream log = new ByteArrayOutputStream();
+        setConsole(new PrintStream(log, true, StandardCharsets.UTF_8));
+        try {
+            final String mapName = game.getMaps()[matchIndex];
+            final LiveMap loadedMap = loadMap(mapName, teamsReversed);
+            final RobotControlProvider prov = createControlProvider(game, fork, profilingEnabled);
+            final GameWorld world = new GameWorld(loadedMap, prov, fork.getMatchMaker());
+
+            if (checkMapGuarantees) {
+                world.getGameMap().assertIsValid();
+            }
+
+            long startTime = System.currentTimeMillis();
+            say("-------------------- Match Starting --------------------");
+            say(String.format("%s vs. %s on %s", game.getTeamAPackage(), game.getTeamBPackage(), mapName));
+            final int snapshotInterval = options.getInt("bc.server.snapshot-interval");
+
+            while (world.runRound() != GameState.DONE) {
+                if (cancelled.get()) {
+                    if (world.isRunning()) {
+                        prov.matchEnded();
+                    }
+                    return null;
+                }
+                saveSnapshotIfDue(world, matchIndex, snapshotInterval);
+            }
+
+            sayMatchFinished(game, world, startTime);
+
+            final MatchSummary summary = statsFile() != null ? MatchSummary.of(game, matchIndex, world) : null;
+            return new ForkedMatch(fork, world.getWinner(), summary, log.toString(StandardCharsets.UTF_8));
+        } finally {
+            setConsole(null);
+        }
     }
 
     // ******************************
@@ -339,8 +633,8 @@ public class Server implements Runnable {
                 new PlayerControlProvider(
                     Team.A,
                     game.getTeamAPackage(),
-                    game.getTeamAURL(),
-                    gameMaker.getMatchMaker().getOut(),
+                    loaderFactory(game.getTeamAURL()),
+                    gameMaker.getMatchMaker().getOut(Team.A),
                     profilingEnabled
                 )
         );
@@ -349,8 +643,8 @@ public class Server implements Runnable {
                 new PlayerControlProvider(
                     Team.B,
                     game.getTeamBPackage(),
-                    game.getTeamBURL(),
-                    gameMaker.getMatchMaker().getOut(),
+                    loaderFactory(game.getTeamBURL()),
+                    gameMaker.getMatchMaker().getOut(Team.B),
                     profilingEnabled
                 )
         );
@@ -361,6 +655,16 @@ public class Server implements Runnable {
         return teamProvider;
     }
 
+    /**
+     * @return a factory for loading classes from a team URL
+     */
+    private TeamClassLoaderFactory loaderFactory(String teamURL) {
+        if (loaderFactories == null || teamURL == null) {
+            return new TeamClassLoaderFactory(teamURL);
+        }
+        return loaderFactories.computeIfAbsent(teamURL, TeamClassLoaderFactory::new);
+    }
+
     // ******************************
     // ***** GETTER METHODS *********
     // ******************************
@@ -378,6 +682,10 @@ public class Server implements Runnable {
      * @return A string representing the match's winner.
      */
     public String getWinnerString(GameInfo game, Team winner, int roundNumber) {
+        return getWinnerString(game, winner, roundNumber, currentWorld.getGameStats());
+    }
+
+    private String getWinnerString(GameInfo game, Team winner, int roundNumber, GameStats stats) {
         String teamName;
 
         switch (winner) {
@@ -400,7 +708,6 @@ public class Server implements Runnable {
         sb.append(" wins (round ").append(roundNumber).append(")");
 
         sb.append("\nReason: ");
-        GameStats stats = currentWorld.getGameStats();
         DominationFactor dom = stats.getDominationFactor();
 
         switch (dom) {
@@ -439,6 +746,41 @@ public class Server implements Runnable {
     // ***** CONSOLE MESSAGES *******
     // ******************************
 
+    /**
+     * Where a match running on its own thread prints its messages, along
+     * with the robot threads it starts. Unset means System.out.
+     */
+    private static final InheritableThreadLocal<PrintStream> console = new InheritableThreadLocal<>();
+
+    /**
+     * Send console messages from the current thread, and any threads it
+     * creates, somewhere other than System.out.
+     *
+     * @param out the stream to print to, or null for System.out
+     */
+    public static void setConsole(PrintStream out) {
+        if (out == null) {
+            console.remove();
+        } else {
+            console.set(out);
+        }
+    }
+
+    /**
+     * @return the stream messages from this thread should go to
+     */
+    public static PrintStream console() {
+        PrintStream out = console.get();
+        return out != null ? out : System.out;
+    }
+
+    /**
+     * @return the stream errors from this thread should go to
+     */
+    public static PrintStream errorConsole() {
+        PrintStream out = console.get();
+        return out != null ? out : System.err;
+    }
 
     /**
      * This method is used to display warning messages with formatted output.
@@ -447,7 +789,7 @@ public class Server implements Runnable {
      */
     public static void warn(String msg) {
         for (String line : msg.split("\n")) {
-            System.out.printf("[server:warning] %s\n", line);
+            console().printf("[server:warning] %s\n", line);
         }
     }
 
@@ -459,7 +801,7 @@ public class Server implements Runnable {
      */
     public static void say(String msg) {
         for (String line : msg.split("\n")) {
-            System.out.printf("[server] %s\n", line);
+            console().printf("[server] %s\n", line);
         }
     }
 
@@ -471,7 +813,7 @@ public class Server implements Runnable {
     public static void debug(String msg) {
         if (Config.getGlobalConfig().getBoolean("bc.server.debug")) {
             for (String line : msg.split("\n")) {
-                System.out.printf("[server:debug] %s\n", line);
+                console().printf("[server:debug] %s\n", line);
             }
         }
     }
@@ -0,0 +1,575 @@
+package battlecode.server;
+
+import battlecode.common.Team;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+
+/**
+ * Plays a bracket of teams against each other in one JVM, over a
+ * MatchRunner.
+ *
+ * The bracket is a properties file:
+ *
+ *   teams=v1,v2,v3                 (in seeding order)
+ *   team.v1.url=bots/v1/classes
+ *   team.v1.package=mybot          (defaults to the team name)
+ *   maps=DefaultSmall,DefaultMedium
+ *   format=round-robin             (or swiss)
+ *   swiss-rounds=4                 (defaults to log2 of the number of teams)
+ *   both-sides=false               (whether each pairing plays each map from both sides)
+ *
+ * Every game is a single map, so each has its own replay, named after the
+ * round it's in, the teams and the map; a Swiss tournament with more rounds
+ * than there are opponents has rematches, which are games of their own.
+ * Finished games are appended to results.csv in the output directory as they come in; when a
+ * tournament is restarted, games already there are not played again. A game
+ * that fails to run is recorded too, with no winner, so a restarted Swiss
+ * tournament sees the same results and pairs its later rounds the same way;
+ * delete its line to play it again. Once every game is done, standings.csv
+ * holds each team's record with Bradley-Terry strengths and the matching Elo
+ * ratings, counting only the games of the current schedule.
+ */
+public class Tournament {
+
+    private static final String RESULTS_FILE = "results.csv";
+    private static final String RESULTS_HEADER = "game,teamA,teamB,map,winner";
+    /**
+     * The winner recorded for a game that failed to run; not a valid team name.
+     */
+    private static final String NO_WINNER = "-";
+    private static final String STANDINGS_FILE = "standings.csv";
+
+    /**
+     * A team entered in the tournament.
+     */
+    static final class Entry {
+        final String name;
+        final String packageName;
+        final String url;
+        final int seed;
+
+        Entry(String name, String packageName, String url, int seed) {
+            this.name = name;
+            this.packageName = packageName;
+            this.url = url;
+            this.seed = seed;
+        }
+    }
+
+    /**
+     * One game to play: two teams on one map, in one round.
+     */
+    static final class Pairing {
+        final int round;
+        final Entry teamA;
+        final Entry teamB;
+        final String map;
+
+        Pairing(int round, Entry teamA, Entry teamB, String map) {
+            this.round = round;
+            this.teamA = teamA;
+            this.teamB = teamB;
+            this.map = map;
+        }
+
+        String getId() {
+            return "r" + round + "-" + teamA.name + "-vs-" + teamB.name + "-on-" + map;
+        }
+    }
+
+    /**
+     * A finished game.
+     */
+    static final class Outcome {
+        final String teamA;
+        final String teamB;
+        final String map;
+        /**
+         * The winner's name, or null if the game failed to run.
+         */
+        final String winner;
+
+        Outcome(String teamA, String teamB, String map, String winner) {
+            this.teamA = teamA;
+            this.teamB = teamB;
+            this.map = map;
+            this.winner = winner;
+        }
+
+        String getLoser() {
+            return winner.equals(teamA) ? teamB : teamA;
+        }
+    }
+
+    private final Config options;
+    private final List<Entry> teams;
+    private final String[] maps;
+    private final boolean swiss;
+    private final int swissRounds;
+    private final boolean bothSides;
+    private final File outDir;
+    private final int threads;
+
+    /**
+     * Finished games by id, in the order they finished.
+     */
+    private final Map<String, Outcome> finished;
+
+    Tournament(Config options, List<Entry> teams, String[] maps, boolean swiss, int swissRounds,
+               boolean bothSides, File outDir, int threads) {
+        this.options = options;
+        this.teams = teams;
+        this.maps = maps;
+        this.swiss = swiss;
+        this.swissRounds = swissRounds;
+        this.bothSides = bothSides;
+        this.outDir = outDir;
+        this.threads = threads;
+        this.finished = new LinkedHashMap<>();
+    }
+
+    /**
+     * Read a bracket spec.
+     *
+     * @param spec    the bracket file
+     * @param options the config every game starts from; also supplies
+     *                bc.tournament.out-dir and bc.tournament.threads
+     */
+    public static Tournament fromSpec(File spec, Config options) throws IOException {
+        final Properties bracket = new Properties();
+        try (InputStream in = new FileInputStream(spec)) {
+            bracket.load(in);
+        }
+
+        final String teamList = bracket.getProperty("teams");
+        if (teamList == null || teamList.trim().isEmpty()) {
+            throw new RuntimeException("Bracket " + spec + " doesn't list any teams");
+        }
+        final List<Entry> teams = new ArrayList<>();
+        final Set<String> names = new HashSet<>();
+        for (String rawName : teamList.split(",")) {
+            final String name = rawName.trim();
+            if (!name.matches("[A-Za-z0-9_.]+")) {
+                throw new RuntimeException("Bad team name in bracket: \"" + name + "\"");
+            }
+            if (!names.add(name)) {
+                throw new RuntimeException("Team " + name + " is listed twice in the bracket");
+            }
+            final String url = bracket.getProperty("team." + name + ".url");
+            if (url == null) {
+                throw new RuntimeException("Bracket doesn't set team." + name + ".url");
+            }
+            teams.add(new Entry(name, bracket.getProperty("team." + name + ".package", name), url, teams.size()));
+        }
+        if (teams.size() < 2) {
+            throw new RuntimeException("A tournament needs at least two teams");
+        }
+
+        final String mapList = bracket.getProperty("maps");
+        if (mapList == null || mapList.trim().isEmpty()) {
+            throw new RuntimeException("Bracket " + spec + " doesn't list any maps");
+        }
+        final String[] maps = Arrays.stream(mapList.split(",")).map(String::trim).toArray(String[]::new);
+
+        final String format = bracket.getProperty("format", "round-robin");
+        final boolean swiss;
+        if (format.equals("swiss")) {
+            swiss = true;
+        } else if (format.equals("round-robin")) {
+            swiss = false;
+        } else {
+            throw new RuntimeException("Unknown tournament format: " + format);
+        }
+        final int defaultRounds = 32 - Integer.numberOfLeadingZeros(teams.size() - 1);
+        final int swissRounds = Integer.parseInt(bracket.getProperty("swiss-rounds", String.valueOf(defaultRounds)));
+        final boolean bothSides = Boolean.parseBoolean(bracket.getProperty("both-sides", "false"));
+
+        int threads = options.getInt("bc.tournament.threads");
+        if (threads <= 0) {
+            threads = Runtime.getRuntime().availableProcessors();
+        }
+
+        return new Tournament(options, teams, maps, swiss, swissRounds, bothSides,
+                new File(options.get("bc.tournament.out-dir")), threads);
+    }
+
+    /**
+     * Play every game that isn't already in the results file, then write the
+     * standings.
+     *
+     * @return whether every game ran successfully
+     */
+    public boolean run() throws IOException, InterruptedException, ExecutionException {
+        if (!outDir.isDirectory() && !outDir.mkdirs()) {
+            throw new IOException("Can't create tournament directory " + outDir);
+        }
+        loadResults();
+        if (!finished.isEmpty()) {
+            Server.say(String.format("Resuming tournament: %d games already played", finished.size()));
+        }
+
+        final MatchRunner runner = new MatchRunner(options, threads, false);
+        final List<Pairing> schedule = new ArrayList<>();
+        boolean success = true;
+        try {
+            if (swiss) {
+                final Set<String> byes = new HashSet<>();
+                for (int round = 1; round <= swissRounds; round++) {
+                    final List<Pairing> games = swissRound(round, byes, schedule);
+                    success &= play(runner, games);
+                    schedule.addAll(games);
+                }
+            } else {
+                schedule.addAll(roundRobin());
+                success &= play(runner, schedule);
+            }
+        } finally {
+            runner.shutdownNow();
+        }
+
+        writeStandings(schedule);
+        return success;
+    }
+
+    /**
+     * @return every pairing of every two teams on every map, all in round 1
+     */
+    List<Pairing> roundRobin() {
+        final List<Pairing> games = new ArrayList<>();
+        for (int i = 0; i < teams.size(); i++) {
+            for (int j = i + 1; j < teams.size(); j++) {
+                addGames(games, 1, teams.get(i), teams.get(j));
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Pair teams with similar scores that haven't met yet, going down the
+     * standings. With an odd number of teams, the lowest team that hasn't
+     * had a bye sits out and is scored as if it won every map.
+     *
+     * Only the games of earlier rounds are looked at, so a resumed
+     * tournament pairs its rounds the same way again. Once the top team has
+     * met everyone left, it plays the next team down again.
+     *
+     * @param round   the round, counting from 1
+     * @param byes    the teams that have had a bye; updated
+     * @param earlier the games of the earlier rounds
+     * @return the games of the round
+     */
+    List<Pairing> swissRound(int round, Set<String> byes, List<Pairing> earlier) {
+        final Map<String, Double> score = swissScores(byes, earlier);
+        final Set<String> met = new HashSet<>();
+        for (Pairing game : earlier) {
+            met.add(game.teamA.name + "," + game.teamB.name);
+            met.add(game.teamB.name + "," + game.teamA.name);
+        }
+
+        final List<Entry> order = new ArrayList<>(teams);
+        order.sort(Comparator.comparingDouble((Entry e) -> -score.get(e.name)).thenComparingInt(e -> e.seed));
+
+        if (order.size() % 2 == 1) {
+            for (int i = order.size() - 1; i >= 0; i--) {
+                if (!byes.contains(order.get(i).name)) {
+                    byes.add(order.remove(i).name);
+                    break;
+                }
+            }
+            if (order.size() % 2 == 1) {
+                // everyone has had a bye; start over from the bottom
+                byes.add(order.remove(order.size() - 1).name);
+            }
+        }
+
+        final List<Pairing> games = new ArrayList<>();
+        while (!order.isEmpty()) {
+            final Entry top = order.remove(0);
+            int opponent = 0;
+            for (int i = 0; i < order.size(); i++) {
+                if (!met.contains(top.name + "," + order.get(i).name)) {
+                    opponent = i;
+                    break;
+                }
+            }
+            addGames(games, round, top, order.remove(opponent));
+        }
+        return games;
+    }
+
+    /**
+     * Score the teams for Swiss pairing: a point per game won in the
+     * earlier rounds, and a point per game of a round sat out. Games that
+     * failed to run score nothing.
+     *
+     * @param byes    the teams that have had a bye
+     * @param earlier the games of the earlier rounds
+     * @return scores by team name
+     */
+    Map<String, Double> swissScores(Set<String> byes, List<Pairing> earlier) {
+        final Map<String, Double> score = new HashMap<>();
+        for (Entry team : teams) {
+            score.put(team.name, byes.contains(team.name) ? (double) maps.length * (bothSides ? 2 : 1) : 0.0);
+        }
+        for (Pairing game : earlier) {
+            final Outcome outcome = finished.get(game.getId());
+            if (outcome != null && outcome.winner != null) {
+                score.merge(outcome.winner, 1.0, Double::sum);
+            }
+        }
+        return score;
+    }
+
+    /**
+     * Add the games between two teams on every map, alternating sides
+     * between maps unless both sides are played.
+     */
+    private void addGames(List<Pairing> games, int round, Entry first, Entry second) {
+        for (int m = 0; m < maps.length; m++) {
+            if (bothSides) {
+                games.add(new Pairing(round, first, second, maps[m]));
+                games.add(new Pairing(round, second, first, maps[m]));
+            } else if ((first.seed + second.seed + m) % 2 == 0) {
+                games.add(new Pairing(round, first, second, maps[m]));
+            } else {
+                games.add(new Pairing(round, second, first, maps[m]));
+            }
+        }
+    }
+
+    /**
+     * Run the games that haven't been played yet, recording each as it
+     * finishes.
+     *
+     * @return whether all of them ran
+     */
+    private boolean play(MatchRunner runner, List<Pairing> games)
+            throws IOException, InterruptedException, ExecutionException {
+        final boolean statsOnly = options.getBoolean("bc.server.stats-only");
+        final File replayDir = new File(outDir, "replays");
+        if (!statsOnly && !replayDir.isDirectory() && !replayDir.mkdirs()) {
+            throw new IOException("Can't create replay directory " + replayDir);
+        }
+
+        // results are recorded in the order games finish, so a crash loses
+        // as little as possible
+        final BlockingQueue<Integer> done = new LinkedBlockingQueue<>();
+        final List<Pairing> pending = new ArrayList<>();
+        final List<Future<MatchRunner.Result>> results = new ArrayList<>();
+        for (Pairing game : games) {
+            if (hasResult(game.getId())) {
+                continue;
+            }
+            final File saveFile = statsOnly ? null : new File(replayDir, game.getId() + ".bc26");
+            final int index = pending.size();
+            pending.add(game);
+            results.add(runner.submit(new GameInfo(
+                    game.teamA.name, game.teamA.packageName, game.teamA.url,
+                    game.teamB.name, game.teamB.packageName, game.teamB.url,
+                    new String[]{game.map}, saveFile, false
+            )).whenComplete((result, e) -> done.add(index)));
+        }
+
+        boolean success = true;
+        for (int n = 0; n < pending.size(); n++) {
+            final int i = done.take();
+            final Pairing game = pending.get(i);
+            final MatchRunner.Result result = results.get(i).get();
+            if (!result.isSuccess()) {
+                Server.warn("Game " + game.getId() + " failed to run:\n" + result.getOutput());
+                recordResult(game.getId(), new Outcome(game.teamA.name, game.teamB.name, game.map, null));
+                success = false;
+                continue;
+            }
+            final Entry winner = result.getWinner() == Team.A ? game.teamA : game.teamB;
+            recordResult(game.getId(), new Outcome(game.teamA.name, game.teamB.name, game.map, winner.name));
+            Server.say(String.format("%s: %s wins (%d/%d)", game.getId(), winner.name, n + 1, pending.size()));
+        }
+        return success;
+    }
+
+    /**
+     * Read the games finished by an earlier run. A line cut short by a
+     * crash is ignored, so that game is played again; the line is ended, so
+     * that the next result recorded starts a line of its own.
+     */
+    void loadResults() throws IOException {
+        final File file = new File(outDir, RESULTS_FILE);
+        if (!file.exists()) {
+            return;
+        }
+        final String contents = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        for (String line : contents.split("\r?\n")) {
+            final String[] fields = line.split(",");
+            if (fields.length != 5 || line.equals(RESULTS_HEADER)) {
+                continue;
+            }
+            if (fields[4].equals(NO_WINNER)) {
+                finished.put(fields[0], new Outcome(fields[1], fields[2], fields[3], null));
+                continue;
+            }
+            if (!fields[4].equals(fields[1]) && !fields[4].equals(fields[2])) {
+                continue;
+            }
+            finished.put(fields[0], new Outcome(fields[1], fields[2], fields[3], fields[4]));
+        }
+        if (!contents.isEmpty() && !contents.endsWith("\n")) {
+            try (PrintWriter out = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8, true))) {
+                out.println();
+            }
+        }
+    }
+
+    /**
+     * @return whether a game has been played, whether or not it ran
+     */
+    boolean hasResult(String id) {
+        return finished.containsKey(id);
+    }
+
+    void recordResult(String id, Outcome outcome) throws IOException {
+        final File file = new File(outDir, RESULTS_FILE);
+        final boolean isNew = !file.exists();
+        try (PrintWriter out = new PrintWriter(new FileWriter(file, StandardCharsets.UTF_8, true))) {
+            if (isNew) {
+                out.println(RESULTS_HEADER);
+            }
+            out.println(String.join(",", id, outcome.teamA, outcome.teamB, outcome.map,
+                    outcome.winner != null ? outcome.winner : NO_WINNER));
+        }
+        finished.put(id, outcome);
+    }
+
+    /**
+     * @param schedule the games of the tournament
+     * @return the games of the schedule that have a winner; results of
+     *         games that aren't in it, such as ones an earlier run paired
+     *         differently, are left out
+     */
+    private List<Outcome> decided(List<Pairing> schedule) {
+        final List<Outcome> outcomes = new ArrayList<>();
+        for (Pairing game : schedule) {
+            final Outcome outcome = finished.get(game.getId());
+            if (outcome != null && outcome.winner != null) {
+                outcomes.add(outcome);
+            }
+        }
+        return outcomes;
+    }
+
+    /**
+     * Fit Bradley-Terry strengths to the finished games of a schedule, with
+     * the usual minorization-maximization iteration. Each team also gets one
+     * virtual win and one virtual loss against a reference team of strength
+     * 1, so that unbeaten and winless teams still get finite strengths.
+     *
+     * @param schedule the games of the tournament
+     * @return strengths by team name, with geometric mean 1
+     */
+    Map<String, Double> bradleyTerry(List<Pairing> schedule) {
+        final int n = teams.size();
+        final Map<String, Integer> index = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            index.put(teams.get(i).name, i);
+        }
+        final double[] wins = new double[n];
+        final double[][] games = new double[n][n];
+        for (Outcome outcome : decided(schedule)) {
+            final int w = index.get(outcome.winner);
+            final int l = index.get(outcome.getLoser());
+            wins[w]++;
+            games[w][l]++;
+            games[l][w]++;
+        }
+
+        double[] strength = new double[n];
+        Arrays.fill(strength, 1.0);
+        for (int iteration = 0; iteration < 10000; iteration++) {
+            final double[] next = new double[n];
+            double logSum = 0;
+            for (int i = 0; i < n; i++) {
+                double denominator = 2 / (strength[i] + 1);
+                for (int j = 0; j < n; j++) {
+                    if (games[i][j] > 0) {
+                        denominator += games[i][j] / (strength[i] + strength[j]);
+                    }
+                }
+                next[i] = (wins[i] + 1) / denominator;
+                logSum += Math.log(next[i]);
+            }
+            final double mean = Math.exp(logSum / n);
+            double change = 0;
+            for (int i = 0; i < n; i++) {
+                next[i] /= mean;
+                change = Math.max(change, Math.abs(next[i] - strength[i]) / strength[i]);
+            }
+            strength = next;
+            if (change < 1e-10) {
+                break;
+            }
+        }
+
+        final Map<String, Double> result = new LinkedHashMap<>();
+        for (int i = 0; i < n; i++) {
+            result.put(teams.get(i).name, strength[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Convert a Bradley-Terry strength to an Elo rating; the average team
+     * is rated 1500.
+     */
+    static double toElo(double strength) {
+        return 1500 + 400 * Math.log10(strength);
+    }
+
+    private void writeStandings(List<Pairing> schedule) throws IOException {
+        final Map<String, Integer> wins = new HashMap<>();
+        final Map<String, Integer> losses = new HashMap<>();
+        for (Outcome outcome : decided(schedule)) {
+            wins.merge(outcome.winner, 1, Integer::sum);
+            losses.merge(outcome.getLoser(), 1, Integer::sum);
+        }
+        final Map<String, Double> strength = bradleyTerry(schedule);
+
+        final List<Entry> order = new ArrayList<>(teams);
+        order.sort(Comparator.comparingDouble((Entry e) -> -strength.get(e.name)).thenComparingInt(e -> e.seed));
+
+        try (PrintWriter out = new PrintWriter(new FileWriter(new File(outDir, STANDINGS_FILE), StandardCharsets.UTF_8))) {
+            out.println("rank,team,games,wins,losses,winRate,strength,elo");
+            Server.say(String.format("%4s  %-20s %6s %6s %6s %8s %8s", "rank", "team", "games", "wins", "losses", "strength", "elo"));
+            for (int rank = 0; rank < order.size(); rank++) {
+                final String name = order.get(rank).name;
+                final int w = wins.getOrDefault(name, 0);
+                final int l = losses.getOrDefault(name, 0);
+                final double s = strength.get(name);
+                out.println(String.format("%d,%s,%d,%d,%d,%.4f,%.4f,%.1f",
+                        rank + 1, name, w + l, w, l, w + l == 0 ? 0.0 : (double) w / (w + l), s, toElo(s)));
+                Server.say(String.format("%4d  %-20s %6d %6d %6d %8.3f %8.1f",
+                        rank + 1, name, w + l, w, l, s, toElo(s)));
+            }
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package battlecode.util;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * A fixed-size array of bits, indexed like the flattened map arrays
+ * (x + width * y), packed 64 to a long.
+ *
+ * A sixty-by-sixty board fits in 57 longs, where a boolean[] takes a byte
+ * per square, and whole boards can be combined a word at a time.
+ */
+public final class BitBoard {
+    /**
+     * Where we actually store values; bit i is bit (i % 64) of word i / 64.
+     */
+    private final long[] words;
+
+    /**
+     * The number of bits.
+     */
+    private final int size;
+
+    /**
+     * Create a board with every bit clear.
+     *
+     * @param size the number of bits
+     */
+    public BitBoard(int size) {
+        this.size = size;
+        this.words = new long[(size + 63) >>> 6];
+    }
+
+    /**
+     * Copy a board.
+     * (Note: copies, doesn't alias.)
+     *
+     * @param source the source to copy from.
+     */
+    public BitBoard(BitBoard source) {
+        this.size = source.size;
+        this.words = source.words.clone();
+    }
+
+    /**
+     * @param values the bits to set
+     * @return a board with a bit set wherever values is true
+     */
+    public static BitBoard of(boolean[] values) {
+        BitBoard board = new BitBoard(values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i]) {
+                board.words[i >>> 6] |= 1L << i;
+            }
+        }
+        return board;
+    }
+
+    /**
+     * @param size  the number of bits
+     * @param words the bits, as returned by toLongArray
+     * @return a board holding those bits
+     */
+    public static BitBoard valueOf(int size, long[] words) {
+        BitBoard board = new BitBoard(size);
+        if (words.length != board.words.length) {
+            throw new IllegalArgumentException("Need " + board.words.length + " words for " + size + " bits, got " + words.length);
+        }
+        System.arraycopy(words, 0, board.words, 0, words.length);
+        return board;
+    }
+
+    /**
+     * @return a copy of the bits, 64 to a long; bit i is bit (i % 64) of
+     *         element i / 64
+     */
+    public long[] toLongArray() {
+        return words.clone();
+    }
+
+    /**
+     * Replace every bit with those of another board of the same size.
+     */
+    public void copyFrom(BitBoard other) {
+        checkSize(other);
+        System.arraycopy(other.words, 0, words, 0, words.length);
+    }
+
+    /**
+     * @return the number of bits
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get a bit.
+     *
+     * @param i the index to get; must be in-bounds.
+     * @return whether the bit is set
+     */
+    public boolean get(int i) {
+        return (words[Objects.checkIndex(i, size) >>> 6] & (1L << i)) != 0;
+    }
+
+    /**
+     * Set a bit.
+     *
+     * @param i the index to set; must be in-bounds.
+     */
+    public void set(int i) {
+        words[Objects.checkIndex(i, size) >>> 6] |= 1L << i;
+    }
+
+    /**
+     * Clear a bit.
+     *
+     * @param i the index to clear; must be in-bounds.
+     */
+    public void clear(int i) {
+        words[Objects.checkIndex(i, size) >>> 6] &= ~(1L << i);
+    }
+
+    /**
+     * Set or clear a bit.
+     *
+     * @param i     the index to change; must be in-bounds.
+     * @param value the value to store.
+     */
+    public void set(int i, boolean value) {
+        if (value) {
+            set(i);
+        } else {
+            clear(i);
+        }
+    }
+
+    /**
+     * Set a run of bits, a word at a time.
+     *
+     * @param from the first index to set; must be in-bounds.
+     * @param to   one past the last index to set; at most the size.
+     */
+    public void set(int from, int to) {
+        Objects.checkFromToIndex(from, to, size);
+        if (from == to) {
+            return;
+        }
+        final int first = from >>> 6;
+        final int last = (to - 1) >>> 6;
+        final long firstMask = -1L << from;
+        final long lastMask = -1L >>> -to;
+        if (first == last) {
+            words[first] |= firstMask & lastMask;
+            return;
+        }
+        words[first] |= firstMask;
+        for (int w = first + 1; w < last; w++) {
+            words[w] = -1L;
+        }
+        words[last] |= lastMask;
+    }
+
+    /**
+     * Set every bit that is set in another board of the same size.
+     */
+    public void or(BitBoard other) {
+        checkSize(other);
+        for (int w = 0; w < words.length; w++) {
+            words[w] |= other.words[w];
+        }
+    }
+
+    /**
+     * Clear every bit that is not set in another board of the same size.
+     */
+    public void and(BitBoard other) {
+        checkSize(other);
+        for (int w = 0; w < words.length; w++) {
+            words[w] &= other.words[w];
+        }
+    }
+
+    /**
+     * Clear every bit that is set in another board of the same size.
+     */
+    public void andNot(BitBoard other) {
+        checkSize(other);
+        for (int w = 0; w < words.length; w++) {
+            words[w] &= ~other.words[w];
+        }
+    }
+
+    /**
+     * @return whether any bit is set in both this and another board
+     */
+    public boolean intersects(BitBoard other) {
+        checkSize(other);
+        for (int w = 0; w < words.length; w++) {
+            if ((words[w] & other.words[w]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return whether no bit is set
+     */
+    public boolean isEmpty() {
+        for (long word : words) {
+            if (word != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Make a copy with every bit moved by the same amount. Bits moved past
+     * either end are dropped.
+     *
+     * @param n how far to move each bit; bit i of this is bit i + n of the copy
+     * @return the shifted copy
+     */
+    public BitBoard shifted(int n) {
+        final BitBoard out = new BitBoard(size);
+        final int wordShift = Math.abs(n) >>> 6;
+        final int bitShift = Math.abs(n) & 63;
+        if (n >= 0) {
+            for (int w = words.length - 1; w >= wordShift; w--) {
+                long word = words[w - wordShift] << bitShift;
+                if (bitShift != 0 && w - wordShift > 0) {
+                    word |= words[w - wordShift - 1] >>> (64 - bitShift);
+                }
+                out.words[w] = word;
+            }
+            // drop whatever was moved past the last bit
+            if ((size & 63) != 0 && out.words.length > 0) {
+                out.words[out.words.length - 1] &= (1L << size) - 1;
+            }
+        } else {
+            for (int w = 0; w + wordShift < words.length; w++) {
+                long word = words[w + wordShift] >>> bitShift;
+                if (bitShift != 0 && w + wordShift + 1 < words.length) {
+                    word |= words[w + wordShift + 1] << (64 - bitShift);
+                }
+                out.words[w] = word;
+            }
+        }
+        return out;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof BitBoard
+                && ((BitBoard) o).size == size
+                && Arrays.equals(((BitBoard) o).words, words);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * size + Arrays.hashCode(words);
+    }
+
+    private void checkSize(BitBoard other) {
+        if (other.size != size) {
+            throw new IllegalArgumentException("Can't combine boards of size " + size + " and " + other.size);
+        }
+    }
+
+    /**
+     * @return the number of set bits
+     */
+    public int cardinality() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * @param from the index to start looking at
+     * @return the index of the first set bit at or after from, or -1 if none
+     */
+    public int nextSetBit(int from) {
+        if (from >= size) {
+            return -1;
+        }
+        int w = from >>> 6;
+        long word = words[w] & (-1L << from);
+        while (word == 0) {
+            if (++w == words.length) {
+                return -1;
+            }
+            word = words[w];
+        }
+        return (w << 6) + Long.numberOfTrailingZeros(word);
+    }
+}
@@ -8,12 +8,7 @@ import battlecode.schema.WinType;
 import battlecode.world.DominationFactor;
 import battlecode.schema.Action;
 import com.google.flatbuffers.FlatBufferBuilder;
-// import gnu.trove.TByteCollection;
-// import gnu.trove.TByteList;
-// import gnu.trove.TFloatList;
-import gnu.trove.TIntArrayList;
-// import gnu.trove.TCharList;
-// import gnu.trove.TByteArrayList;
+import battlecode.util.collections.IntArrayList;
 
 import java.util.HashMap;
 import java.util.List;
@@ -155,7 +150,7 @@ public class FlatHelpers {
      * int xyzP = intVector(builder, xyz, BufferType::startXyzVector);
      */
     // public static int intVector(FlatBufferBuilder builder,
-    // TIntArrayList arr,
+    // IntArrayList arr,
     // ObjIntConsumer<FlatBufferBuilder> start) {
     // final int length = arr.size();
     // start.accept(builder, length);
@@ -174,7 +169,7 @@ public class FlatHelpers {
      * Call this when you're adding a table of offsets, not flat ints.
      */
     // public static int offsetVector(FlatBufferBuilder builder,
-    // TIntArrayList arr,
+    // IntArrayList arr,
     // ObjIntConsumer<FlatBufferBuilder> start) {
     // final int length = arr.size();
     // start.accept(builder, length);
@@ -223,14 +218,14 @@ public class FlatHelpers {
     // return builder.endVector();
     // }
 
-    public static int createVecTable(FlatBufferBuilder builder, TIntArrayList xs, TIntArrayList ys) {
+    public static int createVecTable(FlatBufferBuilder builder, IntArrayList xs, IntArrayList ys) {
         if (xs.size() != ys.size()) {
             throw new RuntimeException("Mismatched x/y length: " + xs.size() + " != " + ys.size());
         }
         // int xsP = intVector(builder, xs, VecTable::startXsVector);
         // int ysP = intVector(builder, ys, VecTable::startYsVector);
-        int xsP = VecTable.createXsVector(builder, xs.toNativeArray());
-        int ysP = VecTable.createYsVector(builder, ys.toNativeArray());
+        int xsP = VecTable.createXsVector(builder, xs.toArray());
+        int ysP = VecTable.createYsVector(builder, ys.toArray());
         return VecTable.createVecTable(builder, xsP, ysP);
     }
 
@@ -0,0 +1,65 @@
+package battlecode.util;
+
+import java.util.Random;
+
+/**
+ * A Random whose state can be read out and put back, so a game can be
+ * snapshotted and resumed with the same numbers still to come.
+ *
+ * It is the same linear congruential generator java.util.Random documents,
+ * kept in a plain field instead of Random's private one, so it hands out
+ * exactly the numbers a Random with the same seed would. The value
+ * nextGaussian keeps back between calls isn't part of the state.
+ */
+public class RestorableRandom extends Random {
+    private static final long serialVersionUID = 5381728495412643106L;
+
+    private static final long MULTIPLIER = 0x5DEECE66DL;
+    private static final long ADDEND = 0xBL;
+    private static final long MASK = (1L << 48) - 1;
+
+    private long state;
+
+    /**
+     * @param seed the seed, as for Random
+     */
+    public RestorableRandom(long seed) {
+        super();
+        this.state = initialState(seed);
+    }
+
+    @Override
+    public synchronized void setSeed(long seed) {
+        // Random's constructor calls this before our fields are set up;
+        // that's fine, since ours sets the state again once they are
+        super.setSeed(seed);
+        this.state = initialState(seed);
+    }
+
+    private static long initialState(long seed) {
+        return (seed ^ MULTIPLIER) & MASK;
+    }
+
+    @Override
+    protected int next(int bits) {
+        state = (state * MULTIPLIER + ADDEND) & MASK;
+        return (int) (state >>> (48 - bits));
+    }
+
+    /**
+     * @return the generator's state, for setState
+     */
+    public long getState() {
+        return state;
+    }
+
+    /**
+     * Put back a state from getState; the numbers that follow are the ones
+     * that followed it then.
+     *
+     * @param state the state to restore
+     */
+    public void setState(long state) {
+        this.state = state & MASK;
+    }
+}
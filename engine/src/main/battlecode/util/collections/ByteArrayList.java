@@ -0,0 +1,74 @@
+package battlecode.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of bytes, without boxing; see IntArrayList.
+ */
+public final class ByteArrayList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private byte[] data;
+    private int size;
+
+    /**
+     * Create an empty list.
+     */
+    public ByteArrayList() {
+        this.data = new byte[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Add a value at the end of the list.
+     *
+     * @param value the value to add
+     */
+    public void add(byte value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        data[size++] = value;
+    }
+
+    /**
+     * Get a value.
+     *
+     * @param index the index to get; must be less than size().
+     * @return the value at that index
+     */
+    public byte get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return data[index];
+    }
+
+    /**
+     * @return the number of values in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return whether the list has no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empty the list, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return a new array holding the values in the list
+     */
+    public byte[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
@@ -0,0 +1,103 @@
+package battlecode.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * A growable list of ints, without boxing.
+ *
+ * The engine fills these while a round or match is recorded and then hands
+ * the contents to a FlatBufferBuilder, so the list only needs to grow at
+ * the end, be read back, and be cleared for the next round; clearing keeps
+ * the backing array, so a list that's reused stops allocating once it's as
+ * long as it needs to be.
+ */
+public final class IntArrayList {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] data;
+    private int size;
+
+    /**
+     * Create an empty list.
+     */
+    public IntArrayList() {
+        this.data = new int[DEFAULT_CAPACITY];
+    }
+
+    /**
+     * Create a list holding a copy of some values.
+     *
+     * @param values the values to start with; not aliased.
+     */
+    public IntArrayList(int[] values) {
+        this.data = Arrays.copyOf(values, Math.max(values.length, DEFAULT_CAPACITY));
+        this.size = values.length;
+    }
+
+    /**
+     * Add a value at the end of the list.
+     *
+     * @param value the value to add
+     */
+    public void add(int value) {
+        if (size == data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        data[size++] = value;
+    }
+
+    /**
+     * Get a value.
+     *
+     * @param index the index to get; must be less than size().
+     * @return the value at that index
+     */
+    public int get(int index) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return data[index];
+    }
+
+    /**
+     * Set a value.
+     *
+     * @param index the index to set; must be less than size().
+     * @param value the value to store
+     */
+    public void set(int index, int value) {
+        if (index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        data[index] = value;
+    }
+
+    /**
+     * @return the number of values in the list
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return whether the list has no values
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Empty the list, keeping its capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * @return a new array holding the values in the list
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(data, size);
+    }
+}
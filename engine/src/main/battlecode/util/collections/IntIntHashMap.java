@@ -0,0 +1,219 @@
+package battlecode.util.collections;
+
+import java.util.Arrays;
+
+/**
+ * A map from ints to ints, without boxing.
+ *
+ * Keys live in one open-addressed table, probed linearly from a mixed hash,
+ * so a lookup is a multiply and usually a single array read. Robot IDs are
+ * handed out in shuffled blocks and the engine looks them up far more often
+ * than it adds or removes them, so the table is kept at most half full, and
+ * removal shifts later entries back rather than leaving tombstones that
+ * lookups would have to step over for the rest of the game.
+ *
+ * Asking for a key that isn't there answers the map's missing value, picked
+ * when it's made, rather than some value a real entry could also have.
+ */
+public final class IntIntHashMap {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    // the key marking an empty cell; an entry with this key is kept aside
+    private static final int FREE = 0;
+
+    private final int missingValue;
+
+    private int[] keys;
+    private int[] values;
+    // keys.length - 1, for wrapping probes
+    private int mask;
+    // how far to shift a mixed key to get its home cell
+    private int shift;
+    // entries in the table, not counting one keyed FREE
+    private int tableSize;
+
+    private boolean hasFreeKey;
+    private int freeKeyValue;
+
+    /**
+     * Create an empty map.
+     *
+     * @param missingValue what get answers for keys that aren't in the map
+     */
+    public IntIntHashMap(int missingValue) {
+        this.missingValue = missingValue;
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the value for key, or the missing value if there isn't one
+     */
+    public int get(int key) {
+        if (key == FREE) {
+            return hasFreeKey ? freeKeyValue : missingValue;
+        }
+        int i = home(key);
+        int k;
+        while ((k = keys[i]) != FREE) {
+            if (k == key) {
+                return values[i];
+            }
+            i = (i + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * @param key the key to look for
+     * @return whether key has a value
+     */
+    public boolean containsKey(int key) {
+        if (key == FREE) {
+            return hasFreeKey;
+        }
+        int i = home(key);
+        int k;
+        while ((k = keys[i]) != FREE) {
+            if (k == key) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * Give key a value, replacing any it had.
+     *
+     * @param key the key
+     * @param value its value
+     * @return the value key had before, or the missing value
+     */
+    public int put(int key, int value) {
+        if (key == FREE) {
+            int old = hasFreeKey ? freeKeyValue : missingValue;
+            hasFreeKey = true;
+            freeKeyValue = value;
+            return old;
+        }
+        int i = home(key);
+        int k;
+        while ((k = keys[i]) != FREE) {
+            if (k == key) {
+                int old = values[i];
+                values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = key;
+        values[i] = value;
+        if (++tableSize > keys.length / 2) {
+            rehash(keys.length * 2);
+        }
+        return missingValue;
+    }
+
+    /**
+     * Remove key and its value, if it has one.
+     *
+     * @param key the key
+     * @return the value key had, or the missing value
+     */
+    public int remove(int key) {
+        if (key == FREE) {
+            int old = hasFreeKey ? freeKeyValue : missingValue;
+            hasFreeKey = false;
+            return old;
+        }
+        int i = home(key);
+        int k;
+        while ((k = keys[i]) != FREE) {
+            if (k == key) {
+                int old = values[i];
+                shiftBack(i);
+                tableSize--;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        return missingValue;
+    }
+
+    /**
+     * @return the number of keys with values
+     */
+    public int size() {
+        return tableSize + (hasFreeKey ? 1 : 0);
+    }
+
+    /**
+     * @return whether no key has a value
+     */
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Remove every entry, keeping the table's capacity.
+     */
+    public void clear() {
+        Arrays.fill(keys, FREE);
+        tableSize = 0;
+        hasFreeKey = false;
+    }
+
+    private int home(int key) {
+        return (key * 0x9E3779B9) >>> shift;
+    }
+
+    /**
+     * Empty cell gap, then move back any later entry in the same run that
+     * can't be reached from its home cell any more, so runs stay unbroken.
+     */
+    private void shiftBack(int gap) {
+        int i = gap;
+        while (true) {
+            i = (i + 1) & mask;
+            int k = keys[i];
+            if (k == FREE) {
+                break;
+            }
+            int h = home(k);
+            // the entry at i may move to gap unless its home is cyclically
+            // after gap and no later than i
+            if (gap <= i ? (gap >= h || h > i) : (gap >= h && h > i)) {
+                keys[gap] = k;
+                values[gap] = values[i];
+                gap = i;
+            }
+        }
+        keys[gap] = FREE;
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        shift = 32 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(capacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            int k = oldKeys[j];
+            if (k != FREE) {
+                int i = home(k);
+                while (keys[i] != FREE) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = k;
+                values[i] = oldValues[j];
+            }
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package battlecode.util.collections;
+
+/**
+ * Something to do with each object in turn, e.g. as ObjectInfo.eachRobot
+ * goes through the robots.
+ */
+@FunctionalInterface
+public interface ObjectProcedure<T> {
+
+    /**
+     * @param object the object to look at
+     * @return false to stop going through the objects, true to carry on
+     */
+    boolean execute(T object);
+}
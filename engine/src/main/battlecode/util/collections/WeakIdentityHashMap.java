@@ -0,0 +1,170 @@
+package battlecode.util.collections;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * A map whose keys are compared by identity and only weakly held, so an
+ * entry goes away once nothing else refers to its key.
+ *
+ * ObjectMethods keeps one of these per player to hand out deterministic
+ * identity hash codes, and asks it about every object a bot hashes that
+ * doesn't carry its own code. Keys are never compared with equals, so a
+ * bot's objects can't run code while the engine looks them up.
+ *
+ * Entries whose keys have been collected are dropped as the map is used.
+ * Not thread safe; each player runs on one thread at a time.
+ */
+public final class WeakIdentityHashMap<K, V> {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private static final class Entry<K, V> extends WeakReference<K> {
+        final int hash;
+        V value;
+        Entry<K, V> next;
+
+        Entry(K key, int hash, V value, Entry<K, V> next, ReferenceQueue<K> queue) {
+            super(key, queue);
+            this.hash = hash;
+            this.value = value;
+            this.next = next;
+        }
+    }
+
+    private final ReferenceQueue<K> queue = new ReferenceQueue<>();
+
+    private Entry<K, V>[] table;
+    private int size;
+
+    /**
+     * Create an empty map.
+     */
+    public WeakIdentityHashMap() {
+        this.table = newTable(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * @param key the key to look up
+     * @return the value for the very object key, or null if it has none
+     */
+    public V get(K key) {
+        expungeStaleEntries();
+        int hash = hash(key);
+        for (Entry<K, V> e = table[hash & (table.length - 1)]; e != null; e = e.next) {
+            if (e.hash == hash && e.get() == key) {
+                return e.value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Give key a value, replacing any it had.
+     *
+     * @param key the key; must not be null
+     * @param value its value
+     * @return the value key had before, or null
+     */
+    public V put(K key, V value) {
+        expungeStaleEntries();
+        int hash = hash(key);
+        int i = hash & (table.length - 1);
+        for (Entry<K, V> e = table[i]; e != null; e = e.next) {
+            if (e.hash == hash && e.get() == key) {
+                V old = e.value;
+                e.value = value;
+                return old;
+            }
+        }
+        table[i] = new Entry<>(key, hash, value, table[i], queue);
+        if (++size > table.length * 3 / 4) {
+            resize(table.length * 2);
+        }
+        return null;
+    }
+
+    /**
+     * Remove key and its value, if it has one.
+     *
+     * @param key the key
+     * @return the value key had, or null
+     */
+    public V remove(K key) {
+        expungeStaleEntries();
+        int hash = hash(key);
+        int i = hash & (table.length - 1);
+        Entry<K, V> prev = null;
+        for (Entry<K, V> e = table[i]; e != null; prev = e, e = e.next) {
+            if (e.hash == hash && e.get() == key) {
+                V old = e.value;
+                unlink(i, prev, e);
+                return old;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the number of entries, counting any whose keys were collected
+     *         but haven't been noticed yet
+     */
+    public int size() {
+        expungeStaleEntries();
+        return size;
+    }
+
+    private static int hash(Object key) {
+        int h = System.identityHashCode(key);
+        // identity hashes are already random, but spread the high bits down
+        // since only the low ones pick a bucket
+        return h ^ (h >>> 16);
+    }
+
+    private void unlink(int i, Entry<K, V> prev, Entry<K, V> e) {
+        if (prev == null) {
+            table[i] = e.next;
+        } else {
+            prev.next = e.next;
+        }
+        e.next = null;
+        e.value = null;
+        size--;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void expungeStaleEntries() {
+        Object stale;
+        while ((stale = queue.poll()) != null) {
+            Entry<K, V> dead = (Entry<K, V>) stale;
+            int i = dead.hash & (table.length - 1);
+            Entry<K, V> prev = null;
+            for (Entry<K, V> e = table[i]; e != null; prev = e, e = e.next) {
+                if (e == dead) {
+                    unlink(i, prev, e);
+                    break;
+                }
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        Entry<K, V>[] old = table;
+        table = newTable(capacity);
+        for (Entry<K, V> head : old) {
+            Entry<K, V> e = head;
+            while (e != null) {
+                Entry<K, V> next = e.next;
+                int i = e.hash & (capacity - 1);
+                e.next = table[i];
+                table[i] = e;
+                e = next;
+            }
+        }
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static <K, V> Entry<K, V>[] newTable(int capacity) {
+        return (Entry<K, V>[]) new Entry[capacity];
+    }
+}
@@ -50,6 +50,10 @@ public class CheeseMine {
         return prob;
     }
 
+    public int getLastRound() {
+        return this.last_spawn_round;
+    }
+
     public void setLastRound(int currentRound) {
         this.last_spawn_round = currentRound;
     }
@@ -0,0 +1,119 @@
+package battlecode.world;
+
+import battlecode.common.GameConstants;
+import battlecode.common.MapLocation;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Runs the cheese mines each round.
+ *
+ * A mine spawns cheese on a square a little way from it, and its pair does
+ * on the mirror image of that square. Which squares can be used only
+ * depends on the map's walls, so every mine's list of usable squares, and
+ * its pair's matching ones, is worked out once when the world is made, as
+ * square indices. Spawning then picks from the list with one draw; the
+ * squares chosen this round are kept and handed to the match maker at the
+ * end, so a round allocates nothing.
+ *
+ * GameWorld.spawnCheese is the old way, which draws an offset and spawns on
+ * the mines themselves if it can't be used. The two use the world's random
+ * numbers differently, so only the old one replays matches recorded
+ * before; see bc.engine.legacy-cheese-spawns.
+ */
+final class CheeseSpawner {
+
+    private final CheeseMine[] mines;
+
+    // for each mine, the squares it can spawn on, and where its pair
+    // spawns for each; the mines' own squares if there are none
+    private final int[][] spots;
+    private final int[][] pairedSpots;
+
+    // the cheese spawned this round: squares and how much is on each after
+    private int[] spawnedSquares = new int[8];
+    private int[] spawnedAmounts = new int[8];
+    private int spawnedCount;
+
+    /**
+     * @param world the world, with its mines paired up
+     * @param mines the mines, in the order they run
+     */
+    CheeseSpawner(GameWorld world, List<CheeseMine> mines) {
+        this.mines = mines.toArray(new CheeseMine[0]);
+        this.spots = new int[this.mines.length][];
+        this.pairedSpots = new int[this.mines.length][];
+
+        LiveMap map = world.getGameMap();
+        MapSymmetry symmetry = map.getSymmetry();
+        // offsets are drawn as GameWorld.spawnCheese draws them
+        int lo = -GameConstants.SQ_CHEESE_SPAWN_RADIUS;
+        int hi = GameConstants.SQ_CHEESE_SPAWN_RADIUS;
+        int[] found = new int[(hi - lo) * (hi - lo)];
+        int[] pairedFound = new int[found.length];
+
+        for (int m = 0; m < this.mines.length; m++) {
+            MapLocation loc = this.mines[m].getLocation();
+            MapLocation pairedLoc = this.mines[m].getPair().getLocation();
+            int count = 0;
+            for (int dx = lo; dx < hi; dx++) {
+                for (int dy = lo; dy < hi; dy++) {
+                    int x = loc.x + dx;
+                    int y = loc.y + dy;
+                    int pairedX = pairedLoc.x + (symmetry == MapSymmetry.VERTICAL ? dx : -dx);
+                    int pairedY = pairedLoc.y + (symmetry == MapSymmetry.HORIZONTAL ? dy : -dy);
+                    if (map.onTheMap(x, y) && map.onTheMap(pairedX, pairedY)) {
+                        int square = world.locationToIndex(x, y);
+                        int pairedSquare = world.locationToIndex(pairedX, pairedY);
+                        if (!world.getWall(square) && !world.getWall(pairedSquare)) {
+                            found[count] = square;
+                            pairedFound[count] = pairedSquare;
+                            count++;
+                        }
+                    }
+                }
+            }
+            if (count == 0) {
+                found[count] = world.locationToIndex(loc.x, loc.y);
+                pairedFound[count] = world.locationToIndex(pairedLoc.x, pairedLoc.y);
+                count++;
+            }
+            this.spots[m] = Arrays.copyOf(found, count);
+            this.pairedSpots[m] = Arrays.copyOf(pairedFound, count);
+        }
+    }
+
+    /**
+     * Give every mine its chance to spawn cheese this round.
+     */
+    void run(GameWorld world, Random rand, int round) {
+        spawnedCount = 0;
+        for (int m = 0; m < mines.length; m++) {
+            CheeseMine mine = mines[m];
+            if (rand.nextFloat() >= mine.generationProbability(round)) {
+                continue;
+            }
+            int pick = rand.nextInt(spots[m].length);
+
+            mine.setLastRound(round);
+            mine.getPair().setLastRound(round);
+            spawn(world, spots[m][pick]);
+            spawn(world, pairedSpots[m][pick]);
+        }
+        if (spawnedCount > 0) {
+            world.getMatchMaker().addCheeseSpawnActions(spawnedSquares, spawnedAmounts, spawnedCount);
+        }
+    }
+
+    private void spawn(GameWorld world, int square) {
+        if (spawnedCount == spawnedSquares.length) {
+            spawnedSquares = Arrays.copyOf(spawnedSquares, spawnedCount * 2);
+            spawnedAmounts = Arrays.copyOf(spawnedAmounts, spawnedCount * 2);
+        }
+        spawnedSquares[spawnedCount] = square;
+        spawnedAmounts[spawnedCount] = world.addCheese(square, GameConstants.CHEESE_SPAWN_AMOUNT);
+        spawnedCount++;
+    }
+}
@@ -0,0 +1,186 @@
+package battlecode.world;
+
+import battlecode.common.Direction;
+import battlecode.common.MapLocation;
+import battlecode.common.UnitType;
+
+/**
+ * The squares a robot covers, as offsets from its location, in the order
+ * InternalRobot.getAllPartLocations lists them.
+ *
+ * They only depend on the robot's type, whether its chirality mirrors it and
+ * the map's symmetry, so every combination is worked out once when the class
+ * loads and robots share them. Walking a footprint by index, e.g.
+ *
+ *   for (int i = 0; i < parts.size(); i++)
+ *       ... loc.x + parts.dx(i), loc.y + parts.dy(i) ...
+ *
+ * allocates nothing, where getAllPartLocations makes a new array of new
+ * locations every time.
+ */
+final class Footprint {
+
+    // laid out as rats are, by [type] and by [type][symmetry] for robots
+    // their chirality mirrors; see InternalRobot.getAllRatLocations
+    private static final Footprint[] PLAIN_SQUARES = new Footprint[UnitType.values().length];
+    private static final Footprint[][] MIRRORED_SQUARES = new Footprint[UnitType.values().length][MapSymmetry.values().length];
+
+    // laid out as cats are; see InternalRobot.getAllCatLocationsByChirality
+    private static final Footprint PLAIN_CAT = cat(false, null);
+    private static final Footprint[] MIRRORED_CAT = new Footprint[MapSymmetry.values().length];
+
+    static {
+        for (MapSymmetry symmetry : MapSymmetry.values()) {
+            MIRRORED_CAT[symmetry.ordinal()] = cat(true, symmetry);
+        }
+        for (UnitType type : UnitType.values()) {
+            PLAIN_SQUARES[type.ordinal()] = square(type.size, false, null);
+            for (MapSymmetry symmetry : MapSymmetry.values()) {
+                MIRRORED_SQUARES[type.ordinal()][symmetry.ordinal()] = square(type.size, true, symmetry);
+            }
+        }
+    }
+
+    private final int[] dx;
+    private final int[] dy;
+
+    private Footprint(int[] dx, int[] dy) {
+        this.dx = dx;
+        this.dy = dy;
+    }
+
+    /**
+     * @param type      the robot's type
+     * @param chirality the robot's chirality
+     * @param symmetry  the map's symmetry; only looked at if the chirality
+     *                  mirrors the robot
+     * @return the squares such a robot covers
+     */
+    static Footprint of(UnitType type, int chirality, MapSymmetry symmetry) {
+        return type.isCatType() ? cat(chirality, symmetry) : square(type, chirality, symmetry);
+    }
+
+    /**
+     * @return the squares a robot covers if laid out like a rat's
+     */
+    static Footprint square(UnitType type, int chirality, MapSymmetry symmetry) {
+        return chirality == 1 ? MIRRORED_SQUARES[type.ordinal()][symmetry.ordinal()] : PLAIN_SQUARES[type.ordinal()];
+    }
+
+    /**
+     * @return the squares a robot covers if laid out like a cat's
+     */
+    static Footprint cat(int chirality, MapSymmetry symmetry) {
+        return chirality != 0 ? MIRRORED_CAT[symmetry.ordinal()] : PLAIN_CAT;
+    }
+
+    /**
+     * @return the number of squares covered
+     */
+    int size() {
+        return dx.length;
+    }
+
+    /**
+     * @return how far east of the robot's location the i-th square is
+     */
+    int dx(int i) {
+        return dx[i];
+    }
+
+    /**
+     * @return how far north of the robot's location the i-th square is
+     */
+    int dy(int i) {
+        return dy[i];
+    }
+
+    /**
+     * @param loc where the robot is
+     * @return the squares it covers
+     */
+    MapLocation[] locationsAt(MapLocation loc) {
+        MapLocation[] locs = new MapLocation[dx.length];
+        for (int i = 0; i < locs.length; i++) {
+            locs[i] = new MapLocation(loc.x + dx[i], loc.y + dy[i]);
+        }
+        return locs;
+    }
+
+    // *********************************
+    // ****** LAYOUTS ******************
+    // *********************************
+
+    /**
+     * A size by size square, column by column from the west, each column
+     * from the north; mirrored robots go the other way along the axis the
+     * map is mirrored in.
+     */
+    private static Footprint square(int size, boolean mirrored, MapSymmetry symmetry) {
+        int lo = -(size - 1) / 2;
+        int hi = size / 2;
+        boolean flipX = mirrored && (symmetry == MapSymmetry.VERTICAL || symmetry == MapSymmetry.ROTATIONAL);
+        boolean flipY = mirrored && (symmetry == MapSymmetry.HORIZONTAL || symmetry == MapSymmetry.ROTATIONAL);
+
+        int[] dx = new int[size * size];
+        int[] dy = new int[size * size];
+        int c = 0;
+        for (int a = 0; a < size; a++) {
+            int i = flipX ? hi - a : lo + a;
+            for (int b = 0; b < size; b++) {
+                int j = flipY ? hi - b : lo + b;
+                dx[c] = i;
+                dy[c] = -j;
+                c++;
+            }
+        }
+        return new Footprint(dx, dy);
+    }
+
+    /**
+     * A cat's 2x2, starting from the corner its chirality picks and going
+     * clockwise, or anticlockwise for mirrored cats.
+     */
+    private static Footprint cat(boolean mirrored, MapSymmetry symmetry) {
+        Direction corner;
+        Direction rotateDir;
+        if (!mirrored) {
+            corner = Direction.CENTER;
+            rotateDir = Direction.NORTH;
+        } else {
+            switch (symmetry) {
+                case VERTICAL:
+                    corner = Direction.EAST;
+                    rotateDir = Direction.NORTH;
+                    break;
+                case HORIZONTAL:
+                    corner = Direction.NORTH;
+                    rotateDir = Direction.SOUTH;
+                    break;
+                case ROTATIONAL:
+                    corner = Direction.NORTHEAST;
+                    rotateDir = Direction.WEST;
+                    break;
+                default:
+                    throw new RuntimeException("Invalid symmetry");
+            }
+        }
+
+        int[] dx = new int[4];
+        int[] dy = new int[4];
+        int x = corner.dx;
+        int y = corner.dy;
+        for (int i = 0; i < 4; i++) {
+            dx[i] = x;
+            dy[i] = y;
+            x += rotateDir.dx;
+            y += rotateDir.dy;
+            if (!mirrored) {
+                rotateDir = rotateDir.rotateRight().rotateRight();
+            } else {
+                rotateDir = rotateDir.rotateLeft().rotateLeft();
+            }
+        }
+        return new Footprint(dx, dy);
+    }
+}
@@ -4,17 +4,18 @@ import battlecode.common.*;
 import battlecode.schema.*;
 import battlecode.util.FlatHelpers;
 import battlecode.util.TeamMapping;
-import gnu.trove.TIntArrayList;
+import battlecode.util.collections.IntArrayList;
 
 import com.google.flatbuffers.FlatBufferBuilder;
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.ArrayUtils;
-import org.hibernate.mapping.Map;
 
 import java.io.*;
 import java.net.URISyntaxException;
 import java.net.URL;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -68,14 +69,54 @@ public final class GameMapIO {
             result = loadMap(backupStream, teamsReversed);
         }
 
-        if (!result.getMapName().equals(mapName)) {
-            throw new IOException("Invalid map: name (" + result.getMapName()
-                    + ") does not match filename (" + mapName + MAP_EXTENSION + ")");
+        checkName(result, mapName);
+        return result;
+    }
+
+    /**
+     * Like loadMap, but a map file is memory-mapped instead of read, and each
+     * layer of the map is only read out of it the first time it's used, so
+     * loading costs the same however big the map is. Maps bundled with the
+     * engine are read into memory, but are still not deserialized up front.
+     *
+     * The file must not be changed while the map is in use.
+     *
+     * @param mapName name of map.
+     * @param mapDir  directory to load the extra map from; may be null.
+     * @return LiveMap for map
+     * @throws IOException if the map fails to load or can't be found.
+     */
+    public static LiveMap mapMap(String mapName, File mapDir, boolean teamsReversed) throws IOException {
+        final LiveMap result;
+
+        final File mapFile = new File(mapDir, mapName + MAP_EXTENSION);
+        if (mapFile.exists()) {
+            // the mapping stays valid after the channel is closed
+            try (FileChannel channel = FileChannel.open(mapFile.toPath(), StandardOpenOption.READ)) {
+                result = Serial.wrap(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()), teamsReversed);
+            }
+        } else {
+            final InputStream backupStream = BACKUP_LOADER
+                    .getResourceAsStream(DEFAULT_MAP_PACKAGE + mapName + MAP_EXTENSION);
+            if (backupStream == null) {
+                throw new IOException("Can't load map: " + mapName + " from dir " + mapDir + " or default maps.");
+            }
+            try (InputStream in = backupStream) {
+                result = Serial.wrap(ByteBuffer.wrap(IOUtils.toByteArray(in)), teamsReversed);
+            }
         }
 
+        checkName(result, mapName);
         return result;
     }
 
+    private static void checkName(LiveMap map, String mapName) throws IOException {
+        if (!map.getMapName().equals(mapName)) {
+            throw new IOException("Invalid map: name (" + map.getMapName()
+                    + ") does not match filename (" + mapName + MAP_EXTENSION + ")");
+        }
+    }
+
     public static LiveMap loadMapAsResource(final ClassLoader loader,
             final String mapPackage,
             final String map, final boolean teamsReversed) throws IOException {
@@ -105,7 +146,9 @@ public final class GameMapIO {
      * @throws IOException if the read fails somehow
      */
     public static LiveMap loadMap(InputStream stream, boolean teamsReversed) throws IOException {
-        return Serial.deserialize(IOUtils.toByteArray(stream), teamsReversed);
+        try (InputStream in = stream) {
+            return Serial.deserialize(IOUtils.toByteArray(in), teamsReversed);
+        }
     }
 
     /**
@@ -230,19 +273,71 @@ public final class GameMapIO {
             final int rounds = GameConstants.GAME_MAX_NUMBER_OF_ROUNDS;
             final String mapName = raw.name();
             int size = width * height;
-            boolean[] wallArray = new boolean[size];
-            boolean[] dirtArray = new boolean[size];
-            boolean[] cheeseMineArray = new boolean[size];
-            ArrayList<int[]> catWaypoints = new ArrayList<int[]>();
+            boolean[] wallArray = readWalls(raw, size);
+            boolean[] dirtArray = readDirt(raw, size);
+            int[] cheeseArray = readCheese(raw, size);
+            boolean[] cheeseMineArray = readCheeseMines(raw, width, size);
             ArrayList<Integer> catIds = new ArrayList<Integer>();
-            int[] cheeseArray = new int[size];
+            ArrayList<int[]> catWaypoints = new ArrayList<int[]>();
+            readCatWaypoints(raw, width, catIds, catWaypoints);
+
+            ArrayList<RobotInfo> initBodies = new ArrayList<>();
+            InitialBodyTable bodyTable = raw.initialBodies();
+            initInitialBodiesFromSchemaBodyTable(bodyTable, initBodies, teamsReversed);
 
-            for (int i = 0; i < wallArray.length; i++) {
+            RobotInfo[] initialBodies = initBodies.toArray(new RobotInfo[initBodies.size()]);
+
+
+            return new LiveMap(
+                    width, height, origin, seed, rounds, mapName, symmetry, wallArray, dirtArray,
+                    cheeseMineArray, cheeseArray, catIds, catWaypoints, initialBodies);
+        }
+
+        /**
+         * Make a LiveMap that reads its layers out of a serialized map as they
+         * are needed, instead of all at once.
+         *
+         * @param mapBuffer the serialized map; must not change while the map is in use
+         * @return a map backed by the buffer
+         */
+        public static LiveMap wrap(ByteBuffer mapBuffer, boolean teamsReversed) {
+            battlecode.schema.GameMap raw = battlecode.schema.GameMap.getRootAsGameMap(mapBuffer);
+
+            ArrayList<RobotInfo> initBodies = new ArrayList<>();
+            initInitialBodiesFromSchemaBodyTable(raw.initialBodies(), initBodies, teamsReversed);
+
+            return new LiveMap(raw, raw.size().x(), raw.size().y(), new MapLocation(0, 0),
+                    raw.randomSeed(), GameConstants.GAME_MAX_NUMBER_OF_ROUNDS, raw.name(),
+                    MapSymmetry.values()[raw.symmetry()],
+                    initBodies.toArray(new RobotInfo[initBodies.size()]));
+        }
+
+        static boolean[] readWalls(battlecode.schema.GameMap raw, int size) {
+            boolean[] wallArray = new boolean[size];
+            for (int i = 0; i < size; i++) {
                 wallArray[i] = raw.walls(i);
+            }
+            return wallArray;
+        }
+
+        static boolean[] readDirt(battlecode.schema.GameMap raw, int size) {
+            boolean[] dirtArray = new boolean[size];
+            for (int i = 0; i < size; i++) {
                 dirtArray[i] = raw.dirt(i);
-                cheeseArray[i] = raw.cheese(i); // raw.cheese(i);
             }
+            return dirtArray;
+        }
+
+        static int[] readCheese(battlecode.schema.GameMap raw, int size) {
+            int[] cheeseArray = new int[size];
+            for (int i = 0; i < size; i++) {
+                cheeseArray[i] = raw.cheese(i);
+            }
+            return cheeseArray;
+        }
 
+        static boolean[] readCheeseMines(battlecode.schema.GameMap raw, int width, int size) {
+            boolean[] cheeseMineArray = new boolean[size];
             VecTable cheeseMinesTable = raw.cheeseMines();
 
             for (int i = 0; i < cheeseMinesTable.xsLength(); i++) {
@@ -252,7 +347,11 @@ public final class GameMapIO {
                 int idx = x + width * y;
                 cheeseMineArray[idx] = true;
             }
+            return cheeseMineArray;
+        }
 
+        static void readCatWaypoints(battlecode.schema.GameMap raw, int width,
+                                     ArrayList<Integer> catIds, ArrayList<int[]> catWaypoints) {
             int numCats = raw.catWaypointVecsLength();
 
             for (int i = 0; i < numCats; i++) {
@@ -270,17 +369,6 @@ public final class GameMapIO {
                 catIds.add(catId);
                 catWaypoints.add(waypoints);
             }
-
-            ArrayList<RobotInfo> initBodies = new ArrayList<>();
-            InitialBodyTable bodyTable = raw.initialBodies();
-            initInitialBodiesFromSchemaBodyTable(bodyTable, initBodies, teamsReversed);
-
-            RobotInfo[] initialBodies = initBodies.toArray(new RobotInfo[initBodies.size()]);
-
-
-            return new LiveMap(
-                    width, height, origin, seed, rounds, mapName, symmetry, wallArray, dirtArray,
-                    cheeseMineArray, cheeseArray, catIds, catWaypoints, initialBodies);
         }
 
         /**
@@ -357,7 +445,7 @@ public final class GameMapIO {
                     waypointsXs[w] = x;
                     waypointsYs[w] = y;
                 }
-                int vecTableOffset = FlatHelpers.createVecTable(builder, new TIntArrayList(waypointsXs), new TIntArrayList(waypointsYs));
+                int vecTableOffset = FlatHelpers.createVecTable(builder, new IntArrayList(waypointsXs), new IntArrayList(waypointsYs));
                 catWaypointTableOffsets[i] = vecTableOffset;
             }
 
@@ -372,8 +460,8 @@ public final class GameMapIO {
             int catIDOffsets = battlecode.schema.GameMap.createCatWaypointIdsVector(builder, catIDs);
 
             //convert cheese mine x and y array list to arrays
-            TIntArrayList cheeseMineXsList = new TIntArrayList(cheeseMineXs.stream().mapToInt(i -> i).toArray());
-            TIntArrayList cheeseMineYsList = new TIntArrayList(cheeseMineYs.stream().mapToInt(i -> i).toArray());
+            IntArrayList cheeseMineXsList = new IntArrayList(cheeseMineXs.stream().mapToInt(i -> i).toArray());
+            IntArrayList cheeseMineYsList = new IntArrayList(cheeseMineYs.stream().mapToInt(i -> i).toArray());
             int cheeseMinesOffset = FlatHelpers.createVecTable(builder, cheeseMineXsList, cheeseMineYsList);
             
             
@@ -6,11 +6,17 @@ import battlecode.schema.Action;
 import battlecode.schema.GameMap;
 import battlecode.server.ErrorReporter;
 import battlecode.server.GameMaker;
+import battlecode.server.Config;
 import battlecode.server.GameState;
+import battlecode.util.BitBoard;
 import battlecode.util.FlatHelpers;
+import battlecode.util.RestorableRandom;
 import battlecode.world.control.RobotControlProvider;
 import battlecode.world.Trap;
 
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.*;
 
 /**
@@ -32,13 +38,23 @@ public class GameWorld {
     protected final IDGenerator idGenerator;
     protected final GameStats gameStats;
 
-    private boolean[] walls;
-    private boolean[] dirt;
+    private final BitBoard walls;
+    private final BitBoard dirt;
+    // walls or dirt, kept up to date by setDirt
+    private final BitBoard impassable;
 
     private int[] cheeseAmounts;
+
+    /**
+     * The cheese array starts out as the LiveMap's own, which may be shared
+     * with other worlds playing the same map; it is copied the first time
+     * this world changes it.
+     */
+    private boolean cheeseShared;
     private InternalRobot[][] robots;
-    private Trap[] trapLocations;
-    private ArrayList<Trap>[] trapTriggers;
+    private final BitBoard traps;
+    // the traps on each square, and the traps that can be triggered from each
+    private final TrapIndex trapIndex;
     private HashMap<TrapType, int[]> trapCounts; // maps trap type to counts for each team
     private final LiveMap gameMap;
     private final TeamInfo teamInfo;
@@ -51,21 +67,59 @@ public class GameWorld {
     private Map<Team, ProfilerCollection> profilerCollections;
 
     private final RobotControlProvider controlProvider;
-    private Random rand;
+    private RestorableRandom rand;
     private final GameMaker.MatchMaker matchMaker;
 
-    // Whether there is a ruin on each tile, indexed by location
-    private boolean[] allCheeseMinesByLoc;
+    // Whether there is a cheese mine on each tile, indexed by location
+    private BitBoard cheeseMineLocs;
     // list of all cheese mines
     private ArrayList<CheeseMine> cheeseMines;
-    private CheeseMine[] cheeseMineLocs;
+    // runs the mines, unless they're run as they used to be for old replays
+    private final CheeseSpawner cheeseSpawner;
 
-    // bfs map
-    private Direction[][] bfs_map_0;
-    private Direction[][] bfs_map_1;
+    // bfs map: for each source, the direction to each target, two to a byte;
+    // see packBfsDir
+    private byte[][] bfs_map_0;
+    private byte[][] bfs_map_1;
+
+    private static final Direction[] DIRECTIONS = Direction.values();
 
     private int numCats;
 
+    // the squares within squeaking range of a robot, as offsets from it
+    private static final int[] SQUEAK_DX;
+    private static final int[] SQUEAK_DY;
+
+    static {
+        int r2 = GameConstants.SQUEAK_RADIUS_SQUARED;
+        int r = (int) Math.sqrt(r2);
+        int count = 0;
+        int[] dx = new int[(2 * r + 1) * (2 * r + 1)];
+        int[] dy = new int[dx.length];
+        for (int x = -r; x <= r; x++) {
+            for (int y = -r; y <= r; y++) {
+                if (x * x + y * y <= r2) {
+                    dx[count] = x;
+                    dy[count] = y;
+                    count++;
+                }
+            }
+        }
+        SQUEAK_DX = Arrays.copyOf(dx, count);
+        SQUEAK_DY = Arrays.copyOf(dy, count);
+    }
+
+    // how many squeaks have been delivered; see InternalRobot.hearSqueak
+    private int squeakCount;
+
+    // bumped by every change robots could sense; see getVersion
+    private int version;
+
+    // what each team sees of each square, made the first time it's sensed
+    // and dropped when dirt, cheese or that team's trap there changes;
+    // see getMapInfo
+    private MapInfo[][] mapInfos;
+
     private int[][] sharedArray;
     private int[][] persistentArray;
 
@@ -124,8 +178,12 @@ public class GameWorld {
         if (hasRunCheeseMinesThisRound)
             return;
 
-        for (CheeseMine mine : this.cheeseMines) {
-            spawnCheese(mine);
+        if (this.cheeseSpawner != null) {
+            this.cheeseSpawner.run(this, this.rand, this.currentRound);
+        } else {
+            for (CheeseMine mine : this.cheeseMines) {
+                spawnCheese(mine);
+            }
         }
         hasRunCheeseMinesThisRound = true;
     }
@@ -134,15 +192,26 @@ public class GameWorld {
         return new MapLocation(symmetricX(p.x), symmetricY(p.y));
     }
 
-    @SuppressWarnings("unchecked")
     public GameWorld(LiveMap gm, RobotControlProvider cp, GameMaker.MatchMaker matchMaker) {
+        this(gm, cp, matchMaker, true);
+    }
+
+    /**
+     * @param spawnInitialBodies whether to place the map's robots; restore
+     *                           doesn't, since it brings back its own
+     */
+    private GameWorld(LiveMap gm, RobotControlProvider cp, GameMaker.MatchMaker matchMaker,
+            boolean spawnInitialBodies) {
         int width = gm.getWidth();
         int height = gm.getHeight();
         int numSquares = width * height;
-        this.walls = gm.getWallArray();
-        this.dirt = gm.getDirtArray();
+        this.walls = BitBoard.of(gm.getWallArray());
+        this.dirt = BitBoard.of(gm.getDirtArray());
+        this.impassable = new BitBoard(this.walls);
+        this.impassable.or(this.dirt);
         this.cheeseAmounts = gm.getCheeseArray();
-        this.trapLocations = new Trap[numSquares]; // We guarantee that no maps will contain traps at t = 0
+        this.cheeseShared = true;
+        this.traps = new BitBoard(numSquares); // We guarantee that no maps will contain traps at t = 0
         this.robots = new InternalRobot[width][height]; // if represented in cartesian, should be height-width, but this
                                                         // should allow us to index x-y
         this.hasRunCheeseMinesThisRound = false;
@@ -154,15 +223,12 @@ public class GameWorld {
         this.trapCounts = new HashMap<>();
         trapCounts.put(TrapType.CAT_TRAP, new int[2]);
         trapCounts.put(TrapType.RAT_TRAP, new int[2]);
-        trapTriggers = new ArrayList[numSquares];
-        for (int i = 0; i < trapTriggers.length; i++) {
-            trapTriggers[i] = new ArrayList<>();
-        }
+        this.trapIndex = new TrapIndex(width, height);
 
         this.profilerCollections = new HashMap<>();
 
         this.controlProvider = cp;
-        this.rand = new Random(this.gameMap.getSeed());
+        this.rand = new RestorableRandom(this.gameMap.getSeed());
         this.matchMaker = matchMaker;
 
         this.controlProvider.matchStarted(this);
@@ -175,28 +241,29 @@ public class GameWorld {
         this.matchMaker.makeMatchHeader(this.gameMap);
         
         this. hasTraveledIDs = new HashSet<>();
-        this.allCheeseMinesByLoc = gm.getCheeseMineArray();
+        this.cheeseMineLocs = BitBoard.of(gm.getCheeseMineArray());
         this.cheeseMines = new ArrayList<CheeseMine>();
-        this.cheeseMineLocs = new CheeseMine[numSquares];
+        // only needed to pair mines up
+        HashMap<Integer, CheeseMine> minesByLoc = new HashMap<>();
 
         this.numCats = 0;
 
-        for (int i = 0; i < numSquares; i++) {
-            if (this.allCheeseMinesByLoc[i]) {
-                CheeseMine newMine = new CheeseMine(indexToLocation(i), GameConstants.SQ_CHEESE_SPAWN_RADIUS, null);
-                this.cheeseMines.add(newMine);
-                cheeseMineLocs[i] = newMine;
-            }
+        for (int i = cheeseMineLocs.nextSetBit(0); i >= 0; i = cheeseMineLocs.nextSetBit(i + 1)) {
+            CheeseMine newMine = new CheeseMine(indexToLocation(i), GameConstants.SQ_CHEESE_SPAWN_RADIUS, null);
+            this.cheeseMines.add(newMine);
+            minesByLoc.put(i, newMine);
         }
 
         for (CheeseMine mine : this.cheeseMines) {
             MapLocation symLoc = symmetryLocation(mine.getLocation());
-            mine.setPair(cheeseMineLocs[locationToIndex(symLoc)]);
+            mine.setPair(minesByLoc.get(locationToIndex(symLoc)));
         }
+        this.cheeseSpawner = Config.getGlobalConfig().getBoolean("bc.engine.legacy-cheese-spawns")
+                ? null : new CheeseSpawner(this, this.cheeseMines);
 
         this.sharedArray = new int[2][GameConstants.SHARED_ARRAY_SIZE];
 
-        RobotInfo[] initialBodies = gm.getInitialBodies();
+        RobotInfo[] initialBodies = spawnInitialBodies ? gm.getInitialBodies() : new RobotInfo[0];
 
         for (int i = 0; i < initialBodies.length; i++) {
             RobotInfo robotInfo = initialBodies[i];
@@ -206,8 +273,8 @@ public class GameWorld {
         }
 
         // cat bfs map
-        this.bfs_map_0 = new Direction[width*height][width*height];
-        this.bfs_map_1 = new Direction[width*height][width*height];
+        this.bfs_map_0 = new byte[width*height][(width*height + 1) / 2];
+        this.bfs_map_1 = new byte[width*height][(width*height + 1) / 2];
         
         for (int target_x=0; target_x < width; target_x++){
             for (int target_y=0; target_y < height; target_y++){
@@ -223,7 +290,7 @@ public class GameWorld {
     public void bfsFromTarget(MapLocation target, int chirality){
         // bfs form target to all possible sources, set source direction to target
 
-        Direction[][] bfs_map;
+        byte[][] bfs_map;
         if (chirality == 0)
             bfs_map = this.bfs_map_0;
         else
@@ -232,7 +299,7 @@ public class GameWorld {
         Queue<MapLocation> queue = new LinkedList<MapLocation>();
         queue.add(target);
 
-        bfs_map[locationToIndex(target)][locationToIndex(target)] = Direction.CENTER;
+        packBfsDir(bfs_map[locationToIndex(target)], locationToIndex(target), Direction.CENTER);
 
         while(!queue.isEmpty()){
             MapLocation nextLoc = queue.poll();
@@ -252,7 +319,7 @@ public class GameWorld {
                 
                 MapLocation neighbor = nextLoc.add(useDir);
 
-                if (this.gameMap.onTheMap(neighbor) && bfs_map[locationToIndex(neighbor)][locationToIndex(target)] != null){
+                if (this.gameMap.onTheMap(neighbor) && unpackBfsDir(bfs_map[locationToIndex(neighbor)], locationToIndex(target)) != null){
                     // visited already
                     continue;
                 }
@@ -277,7 +344,7 @@ public class GameWorld {
                 }
                 if (validPath){
                     Direction reverseDirection = useDir.opposite();
-                    bfs_map[locationToIndex(neighbor)][locationToIndex(target)] = reverseDirection;
+                    packBfsDir(bfs_map[locationToIndex(neighbor)], locationToIndex(target), reverseDirection);
                     queue.add(neighbor);
                 }
             }   
@@ -286,9 +353,23 @@ public class GameWorld {
 
     public Direction getBfsDir(MapLocation from, MapLocation to, int chirality){
         if (chirality==0)
-            return bfs_map_0[locationToIndex(from)][locationToIndex(to)];
+            return unpackBfsDir(bfs_map_0[locationToIndex(from)], locationToIndex(to));
         else
-            return bfs_map_1[locationToIndex(from)][locationToIndex(to)];
+            return unpackBfsDir(bfs_map_1[locationToIndex(from)], locationToIndex(to));
+    }
+
+    /**
+     * Store a direction in a row of a bfs map, as a nibble holding its
+     * ordinal plus one; zero means no direction yet.
+     */
+    private static void packBfsDir(byte[] row, int index, Direction dir) {
+        int shift = (index & 1) << 2;
+        row[index >> 1] = (byte) ((row[index >> 1] & ~(0xF << shift)) | ((dir.ordinal() + 1) << shift));
+    }
+
+    private static Direction unpackBfsDir(byte[] row, int index) {
+        int code = (row[index >> 1] >> ((index & 1) << 2)) & 0xF;
+        return code == 0 ? null : DIRECTIONS[code - 1];
     }
 
     /**
@@ -401,11 +482,15 @@ public class GameWorld {
     }
 
     public boolean getWall(MapLocation loc) {
-        return this.walls[locationToIndex(loc)];
+        return this.walls.get(locationToIndex(loc));
+    }
+
+    boolean getWall(int idx) {
+        return this.walls.get(idx);
     }
 
     public boolean getDirt(MapLocation loc) {
-        return this.dirt[locationToIndex(loc)];
+        return this.dirt.get(locationToIndex(loc));
     }
 
     public int getCheese(MapLocation loc) {
@@ -425,7 +510,10 @@ public class GameWorld {
         if (loc == null)
             return;
         int mapIndex = locationToIndex(loc);
-        this.dirt[mapIndex] = val;
+        this.dirt.set(mapIndex, val);
+        this.impassable.set(mapIndex, val || this.walls.get(mapIndex));
+        this.version++;
+        forgetMapInfo(mapIndex);
 
     }
 
@@ -434,11 +522,32 @@ public class GameWorld {
     }
 
     public void removeCheese(MapLocation loc) {
-        this.cheeseAmounts[locationToIndex(loc)] = 0;
+        int idx = locationToIndex(loc);
+        writableCheese()[idx] = 0;
+        this.version++;
+        forgetMapInfo(idx);
     }
 
     public void addCheese(MapLocation loc, int amount) {
-        this.cheeseAmounts[locationToIndex(loc)] += amount;
+        addCheese(locationToIndex(loc), amount);
+    }
+
+    /**
+     * @return how much cheese is on the square now
+     */
+    int addCheese(int idx, int amount) {
+        int cheese = writableCheese()[idx] += amount;
+        this.version++;
+        forgetMapInfo(idx);
+        return cheese;
+    }
+
+    private int[] writableCheese() {
+        if (this.cheeseShared) {
+            this.cheeseAmounts = this.cheeseAmounts.clone();
+            this.cheeseShared = false;
+        }
+        return this.cheeseAmounts;
     }
 
     public int getNumCats() {
@@ -446,8 +555,11 @@ public class GameWorld {
     }
 
     public boolean isPassable(MapLocation loc) {
-        return !(this.walls[locationToIndex(loc)]
-                || this.dirt[locationToIndex(loc)]);
+        return !this.impassable.get(locationToIndex(loc));
+    }
+
+    public boolean isPassable(int x, int y) {
+        return !this.impassable.get(locationToIndex(x, y));
     }
 
     /**
@@ -459,6 +571,16 @@ public class GameWorld {
         return this.gameMap.locationToIndex(loc);
     }
 
+    /**
+     * Helper method that converts a location into an index.
+     * 
+     * @param x the x-coordinate of the location
+     * @param y the y-coordinate of the location
+     */
+    public int locationToIndex(int x, int y) {
+        return this.gameMap.locationToIndex(x, y);
+    }
+
     /**
      * Helper method that converts an index into a location.
      * 
@@ -526,7 +648,7 @@ public class GameWorld {
     }
 
     public boolean hasCheeseMine(MapLocation loc) {
-        return this.cheeseMineLocs[locationToIndex(loc)] != null;
+        return this.cheeseMineLocs.get(locationToIndex(loc));
     }
 
     // ***********************************
@@ -534,25 +656,30 @@ public class GameWorld {
     // ***********************************
 
     public Trap getTrap(MapLocation loc) {
-        return this.trapLocations[locationToIndex(loc)];
+        int idx = locationToIndex(loc);
+        return this.traps.get(idx) ? this.trapIndex.getTrap(idx) : null;
     }
 
     public boolean hasTrap(MapLocation loc) {
-        return (this.trapLocations[locationToIndex(loc)] != null);
+        return this.traps.get(locationToIndex(loc));
     }
 
     public boolean hasRatTrap(MapLocation loc) {
-        Trap trap = this.trapLocations[locationToIndex(loc)];
+        Trap trap = getTrap(loc);
         return (trap != null && trap.getType() == TrapType.RAT_TRAP);
     }
 
     public boolean hasCatTrap(MapLocation loc) {
-        Trap trap = this.trapLocations[locationToIndex(loc)];
+        Trap trap = getTrap(loc);
         return (trap != null && trap.getType() == TrapType.CAT_TRAP);
     }
 
-    public ArrayList<Trap> getTrapTriggers(MapLocation loc) {
-        return this.trapTriggers[locationToIndex(loc)];
+    /**
+     * @return the traps on the map and the squares they can be triggered
+     *         from; changed only through placeTrap and removeTrap
+     */
+    public TrapIndex getTrapIndex() {
+        return this.trapIndex;
     }
 
     public void placeTrap(MapLocation loc, Trap trap) {
@@ -561,11 +688,10 @@ public class GameWorld {
         Team team = trap.getTeam();
 
         int idx = locationToIndex(loc);
-        this.trapLocations[idx] = trap;
-
-        for (MapLocation adjLoc : getAllLocationsWithinRadiusSquared(loc, type.triggerRadiusSquared, 0)) {// set chirality to 0, only rats will be placing traps
-            this.trapTriggers[locationToIndex(adjLoc)].add(trap);
-        }
+        this.trapIndex.add(trap, idx);
+        this.traps.set(idx);
+        this.version++;
+        forgetMapInfo(idx, team);
 
         int[] trapTypeCounts = this.trapCounts.get(type);
         trapTypeCounts[team.ordinal()] += 1;
@@ -573,7 +699,7 @@ public class GameWorld {
     }
 
     public void removeTrap(MapLocation loc) {
-        Trap trap = this.trapLocations[locationToIndex(loc)];
+        Trap trap = getTrap(loc);
         if (trap == null) {
             return;
         }
@@ -582,10 +708,48 @@ public class GameWorld {
         int[] trapTypeCounts = this.trapCounts.get(type);
         trapTypeCounts[team.ordinal()] -= 1;
         this.trapCounts.put(type, trapTypeCounts);
-        this.trapLocations[locationToIndex(loc)] = null;
+        this.trapIndex.remove(locationToIndex(loc));
+        this.traps.clear(locationToIndex(loc));
+        this.version++;
+        forgetMapInfo(locationToIndex(loc), team);
+    }
 
-        for (MapLocation adjLoc : getAllLocationsWithinRadiusSquared(loc, type.triggerRadiusSquared, 0)) { // set chirality to 0, only rats will be removing traps
-            this.trapTriggers[locationToIndex(adjLoc)].remove(trap);
+    /**
+     * What a team can sense of a square. Only the team's own traps show.
+     *
+     * MapInfos never change, so every robot of a team sensing a square gets
+     * the same one, until something on the square changes.
+     *
+     * @param loc  the square, which must be on the map
+     * @param team the team sensing it
+     */
+    public MapInfo getMapInfo(MapLocation loc, Team team) {
+        if (this.mapInfos == null) {
+            int squares = this.gameMap.getWidth() * this.gameMap.getHeight();
+            this.mapInfos = new MapInfo[][] { new MapInfo[squares], new MapInfo[squares] };
+        }
+        int idx = locationToIndex(loc);
+        MapInfo info = this.mapInfos[team.ordinal()][idx];
+        if (info == null) {
+            Trap trap = this.traps.get(idx) ? this.trapIndex.getTrap(idx) : null;
+            TrapType trapType = (trap != null && trap.getTeam() == team) ? trap.getType() : TrapType.NONE;
+            info = new MapInfo(indexToLocation(idx), !this.impassable.get(idx), this.walls.get(idx),
+                    this.dirt.get(idx), this.cheeseAmounts[idx], trapType, this.cheeseMineLocs.get(idx));
+            this.mapInfos[team.ordinal()][idx] = info;
+        }
+        return info;
+    }
+
+    private void forgetMapInfo(int idx) {
+        if (this.mapInfos != null) {
+            this.mapInfos[0][idx] = null;
+            this.mapInfos[1][idx] = null;
+        }
+    }
+
+    private void forgetMapInfo(int idx, Team team) {
+        if (this.mapInfos != null) {
+            this.mapInfos[team.ordinal()][idx] = null;
         }
     }
 
@@ -622,8 +786,21 @@ public class GameWorld {
     // ****** ROBOT METHODS **************
     // ***********************************
 
+    /**
+     * @return a number that changes whenever a robot appears on, moves
+     *         across or leaves the map, or dirt, cheese or a trap comes or
+     *         goes, so what a robot senses can be reused until it does
+     */
+    public int getVersion() {
+        return this.version;
+    }
+
     public InternalRobot getRobot(MapLocation loc) {
-        return this.robots[loc.x - this.gameMap.getOrigin().x][loc.y - this.gameMap.getOrigin().y];
+        return getRobot(loc.x, loc.y);
+    }
+
+    public InternalRobot getRobot(int x, int y) {
+        return this.robots[x - this.gameMap.getOrigin().x][y - this.gameMap.getOrigin().y];
     }
 
     public void moveRobot(MapLocation start, MapLocation end) {
@@ -632,11 +809,21 @@ public class GameWorld {
     }
 
     public void addRobot(MapLocation loc, InternalRobot robot) {
-        this.robots[loc.x - this.gameMap.getOrigin().x][loc.y - this.gameMap.getOrigin().y] = robot;
+        addRobot(loc.x, loc.y, robot);
+    }
+
+    public void addRobot(int x, int y, InternalRobot robot) {
+        this.robots[x - this.gameMap.getOrigin().x][y - this.gameMap.getOrigin().y] = robot;
+        this.version++;
     }
 
     public void removeRobot(MapLocation loc) {
-        this.robots[loc.x - this.gameMap.getOrigin().x][loc.y - this.gameMap.getOrigin().y] = null;
+        removeRobot(loc.x, loc.y);
+    }
+
+    public void removeRobot(int x, int y) {
+        this.robots[x - this.gameMap.getOrigin().x][y - this.gameMap.getOrigin().y] = null;
+        this.version++;
     }
 
     public InternalRobot[] getAllRobotsWithinRadiusSquared(MapLocation center, int radiusSquared, int chirality) {
@@ -997,8 +1184,9 @@ public class GameWorld {
 
         InternalRobot robot = new InternalRobot(this, ID, team, type, location, dir, chirality);
 
-        for (MapLocation loc : robot.getAllPartLocations()) {
-            addRobot(loc, robot);
+        Footprint parts = robot.getFootprint();
+        for (int i = 0; i < parts.size(); i++) {
+            addRobot(location.x + parts.dx(i), location.y + parts.dy(i), robot);
         }
 
         objectInfo.createRobot(robot);
@@ -1025,14 +1213,24 @@ public class GameWorld {
     }
 
     public void squeak(InternalRobot robot, Message message) {
+        // the robot grid is our spatial index: look at the squares in range,
+        // and hand the message itself to each teammate or cat found there,
+        // once, however many of its squares are in range
         MapLocation robotLoc = robot.getLocation();
-        MapLocation[] locations = getAllLocationsWithinRadiusSquared(robotLoc, GameConstants.SQUEAK_RADIUS_SQUARED, 0); // chirality doesn't matter here
-
-        for (MapLocation loc : locations) {
-            InternalRobot otherRobot = getRobot(loc);
+        Team team = robot.getTeam();
+        int squeak = ++this.squeakCount;
+
+        for (int i = 0; i < SQUEAK_DX.length; i++) {
+            int x = robotLoc.x + SQUEAK_DX[i];
+            int y = robotLoc.y + SQUEAK_DY[i];
+            if (!this.gameMap.onTheMap(x, y)) {
+                continue;
+            }
+            InternalRobot otherRobot = getRobot(x, y);
 
-            if (otherRobot != null && (otherRobot.getType().isCatType() || otherRobot.getTeam() == robot.getTeam())) {
-                otherRobot.addMessage(message.copy());
+            if (otherRobot != null && (otherRobot.getType().isCatType() || otherRobot.getTeam() == team)
+                    && otherRobot.hearSqueak(squeak)) {
+                otherRobot.addMessage(message);
             }
         }
 
@@ -1089,8 +1287,9 @@ public class GameWorld {
                 this.numCats -= 1;
             }
 
-            for (MapLocation robotLoc : robot.getAllPartLocations()) {
-                removeRobot(robotLoc);
+            Footprint parts = robot.getFootprint();
+            for (int i = 0; i < parts.size(); i++) {
+                removeRobot(loc.x + parts.dx(i), loc.y + parts.dy(i));
             }
 
             if (robot.isCarryingRobot()) {
@@ -1134,6 +1333,267 @@ public class GameWorld {
         }
     }
 
+    // *********************************
+    // ****** SNAPSHOTS ****************
+    // *********************************
+
+    /**
+     * Save the state of the game, to carry on from later with restore.
+     * Waits for any round in progress to finish.
+     *
+     * @return the state as of the end of the current round
+     */
+    public synchronized WorldSnapshot snapshot() {
+        WorldSnapshot.StateBuffer bytes = new WorldSnapshot.StateBuffer();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            writeSnapshot(out);
+        } catch (IOException e) {
+            // can't happen writing to memory
+            throw new RuntimeException("Couldn't snapshot " + gameMap.getMapName(), e);
+        }
+        return new WorldSnapshot(gameMap.getMapName(), currentRound, bytes.toByteArray());
+    }
+
+    /**
+     * Make a world that carries on from a snapshot. It plays on exactly as
+     * the snapshotted world would have, as long as the same players (or
+     * none) control it; players don't get back any state of their own.
+     *
+     * @param gm         the map the snapshot was taken on
+     * @param snapshot   the state to start from
+     * @param cp         the control provider for the restored robots
+     * @param matchMaker where to write the rest of the match
+     * @return the restored world
+     */
+    public static GameWorld restore(LiveMap gm, WorldSnapshot snapshot, RobotControlProvider cp,
+            GameMaker.MatchMaker matchMaker) {
+        if (!gm.getMapName().equals(snapshot.getMapName())) {
+            throw new IllegalArgumentException("Snapshot was taken on " + snapshot.getMapName()
+                    + ", not " + gm.getMapName());
+        }
+        GameWorld world = new GameWorld(gm, cp, matchMaker, false);
+        try (DataInputStream in = snapshot.openState()) {
+            world.readSnapshot(in);
+        } catch (IOException e) {
+            throw new RuntimeException("Corrupt snapshot of " + snapshot.getMapName()
+                    + " at round " + snapshot.getRound(), e);
+        }
+        return world;
+    }
+
+    private void writeSnapshot(DataOutputStream out) throws IOException {
+        out.writeInt(currentRound);
+        out.writeBoolean(running);
+        out.writeBoolean(isCooperation);
+        WorldSnapshot.writeEnum(out, gameStats.getWinner());
+        WorldSnapshot.writeEnum(out, gameStats.getDominationFactor());
+        out.writeLong(rand.getState());
+        idGenerator.writeSnapshot(out);
+
+        // walls never change, and impassable is walls or dirt
+        long[] dirtWords = dirt.toLongArray();
+        out.writeInt(dirtWords.length);
+        for (long word : dirtWords) {
+            out.writeLong(word);
+        }
+
+        // most squares have no cheese
+        int cheeseSquares = 0;
+        for (int amount : cheeseAmounts) {
+            if (amount != 0) {
+                cheeseSquares++;
+            }
+        }
+        out.writeInt(cheeseSquares);
+        for (int i = 0; i < cheeseAmounts.length; i++) {
+            if (cheeseAmounts[i] != 0) {
+                out.writeInt(i);
+                out.writeInt(cheeseAmounts[i]);
+            }
+        }
+
+        out.writeInt(traps.cardinality());
+        for (int i = traps.nextSetBit(0); i >= 0; i = traps.nextSetBit(i + 1)) {
+            Trap trap = trapIndex.getTrap(i);
+            out.writeInt(trap.getId());
+            WorldSnapshot.writeLocation(out, trap.getLocation());
+            WorldSnapshot.writeEnum(out, trap.getType());
+            WorldSnapshot.writeEnum(out, trap.getTeam());
+        }
+        for (TrapType type : TrapType.values()) {
+            int[] counts = trapCounts.get(type);
+            out.writeBoolean(counts != null);
+            if (counts != null) {
+                WorldSnapshot.writeInts(out, counts);
+            }
+        }
+        // trap IDs aren't in placement order, so keep each square's order
+        for (int i = 0; i < traps.size(); i++) {
+            if (trapIndex.firstTrigger(i) >= 0) {
+                int triggers = 0;
+                for (int node = trapIndex.firstTrigger(i); node >= 0; node = trapIndex.nextTrigger(node)) {
+                    triggers++;
+                }
+                out.writeInt(i);
+                out.writeInt(triggers);
+                for (int node = trapIndex.firstTrigger(i); node >= 0; node = trapIndex.nextTrigger(node)) {
+                    out.writeInt(trapIndex.getTrigger(node).getId());
+                }
+            }
+        }
+        out.writeInt(-1);
+
+        for (CheeseMine mine : cheeseMines) {
+            out.writeInt(mine.getLastRound());
+        }
+        out.writeBoolean(hasRunCheeseMinesThisRound);
+
+        int[] traveled = new int[hasTraveledIDs.size()];
+        int t = 0;
+        for (int id : hasTraveledIDs) {
+            traveled[t++] = id;
+        }
+        Arrays.sort(traveled);
+        WorldSnapshot.writeInts(out, traveled);
+        WorldSnapshot.writeInts(out, currentNumberUnits);
+        out.writeInt(numCats);
+
+        for (int[] teamArray : sharedArray) {
+            WorldSnapshot.writeInts(out, teamArray);
+        }
+        out.writeBoolean(persistentArray != null);
+        if (persistentArray != null) {
+            for (int[] teamArray : persistentArray) {
+                WorldSnapshot.writeInts(out, teamArray);
+            }
+        }
+
+        teamInfo.writeSnapshot(out);
+
+        List<InternalRobot> execOrder = new ArrayList<>();
+        objectInfo.eachDynamicBodyByExecOrder(execOrder::add);
+        out.writeInt(execOrder.size());
+        for (InternalRobot robot : execOrder) {
+            robot.writeSnapshot(out);
+        }
+        for (InternalRobot robot : execOrder) {
+            InternalRobot carrying = robot.getRobotBeingCarried();
+            InternalRobot carriedBy = robot.getGrabbedByRobot();
+            out.writeInt(carrying != null ? carrying.getID() : -1);
+            out.writeInt(carriedBy != null ? carriedBy.getID() : -1);
+        }
+
+        // not every robot is on the grid: carried and thrown ones aren't
+        int width = gameMap.getWidth();
+        for (int x = 0; x < robots.length; x++) {
+            for (int y = 0; y < robots[x].length; y++) {
+                if (robots[x][y] != null) {
+                    out.writeInt(x + y * width);
+                    out.writeInt(robots[x][y].getID());
+                }
+            }
+        }
+        out.writeInt(-1);
+
+        objectInfo.writeSnapshot(out);
+    }
+
+    private void readSnapshot(DataInputStream in) throws IOException {
+        mapInfos = null;
+        currentRound = in.readInt();
+        running = in.readBoolean();
+        isCooperation = in.readBoolean();
+        gameStats.setWinner(WorldSnapshot.readEnum(in, Team.values()));
+        gameStats.setDominationFactor(WorldSnapshot.readEnum(in, DominationFactor.values()));
+        rand.setState(in.readLong());
+        idGenerator.readSnapshot(in);
+
+        long[] dirtWords = new long[in.readInt()];
+        for (int i = 0; i < dirtWords.length; i++) {
+            dirtWords[i] = in.readLong();
+        }
+        dirt.copyFrom(BitBoard.valueOf(dirt.size(), dirtWords));
+        impassable.copyFrom(walls);
+        impassable.or(dirt);
+
+        int[] cheese = new int[cheeseAmounts.length];
+        int cheeseSquares = in.readInt();
+        for (int i = 0; i < cheeseSquares; i++) {
+            int index = in.readInt();
+            cheese[index] = in.readInt();
+        }
+        cheeseAmounts = cheese;
+        cheeseShared = false;
+
+        Map<Integer, Trap> trapsByID = new HashMap<>();
+        int trapCount = in.readInt();
+        for (int i = 0; i < trapCount; i++) {
+            int id = in.readInt();
+            MapLocation loc = WorldSnapshot.readLocation(in);
+            TrapType type = WorldSnapshot.readEnum(in, TrapType.values());
+            Team team = WorldSnapshot.readEnum(in, Team.values());
+            Trap trap = new Trap(loc, type, team, id);
+            trapIndex.put(trap, locationToIndex(loc));
+            traps.set(locationToIndex(loc));
+            trapsByID.put(id, trap);
+        }
+        trapCounts.clear();
+        for (TrapType type : TrapType.values()) {
+            if (in.readBoolean()) {
+                trapCounts.put(type, WorldSnapshot.readInts(in));
+            }
+        }
+        for (int i = in.readInt(); i >= 0; i = in.readInt()) {
+            int size = in.readInt();
+            for (int j = 0; j < size; j++) {
+                Trap trap = trapsByID.get(in.readInt());
+                trapIndex.cover(locationToIndex(trap.getLocation()), i);
+            }
+        }
+
+        for (CheeseMine mine : cheeseMines) {
+            mine.setLastRound(in.readInt());
+        }
+        hasRunCheeseMinesThisRound = in.readBoolean();
+
+        for (int id : WorldSnapshot.readInts(in)) {
+            hasTraveledIDs.add(id);
+        }
+        currentNumberUnits = WorldSnapshot.readInts(in);
+        numCats = in.readInt();
+
+        for (int team = 0; team < sharedArray.length; team++) {
+            sharedArray[team] = WorldSnapshot.readInts(in);
+        }
+        if (in.readBoolean()) {
+            persistentArray = new int[2][];
+            for (int team = 0; team < persistentArray.length; team++) {
+                persistentArray[team] = WorldSnapshot.readInts(in);
+            }
+        }
+
+        teamInfo.readSnapshot(in);
+
+        InternalRobot[] execOrder = new InternalRobot[in.readInt()];
+        for (int i = 0; i < execOrder.length; i++) {
+            execOrder[i] = InternalRobot.readSnapshot(this, in);
+            objectInfo.createRobot(execOrder[i]);
+            controlProvider.robotSpawned(execOrder[i]);
+        }
+        for (InternalRobot robot : execOrder) {
+            InternalRobot carrying = objectInfo.getRobotByID(in.readInt());
+            InternalRobot carriedBy = objectInfo.getRobotByID(in.readInt());
+            robot.restoreCarrying(carrying, carriedBy);
+        }
+
+        int width = gameMap.getWidth();
+        for (int i = in.readInt(); i >= 0; i = in.readInt()) {
+            robots[i % width][i / width] = objectInfo.getRobotByID(in.readInt());
+        }
+
+        objectInfo.readSnapshot(in);
+    }
+
     // *********************************
     // ********* PROFILER **************
     // *********************************
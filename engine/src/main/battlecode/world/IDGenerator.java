@@ -1,6 +1,10 @@
 package battlecode.world;
 
-import java.util.Random;
+import battlecode.util.RestorableRandom;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 
 /**
  * Class that generates a sequence of unique pseudorandom
@@ -28,7 +32,13 @@ public class IDGenerator {
     /**
      * The random generator used to shuffle blocks.
      */
-    private final Random random;
+    private final RestorableRandom random;
+
+    /**
+     * The random generator's state before the current block was shuffled,
+     * so the block can be shuffled again the same way from a snapshot.
+     */
+    private long blockRandomState;
 
     /**
      * Where we are in the current block.
@@ -46,7 +56,7 @@ public class IDGenerator {
      * @param seed the random seed to use.
      */
     public IDGenerator(int seed) {
-        this.random = new Random(seed);
+        this.random = new RestorableRandom(seed);
         this.reservedIDs = new int[ID_BLOCK_SIZE];
 
         setStart(MIN_ID);
@@ -76,6 +86,7 @@ public class IDGenerator {
         }
 
         this.cursor = 0;
+        this.blockRandomState = this.random.getState();
 
         for (int i = 0; i < ID_BLOCK_SIZE; i++) {
             this.reservedIDs[i] = this.nextIDBlock + i + 1;
@@ -102,4 +113,24 @@ public class IDGenerator {
         this.nextIDBlock = startingID;
         allocateNextBlock();
     }
+
+    /**
+     * Write where we are, for a WorldSnapshot.
+     */
+    void writeSnapshot(DataOutput out) throws IOException {
+        // the block itself is reshuffled from the state, rather than written
+        out.writeInt(this.nextIDBlock);
+        out.writeLong(this.blockRandomState);
+        out.writeInt(this.cursor);
+    }
+
+    /**
+     * Go back to where a generator was when writeSnapshot was called.
+     */
+    void readSnapshot(DataInput in) throws IOException {
+        this.nextIDBlock = in.readInt() - ID_BLOCK_SIZE;
+        this.random.setState(in.readLong());
+        allocateNextBlock();
+        this.cursor = in.readInt();
+    }
 }
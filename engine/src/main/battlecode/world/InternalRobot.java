@@ -1,5 +1,8 @@
 package battlecode.world;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 
 import battlecode.common.Direction;
@@ -20,6 +23,16 @@ import battlecode.common.UnitType;
  */
 public class InternalRobot implements Comparable<InternalRobot> {
 
+    /**
+     * Room in a new inbox for a robot's own squeaks over the rounds they're
+     * remembered, rounded up to a power of two; it grows past that when a
+     * robot is within earshot of others.
+     */
+    private static final int INITIAL_INBOX_CAPACITY = Integer.highestOneBit(Math.max(1,
+            GameConstants.MESSAGE_ROUND_DURATION * GameConstants.MAX_MESSAGES_SENT_ROBOT - 1)) << 1;
+
+    private static final Message[] NO_MESSAGES = new Message[0];
+
     private final RobotControllerImpl controller;
     protected final GameWorld gameWorld;
 
@@ -49,16 +62,25 @@ public class InternalRobot implements Comparable<InternalRobot> {
     private int remainingThrowDuration; // how much longer robot should be thrown for
     private int remainingCarriedDuration; // Number of turns before we wriggle free from enemy robot
 
-    private Queue<Message> incomingMessages;
+    // the squeaks this robot has heard, oldest first: a ring of
+    // inboxSize messages starting at inboxHead, which doubles when full
+    private Message[] inbox;
+    private int inboxHead;
+    private int inboxSize;
 
     // the number of messages this robot/tower has sent this turn
     private int sentMessagesCount;
+    // the last squeak delivered to this robot; see GameWorld.squeak
+    private int lastSqueakHeard;
 
     private int chirality;
+    private Footprint footprint;
     private int sleepTimeRemaining;
 
     /**
      * Used to avoid recreating the same RobotInfo object over and over.
+     * Anything that changes what it says about this robot throws it away;
+     * see robotInfoChanged.
      */
     private RobotInfo cachedRobotInfo;
 
@@ -92,7 +114,7 @@ public class InternalRobot implements Comparable<InternalRobot> {
         this.dir = dir;
         this.diedLocation = null;
         this.health = type.health;
-        this.incomingMessages = new LinkedList<>();
+        this.inbox = new Message[INITIAL_INBOX_CAPACITY];
         this.cheeseAmount = 0;
 
         this.controlBits = 0;
@@ -118,6 +140,7 @@ public class InternalRobot implements Comparable<InternalRobot> {
         this.catState = CatStateType.EXPLORE;
         this.sleepTimeRemaining = 0;
         this.chirality = chirality;
+        this.footprint = Footprint.of(type, chirality, gw.getGameMap().getSymmetry());
 
         if (this.type.isCatType()) {
 
@@ -176,54 +199,25 @@ public class InternalRobot implements Comparable<InternalRobot> {
 
     public void setDirection(Direction newDir) {
         this.dir = newDir;
+        robotInfoChanged();
     }
 
     public MapLocation[] getAllRatLocations() {
         // return part location in order based on chirality
-        MapLocation[] locs = new MapLocation[this.type.size * this.type.size];
-        int c = 0;
-
-        ArrayList<Integer> x_values = new ArrayList<>();
-        ArrayList<Integer> y_values = new ArrayList<>();
-
-        for (int i = -(this.type.size - 1) / 2; i <= this.type.size / 2; i++) {
-            x_values.add(i);
-        }
-
-        for (int j = -(this.type.size - 1) / 2; j <= this.type.size / 2; j++) {
-            y_values.add(j);
-        }
-
-        if (chirality == 1){
-            MapSymmetry symmetry = this.gameWorld.getGameMap().getSymmetry();
-            switch (symmetry){
-                case HORIZONTAL:
-                    Collections.reverse(y_values);
-                    break;
-                case VERTICAL:
-                    Collections.reverse(x_values);
-                    break;
-                case ROTATIONAL:
-                    Collections.reverse(x_values);
-                    Collections.reverse(y_values);
-                    break;
-            }
-        }
-
-        for (int i : x_values) {
-            for (int j : y_values) {
-                locs[c] = new MapLocation(this.location.x + i, this.location.y - j);
-                c += 1;
-            }
-        }
-        return locs;
+        return Footprint.square(this.type, this.chirality, this.gameWorld.getGameMap().getSymmetry())
+                .locationsAt(this.location);
     }
 
     public MapLocation[] getAllPartLocations() {
-        if (this.type.isCatType())
-            return getAllCatLocationsByChirality();
-        else
-            return this.getAllRatLocations();
+        return this.footprint.locationsAt(this.location);
+    }
+
+    /**
+     * @return the squares this robot covers, relative to its location and
+     *         in getAllPartLocations order
+     */
+    Footprint getFootprint() {
+        return footprint;
     }
 
     public MapLocation getDiedLocation() {
@@ -252,6 +246,7 @@ public class InternalRobot implements Comparable<InternalRobot> {
             this.cheeseAmount = 0;
             this.gameWorld.getTeamInfo().addCheese(getTeam(), amount);
         }
+        robotInfoChanged();
     }
 
     public long getControlBits() {
@@ -306,17 +301,7 @@ public class InternalRobot implements Comparable<InternalRobot> {
         // We use the ID of the center of a big robot for sensing related methods
         // so that IDs are consistent regardless of which part of the robot is sensed
 
-        if (cachedRobotInfo != null
-                && cachedRobotInfo.ID == ID
-                && cachedRobotInfo.team == team
-                && cachedRobotInfo.type == type
-                && cachedRobotInfo.health == health
-                && cachedRobotInfo.cheeseAmount == cheeseAmount
-                && cachedRobotInfo.chirality == chirality
-                && cachedRobotInfo.direction == dir
-                && ((cachedRobotInfo.carryingRobot == null && robotBeingCarried == null)
-                        || (robotBeingCarried != null && cachedRobotInfo.carryingRobot == robotBeingCarried.getRobotInfo()))
-                && cachedRobotInfo.location.equals(location)) {
+        if (isRobotInfoCurrent()) {
             return cachedRobotInfo;
         }
 
@@ -325,6 +310,32 @@ public class InternalRobot implements Comparable<InternalRobot> {
         return this.cachedRobotInfo;
     }
 
+    /**
+     * Whether cachedRobotInfo still describes this robot. Its own fields are
+     * current unless robotInfoChanged threw it away; what it says about the
+     * robot being carried is current if that robot's info is, and is the
+     * one it points to. Carried robots can't carry, so this looks at most
+     * one robot further.
+     */
+    private boolean isRobotInfoCurrent() {
+        if (cachedRobotInfo == null) {
+            return false;
+        }
+        if (robotBeingCarried == null) {
+            return cachedRobotInfo.carryingRobot == null;
+        }
+        return robotBeingCarried.isRobotInfoCurrent()
+                && cachedRobotInfo.carryingRobot == robotBeingCarried.cachedRobotInfo;
+    }
+
+    /**
+     * Call after changing anything a RobotInfo says about this robot, apart
+     * from which robot it's carrying.
+     */
+    private void robotInfoChanged() {
+        this.cachedRobotInfo = null;
+    }
+
     // **********************************
     // ****** CHECK METHODS *************
     // **********************************
@@ -428,17 +439,18 @@ public class InternalRobot implements Comparable<InternalRobot> {
      * @param dy # amount to translate in y direction
      */
     public void translateLocation(int dx, int dy) {
-        MapLocation[] beforeLocs = this.getAllPartLocations();
-        for (MapLocation partLoc : beforeLocs) {
-            this.gameWorld.removeRobot(partLoc);
+        Footprint parts = this.footprint;
+        for (int i = 0; i < parts.size(); i++) {
+            this.gameWorld.removeRobot(this.location.x + parts.dx(i), this.location.y + parts.dy(i));
         }
 
-        for (MapLocation partLoc : beforeLocs) {
-            this.gameWorld.addRobot(partLoc.translate(dx, dy), this);
+        for (int i = 0; i < parts.size(); i++) {
+            this.gameWorld.addRobot(this.location.x + parts.dx(i) + dx, this.location.y + parts.dy(i) + dy, this);
         }
 
         // this.gameWorld.getObjectInfo().moveRobot(this, loc);
         this.location = this.location.translate(dx, dy);
+        robotInfoChanged();
 
         if (!this.type.isCatType() && this.isCarryingRobot()){
             this.robotBeingCarried.setInternalLocationOnly(this.location);
@@ -447,11 +459,14 @@ public class InternalRobot implements Comparable<InternalRobot> {
 
     public void setInternalLocationOnly(MapLocation loc) {
         this.location = loc;
+        robotInfoChanged();
     }
 
     public void becomeRatKing(int health) {
         this.type = UnitType.RAT_KING;
+        this.footprint = Footprint.of(this.type, this.chirality, this.gameWorld.getGameMap().getSymmetry());
         this.health = health;
+        robotInfoChanged();
     }
 
     /**
@@ -534,6 +549,7 @@ public class InternalRobot implements Comparable<InternalRobot> {
             this.gameWorld.getTeamInfo().addDamageSuffered(this.team, -healthAmount);
 
         this.health = Math.min(this.health, this.type.health);
+        robotInfoChanged();
         if (this.type == UnitType.CAT) {
             this.gameWorld.updateCatHealth(this.ID, health);
         }
@@ -859,8 +875,10 @@ public class InternalRobot implements Comparable<InternalRobot> {
             return null;
         }
 
-        for (MapLocation cornerToTest : getAllPartLocations()){
+        Footprint parts = this.footprint;
+        for (int corner = 0; corner < parts.size(); corner++){
             // attempt pounce that matches cornerToTest to target location
+            MapLocation cornerToTest = new MapLocation(this.location.x + parts.dx(corner), this.location.y + parts.dy(corner));
             Direction directionFromCornerToTestToCenter = cornerToTest.directionTo(this.getLocation());
 
             // dx and dy from bottom left corner
@@ -870,8 +888,8 @@ public class InternalRobot implements Comparable<InternalRobot> {
             boolean validLandingTiles = true;
 
             // check passability of all landing tiles (and no cat)
-            for (MapLocation tile : this.getAllPartLocations()) {
-                MapLocation landingTile = tile.translate(dx, dy);
+            for (int i = 0; i < parts.size(); i++) {
+                MapLocation landingTile = new MapLocation(this.location.x + parts.dx(i) + dx, this.location.y + parts.dy(i) + dy);
                 if (!this.gameWorld.getGameMap().onTheMap(landingTile)) {
                     // will pounce to a tile off map
                     validLandingTiles = false;
@@ -901,12 +919,12 @@ public class InternalRobot implements Comparable<InternalRobot> {
         int dx = delta[0];
         int dy = delta[1];
 
-        MapLocation[] oldLocs = this.getAllPartLocations();
+        Footprint parts = this.footprint;
+        MapLocation oldLoc = this.location;
 
-        for (MapLocation partLoc : oldLocs) {
+        for (int i = 0; i < parts.size(); i++) {
             // shift location by dx, dy
-            MapLocation translatedLoc = partLoc.translate(dx, dy);
-            InternalRobot crushedRobot = this.gameWorld.getRobot(translatedLoc);
+            InternalRobot crushedRobot = this.gameWorld.getRobot(oldLoc.x + parts.dx(i) + dx, oldLoc.y + parts.dy(i) + dy);
 
             if (crushedRobot != null && (crushedRobot.getID() != this.ID)) {
                 // destroy robot
@@ -917,10 +935,9 @@ public class InternalRobot implements Comparable<InternalRobot> {
         // actually translate the cat
         this.translateLocation(dx, dy);
 
-        MapLocation[] newLocs = this.getAllPartLocations();
-
-        for (MapLocation partLoc : newLocs) {
-            this.controller.processTrapsAtLocation(partLoc);
+        MapLocation newLoc = this.location;
+        for (int i = 0; i < parts.size(); i++) {
+            this.controller.processTrapsAt(newLoc.x + parts.dx(i), newLoc.y + parts.dy(i));
         }
 
         // incur double the movement cooldown
@@ -957,46 +974,7 @@ public class InternalRobot implements Comparable<InternalRobot> {
     
     public MapLocation[] getAllCatLocationsByChirality(){
         // returns part locations in proper order based on cat chirality
-        MapLocation startingCorner = getCatCornerByChirality();
-        Direction rotateDir;
-
-        MapLocation[] allPartLocations = new MapLocation[4];
-        // Check each part of the robot to see if we can pounce so that the part lands
-        // on the target location
-        MapSymmetry symmetry = this.gameWorld.getGameMap().getSymmetry();
-
-        if (chirality == 0) { // check in clockwise order
-            rotateDir = Direction.NORTH;
-        } else {
-            switch (symmetry) {
-                case VERTICAL:
-                    rotateDir = Direction.NORTH;
-                    break;
-                case HORIZONTAL:
-                    rotateDir = Direction.SOUTH;
-                    break;
-                case ROTATIONAL:
-                    rotateDir = Direction.WEST;
-                    break;
-                default:
-                    throw new RuntimeException("Invalid symmetry");
-            }
-        }
-
-        for (int i = 0; i < 4; i += 1){
-            allPartLocations[i] = startingCorner;
-
-            startingCorner = startingCorner.add(rotateDir);
-            if (chirality == 0) {
-                rotateDir = rotateDir.rotateRight();
-                rotateDir = rotateDir.rotateRight();
-            } else {
-                rotateDir = rotateDir.rotateLeft();
-                rotateDir = rotateDir.rotateLeft();
-            }
-        }
-
-        return allPartLocations;
+        return Footprint.cat(this.chirality, this.gameWorld.getGameMap().getSymmetry()).locationsAt(this.location);
     }
 
     // *********************************
@@ -1007,27 +985,96 @@ public class InternalRobot implements Comparable<InternalRobot> {
         return sentMessagesCount;
     }
 
+    /**
+     * @return every squeak this robot has heard and not yet forgotten,
+     *         oldest first
+     */
     public Message[] getMessages() {
-        return incomingMessages.toArray(new Message[incomingMessages.size()]);
+        return copyMessages(0, inboxSize);
+    }
+
+    /**
+     * Messages arrive in the order they're sent, so the ones from a round
+     * are all next to each other in the inbox.
+     *
+     * @param round the round to get squeaks from, or -1 for every round
+     * @return the squeaks this robot has heard from that round, oldest first
+     */
+    public Message[] getMessages(int round) {
+        if (round == -1) {
+            return getMessages();
+        }
+        int from = 0;
+        while (from < inboxSize && messageAt(from).getRound() < round) {
+            from++;
+        }
+        int to = from;
+        while (to < inboxSize && messageAt(to).getRound() == round) {
+            to++;
+        }
+        return copyMessages(from, to);
+    }
+
+    private Message messageAt(int i) {
+        return inbox[(inboxHead + i) & (inbox.length - 1)];
+    }
+
+    private Message[] copyMessages(int from, int to) {
+        if (from == to) {
+            return NO_MESSAGES;
+        }
+        Message[] messages = new Message[to - from];
+        int start = (inboxHead + from) & (inbox.length - 1);
+        int firstPart = Math.min(messages.length, inbox.length - start);
+        System.arraycopy(inbox, start, messages, 0, firstPart);
+        System.arraycopy(inbox, 0, messages, firstPart, messages.length - firstPart);
+        return messages;
     }
 
     public Message getFrontMessage() {
-        if (incomingMessages.isEmpty())
+        if (inboxSize == 0)
             return null;
-        return incomingMessages.peek();
+        return inbox[inboxHead];
     }
 
     public void popMessage() {
-        if (!incomingMessages.isEmpty())
-            incomingMessages.remove();
+        if (inboxSize > 0) {
+            inbox[inboxHead] = null;
+            inboxHead = (inboxHead + 1) & (inbox.length - 1);
+            inboxSize--;
+        }
     }
 
     public void addMessage(Message message) {
-        incomingMessages.add(message);
+        if (inboxSize == inbox.length) {
+            // unroll the ring into one twice the size
+            Message[] grown = new Message[inbox.length * 2];
+            System.arraycopy(inbox, inboxHead, grown, 0, inbox.length - inboxHead);
+            System.arraycopy(inbox, 0, grown, inbox.length - inboxHead, inboxHead);
+            inbox = grown;
+            inboxHead = 0;
+        }
+        inbox[(inboxHead + inboxSize) & (inbox.length - 1)] = message;
+        inboxSize++;
     }
 
     public void sendMessage(InternalRobot robot, Message message) {
-        robot.addMessage(message.copy());
+        robot.addMessage(message);
+    }
+
+    /**
+     * Note that this robot is hearing a squeak, so a squeak covering
+     * several of its squares is only delivered once.
+     *
+     * @param squeak a number unique to the squeak
+     * @return whether this is the first time this robot hears it
+     */
+    boolean hearSqueak(int squeak) {
+        if (this.lastSqueakHeard == squeak) {
+            return false;
+        }
+        this.lastSqueakHeard = squeak;
+        return true;
     }
 
     public void incrementMessageCount() {
@@ -1035,8 +1082,8 @@ public class InternalRobot implements Comparable<InternalRobot> {
     }
 
     private void cleanMessages() {
-        while (!incomingMessages.isEmpty() && this.getFrontMessage().getRound() <= this.gameWorld.getCurrentRound()
-                - GameConstants.MESSAGE_ROUND_DURATION) {
+        int oldestKept = this.gameWorld.getCurrentRound() - GameConstants.MESSAGE_ROUND_DURATION + 1;
+        while (inboxSize > 0 && inbox[inboxHead].getRound() < oldestKept) {
             this.popMessage();
         }
     }
@@ -1114,7 +1161,7 @@ public class InternalRobot implements Comparable<InternalRobot> {
         }
 
         this.currentBytecodeLimit = this.getType().bytecodeLimit;
-        this.gameWorld.getMatchMaker().startTurn(this.ID);
+        this.gameWorld.getMatchMaker().startTurn(this.ID, this.team);
     }
 
     public void processEndOfTurn() {
@@ -1171,9 +1218,9 @@ public class InternalRobot implements Comparable<InternalRobot> {
                         this.catTargetLoc = catWaypoints[currentWaypoint];
                     }
 
-                    this.dir = this.gameWorld.getBfsDir(getCatCornerByChirality(), this.catTargetLoc, this.chirality);
+                    setDirection(this.gameWorld.getBfsDir(getCatCornerByChirality(), this.catTargetLoc, this.chirality));
                     if (this.dir == null){
-                        this.dir = this.location.directionTo(this.catTargetLoc);
+                        setDirection(this.location.directionTo(this.catTargetLoc));
                     }
 
 
@@ -1184,8 +1231,9 @@ public class InternalRobot implements Comparable<InternalRobot> {
                     }
                     } else {
                         boolean isStuck = true;
-                        for (MapLocation partLoc : this.getAllPartLocations()) {
-                            MapLocation nextLoc = partLoc.add(this.dir);
+                        for (int i = 0; i < this.footprint.size(); i++) {
+                            MapLocation nextLoc = new MapLocation(this.location.x + this.footprint.dx(i) + this.dir.dx,
+                                    this.location.y + this.footprint.dy(i) + this.dir.dy);
 
                             if (this.controller.canRemoveDirt(nextLoc)) {
 
@@ -1220,9 +1268,9 @@ public class InternalRobot implements Comparable<InternalRobot> {
 
                 case CHASE:
 
-                    this.dir = this.gameWorld.getBfsDir(getCatCornerByChirality(), this.catTargetLoc, this.chirality);
+                    setDirection(this.gameWorld.getBfsDir(getCatCornerByChirality(), this.catTargetLoc, this.chirality));
                     if (this.dir == null){
-                        this.dir = this.location.directionTo(this.catTargetLoc);
+                        setDirection(this.location.directionTo(this.catTargetLoc));
                     }
 
                     if (getCatCornerByChirality().equals(this.catTargetLoc)) {
@@ -1240,8 +1288,9 @@ public class InternalRobot implements Comparable<InternalRobot> {
                         } catch (GameActionException e) {}
                     } else {
                         boolean isStuck = true;
-                        for (MapLocation partLoc : this.getAllPartLocations()) {
-                            MapLocation nextLoc = partLoc.add(this.dir);
+                        for (int i = 0; i < this.footprint.size(); i++) {
+                            MapLocation nextLoc = new MapLocation(this.location.x + this.footprint.dx(i) + this.dir.dx,
+                                    this.location.y + this.footprint.dy(i) + this.dir.dy);
 
                             if (this.controller.canRemoveDirt(nextLoc)) {
                                 try {
@@ -1283,7 +1332,7 @@ public class InternalRobot implements Comparable<InternalRobot> {
                         break;
                     }
 
-                    this.dir = this.dir.rotateLeft().rotateLeft();
+                    setDirection(this.dir.rotateLeft().rotateLeft());
 
                     nearbyRobots = this.controller.senseNearbyRobots();
 
@@ -1336,9 +1385,9 @@ public class InternalRobot implements Comparable<InternalRobot> {
 
                     }
 
-                    this.dir = this.gameWorld.getBfsDir(getCatCornerByChirality(), this.catTargetLoc, this.chirality);
+                    setDirection(this.gameWorld.getBfsDir(getCatCornerByChirality(), this.catTargetLoc, this.chirality));
                     if (this.dir == null){
-                        this.dir = this.location.directionTo(this.catTargetLoc);
+                        setDirection(this.location.directionTo(this.catTargetLoc));
                     }
 
                     // pounce towards target if possible
@@ -1352,8 +1401,9 @@ public class InternalRobot implements Comparable<InternalRobot> {
                         }
                     } else {
                         boolean isStuck = true;
-                        for (MapLocation partLoc : this.getAllPartLocations()) {
-                            MapLocation nextLoc = partLoc.add(this.dir);
+                        for (int i = 0; i < this.footprint.size(); i++) {
+                            MapLocation nextLoc = new MapLocation(this.location.x + this.footprint.dx(i) + this.dir.dx,
+                                    this.location.y + this.footprint.dy(i) + this.dir.dy);
 
                             if (this.controller.canRemoveDirt(nextLoc)) {
                                 try {
@@ -1422,6 +1472,108 @@ public class InternalRobot implements Comparable<InternalRobot> {
         this.gameWorld.destroyRobot(getID(), true, false);
     }
 
+    // *********************************
+    // ****** SNAPSHOT METHODS *********
+    // *********************************
+
+    /**
+     * Write everything about this robot except who it's carrying or
+     * carried by, which the world writes once every robot is known.
+     */
+    void writeSnapshot(DataOutput out) throws IOException {
+        out.writeInt(ID);
+        WorldSnapshot.writeEnum(out, team);
+        WorldSnapshot.writeEnum(out, type);
+        WorldSnapshot.writeLocation(out, location);
+        WorldSnapshot.writeEnum(out, dir);
+        out.writeInt(chirality);
+
+        WorldSnapshot.writeLocation(out, diedLocation);
+        out.writeInt(health);
+        out.writeInt(cheeseAmount);
+        out.writeLong(controlBits);
+        out.writeInt(currentBytecodeLimit);
+        out.writeInt(bytecodesUsed);
+
+        out.writeInt(roundsAlive);
+        out.writeInt(actionCooldownTurns);
+        out.writeInt(movementCooldownTurns);
+        out.writeInt(turningCooldownTurns);
+
+        WorldSnapshot.writeEnum(out, thrownDir);
+        out.writeInt(remainingThrowDuration);
+        out.writeInt(remainingCarriedDuration);
+
+        out.writeInt(inboxSize);
+        for (int i = 0; i < inboxSize; i++) {
+            WorldSnapshot.writeMessage(out, messageAt(i));
+        }
+        out.writeInt(sentMessagesCount);
+        out.writeInt(sleepTimeRemaining);
+        out.writeUTF(indicatorString);
+
+        // the waypoints themselves come from the map
+        out.writeInt(currentWaypoint);
+        WorldSnapshot.writeEnum(out, catState);
+        WorldSnapshot.writeLocation(out, catTargetLoc);
+        out.writeInt(catTurns);
+        WorldSnapshot.writeRobotInfo(out, catTarget);
+    }
+
+    /**
+     * Make a robot from one written by writeSnapshot. It isn't on the map
+     * or registered with the world yet.
+     */
+    static InternalRobot readSnapshot(GameWorld gw, DataInput in) throws IOException {
+        int id = in.readInt();
+        Team team = WorldSnapshot.readEnum(in, Team.values());
+        UnitType type = WorldSnapshot.readEnum(in, UnitType.values());
+        MapLocation location = WorldSnapshot.readLocation(in);
+        Direction dir = WorldSnapshot.readEnum(in, Direction.values());
+        int chirality = in.readInt();
+        InternalRobot robot = new InternalRobot(gw, id, team, type, location, dir, chirality);
+
+        robot.diedLocation = WorldSnapshot.readLocation(in);
+        robot.health = in.readInt();
+        robot.cheeseAmount = in.readInt();
+        robot.controlBits = in.readLong();
+        robot.currentBytecodeLimit = in.readInt();
+        robot.bytecodesUsed = in.readInt();
+
+        robot.roundsAlive = in.readInt();
+        robot.actionCooldownTurns = in.readInt();
+        robot.movementCooldownTurns = in.readInt();
+        robot.turningCooldownTurns = in.readInt();
+
+        robot.thrownDir = WorldSnapshot.readEnum(in, Direction.values());
+        robot.remainingThrowDuration = in.readInt();
+        robot.remainingCarriedDuration = in.readInt();
+
+        int messages = in.readInt();
+        for (int i = 0; i < messages; i++) {
+            robot.addMessage(WorldSnapshot.readMessage(in));
+        }
+        robot.sentMessagesCount = in.readInt();
+        robot.sleepTimeRemaining = in.readInt();
+        robot.indicatorString = in.readUTF();
+
+        robot.currentWaypoint = in.readInt();
+        robot.catState = WorldSnapshot.readEnum(in, CatStateType.values());
+        robot.catTargetLoc = WorldSnapshot.readLocation(in);
+        robot.catTurns = in.readInt();
+        robot.catTarget = WorldSnapshot.readRobotInfo(in);
+        return robot;
+    }
+
+    /**
+     * Put back the robots this one was carrying and carried by when a
+     * snapshot was taken; either may be null.
+     */
+    void restoreCarrying(InternalRobot carrying, InternalRobot carriedBy) {
+        this.robotBeingCarried = carrying;
+        this.grabbedByRobot = carriedBy;
+    }
+
     // *****************************************
     // ****** MISC. METHODS ********************
     // *****************************************
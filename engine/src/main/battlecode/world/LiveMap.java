@@ -1,6 +1,7 @@
 package battlecode.world;
 
 import battlecode.common.*;
+import battlecode.util.BitBoard;
 import battlecode.util.FlatHelpers;
 
 import java.io.IOException;
@@ -39,22 +40,22 @@ public class LiveMap {
     /**
      * Whether each square is a wall.
      */
-    private boolean[] wallArray;
+    private volatile boolean[] wallArray;
 
     /**
      * Whether each square is dirt
      */
-    private boolean[] dirtArray;
+    private volatile boolean[] dirtArray;
 
     /**
      * Whether each square is a cheese mine.
      */
-    private boolean[] cheeseMineArray;
+    private volatile boolean[] cheeseMineArray;
 
     /**
      * Amount of cheese on each square.
      */
-    private int[] cheeseArray;
+    private volatile int[] cheeseArray;
 
     /**
      * The list of cat ids.
@@ -68,8 +69,20 @@ public class LiveMap {
 
     /**
      * The map of waypoints for the cats accessed by ID. Waypoints locations expressed as map indices.
+     * Set last, once the lists above are filled in.
      */
-    private HashMap<Integer, int[]> allCatWaypoints;
+    private volatile HashMap<Integer, int[]> allCatWaypoints;
+
+    /**
+     * The serialized map the layers above are read from when first needed,
+     * or null if they were all given up front.
+     */
+    private final battlecode.schema.GameMap raw;
+
+    /**
+     * Whether assertIsValid has passed.
+     */
+    private volatile boolean valid;
 
     /**
      * The random seed contained in the map file.
@@ -108,6 +121,7 @@ public class LiveMap {
         this.mapName = mapName;
         this.symmetry = MapSymmetry.ROTATIONAL;
         this.initialBodies = Arrays.copyOf(initialBodies, initialBodies.length);
+        this.raw = null;
         int numSquares = width * height;
         this.dirtArray = new boolean[numSquares];
         this.wallArray = new boolean[numSquares];
@@ -143,24 +157,44 @@ public class LiveMap {
         this.mapName = mapName;
         this.symmetry = symmetry;
         this.initialBodies = Arrays.copyOf(initialBodies, initialBodies.length);
+        this.raw = null;
 
         this.wallArray = Arrays.copyOf(wallArray, wallArray.length);
         this.dirtArray = Arrays.copyOf(dirtArray, dirtArray.length);
         this.cheeseMineArray = Arrays.copyOf(cheeseMineArray, cheeseMineArray.length);
         this.cheeseArray = Arrays.copyOf(cheeseArray, cheeseArray.length);
 
-        this.catWayPoints = new ArrayList<int[]>();
-        this.catWayPointIDs = new ArrayList<Integer>();
-        this.allCatWaypoints = new HashMap<Integer, int[]>();
-        
-        int numCats = catIDs.size();
-        for (int i = 0; i < numCats; i++) {
-            int catID = catIDs.get(i);
-            int[] catWaypointList = Arrays.copyOf(catWaypoints.get(i), catWaypoints.get(i).length);
-            this.catWayPoints.add(catWaypointList);
-            this.catWayPointIDs.add(catID);
-            this.allCatWaypoints.put(catID, catWaypointList);
-        }
+        setCatWaypoints(catIDs, catWaypoints);
+
+        // invariant: bodies is sorted by id
+        Arrays.sort(this.initialBodies, (a, b) -> Integer.compare(a.getID(), b.getID()));
+    }
+
+    /**
+     * Creates a map backed by a serialized map, whose layers and cat
+     * waypoints are only read out of it the first time they're asked for.
+     * The serialized map must not change while this map is in use.
+     *
+     * @param raw the serialized map
+     */
+    LiveMap(battlecode.schema.GameMap raw,
+            int width,
+            int height,
+            MapLocation origin,
+            int seed,
+            int rounds,
+            String mapName,
+            MapSymmetry symmetry,
+            RobotInfo[] initialBodies) {
+        this.width = width;
+        this.height = height;
+        this.origin = origin;
+        this.seed = seed;
+        this.rounds = rounds;
+        this.mapName = mapName;
+        this.symmetry = symmetry;
+        this.initialBodies = Arrays.copyOf(initialBodies, initialBodies.length);
+        this.raw = raw;
 
         // invariant: bodies is sorted by id
         Arrays.sort(this.initialBodies, (a, b) -> Integer.compare(a.getID(), b.getID()));
@@ -173,11 +207,27 @@ public class LiveMap {
      */
     public LiveMap(LiveMap gm) {
         this(gm.width, gm.height, gm.origin, gm.seed, gm.rounds, gm.mapName, gm.symmetry,
-                gm.wallArray, gm.dirtArray, gm.cheeseMineArray, gm.cheeseArray, gm.catWayPointIDs,
-                gm.catWayPoints,
+                gm.getWallArray(), gm.getDirtArray(), gm.getCheeseMineArray(), gm.getCheeseArray(),
+                gm.getCatWaypointIDs(), gm.getCatWaypoints(),
                 gm.initialBodies);
     }
 
+    private void setCatWaypoints(ArrayList<Integer> catIDs, ArrayList<int[]> catWaypoints) {
+        HashMap<Integer, int[]> byID = new HashMap<Integer, int[]>();
+        this.catWayPoints = new ArrayList<int[]>();
+        this.catWayPointIDs = new ArrayList<Integer>();
+
+        int numCats = catIDs.size();
+        for (int i = 0; i < numCats; i++) {
+            int catID = catIDs.get(i);
+            int[] catWaypointList = Arrays.copyOf(catWaypoints.get(i), catWaypoints.get(i).length);
+            this.catWayPoints.add(catWaypointList);
+            this.catWayPointIDs.add(catID);
+            byID.put(catID, catWaypointList);
+        }
+        this.allCatWaypoints = byID;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (!(o instanceof LiveMap))
@@ -204,11 +254,11 @@ public class LiveMap {
             return false;
         if (!this.origin.equals(other.origin))
             return false;
-        if (!Arrays.equals(this.wallArray, other.wallArray))
+        if (!Arrays.equals(this.getWallArray(), other.getWallArray()))
             return false;
-        if (!Arrays.equals(this.cheeseMineArray, other.cheeseMineArray))
+        if (!Arrays.equals(this.getCheeseMineArray(), other.getCheeseMineArray()))
             return false;
-        if (!Arrays.equals(this.cheeseArray, other.cheeseArray))
+        if (!Arrays.equals(this.getCheeseArray(), other.getCheeseArray()))
             return false;
         if (!Arrays.equals(this.initialBodies, other.initialBodies))
             return false;
@@ -223,9 +273,9 @@ public class LiveMap {
         result = 31 * result + seed;
         result = 31 * result + rounds;
         result = 31 * result + mapName.hashCode();
-        result = 31 * result + Arrays.hashCode(wallArray);
-        result = 31 * result + Arrays.hashCode(cheeseMineArray);
-        result = 31 * result + Arrays.hashCode(cheeseArray);
+        result = 31 * result + Arrays.hashCode(getWallArray());
+        result = 31 * result + Arrays.hashCode(getCheeseMineArray());
+        result = 31 * result + Arrays.hashCode(getCheeseArray());
         result = 31 * result + Arrays.hashCode(initialBodies);
         return result;
     }
@@ -276,7 +326,7 @@ public class LiveMap {
      * @return true if the given coordinates are on the map,
      *         false if they're not
      */
-    private boolean onTheMap(int x, int y) {
+    public boolean onTheMap(int x, int y) {
         return (x >= origin.x && y >= origin.y && x < origin.x + width && y < origin.y + height);
     }
 
@@ -345,7 +395,12 @@ public class LiveMap {
      * @return the wall array of the map
      */
     public boolean[] getWallArray() {
-        return wallArray;
+        boolean[] walls = wallArray;
+        if (walls == null) {
+            // threads that race here each read their own equal copy
+            walls = wallArray = GameMapIO.Serial.readWalls(raw, width * height);
+        }
+        return walls;
     }
 
     /**
@@ -353,21 +408,53 @@ public class LiveMap {
      * @return the dirt array of the map
      */
     public boolean[] getDirtArray() {
-        return dirtArray;
+        boolean[] dirt = dirtArray;
+        if (dirt == null) {
+            dirt = dirtArray = GameMapIO.Serial.readDirt(raw, width * height);
+        }
+        return dirt;
     }
 
     /**
      * @return the cheese mine array of the map
      */
     public boolean[] getCheeseMineArray() {
-        return cheeseMineArray;
+        boolean[] mines = cheeseMineArray;
+        if (mines == null) {
+            mines = cheeseMineArray = GameMapIO.Serial.readCheeseMines(raw, width, width * height);
+        }
+        return mines;
     }
 
     /**
      * @return the cheese array of the map
      */
     public int[] getCheeseArray() {
-        return cheeseArray;
+        int[] cheese = cheeseArray;
+        if (cheese == null) {
+            cheese = cheeseArray = GameMapIO.Serial.readCheese(raw, width * height);
+        }
+        return cheese;
+    }
+
+    /**
+     * @return the cat waypoints by cat id, reading them in if need be
+     */
+    private HashMap<Integer, int[]> catWaypointsByID() {
+        HashMap<Integer, int[]> byID = allCatWaypoints;
+        if (byID == null) {
+            synchronized (this) {
+                byID = allCatWaypoints;
+                if (byID == null) {
+                    ArrayList<Integer> catIDs = new ArrayList<Integer>();
+                    ArrayList<int[]> catWaypoints = new ArrayList<int[]>();
+                    GameMapIO.Serial.readCatWaypoints(raw, width, catIDs, catWaypoints);
+                    setCatWaypoints(catIDs, catWaypoints);
+                    byID = allCatWaypoints;
+                }
+            }
+        }
+        return byID;
     }
 
     /**
@@ -375,14 +462,14 @@ public class LiveMap {
      * @return the number of cats on the map
      */
     public int getNumCats() {
-        return allCatWaypoints.size();
+        return catWaypointsByID().size();
     }
 
     /**
      * @return the waypoints for a given cat id
      */
     public int[] getCatWaypointsByID(int catID) {
-        int[] waypoints = allCatWaypoints.get(catID);
+        int[] waypoints = catWaypointsByID().get(catID);
         
         if (waypoints == null)
             throw new RuntimeException("Cannot find waypoints for cat with ID" + catID);
@@ -394,6 +481,7 @@ public class LiveMap {
      * @return the full list of cat waypoints
      */
     public ArrayList<int[]> getCatWaypoints() {
+        catWaypointsByID();
         return catWayPoints;
     }
 
@@ -401,6 +489,7 @@ public class LiveMap {
      * @return the full list of cat ids
      */
     public ArrayList<Integer> getCatWaypointIDs() {
+        catWaypointsByID();
         return catWayPointIDs;
     }
 
@@ -410,7 +499,17 @@ public class LiveMap {
      * @param loc the MapLocation
      */
     public int locationToIndex(MapLocation loc) {
-        return loc.x - getOrigin().x + (loc.y - getOrigin().y) * getWidth();
+        return locationToIndex(loc.x, loc.y);
+    }
+
+    /**
+     * Helper method that converts a location into an index.
+     * 
+     * @param x the x-coordinate of the location
+     * @param y the y-coordinate of the location
+     */
+    public int locationToIndex(int x, int y) {
+        return x - getOrigin().x + (y - getOrigin().y) * getWidth();
     }
 
     /**
@@ -423,7 +522,15 @@ public class LiveMap {
                 idx / getWidth() + getOrigin().y);
     }
 
+    /**
+     * Check the map against the spec, throwing a RuntimeException describing
+     * the first problem found. Maps are immutable, so a map that passes is
+     * not checked again.
+     */
     public void assertIsValid() throws Exception {
+        if (this.valid) {
+            return;
+        }
         if (this.width > GameConstants.MAP_MAX_WIDTH) {
             throw new RuntimeException("MAP WIDTH EXCEEDS GameConstants.MAP_MAX_WIDTH");
         }
@@ -468,51 +575,144 @@ public class LiveMap {
                     "Expected to have " + GameConstants.NUMBER_INITIAL_RAT_KINGS + " initial team B rat kings!");
         }
 
-        ArrayList<MapLocation> cheeseMineLocs = new ArrayList<>();
-        int numWalls = 0;
+        final int numSquares = this.width * this.height;
+        final boolean[] wallArray = getWallArray();
+        final boolean[] dirtArray = getDirtArray();
+        final boolean[] cheeseMineArray = getCheeseMineArray();
+        final BitBoard walls = new BitBoard(numSquares);
+        final BitBoard mines = new BitBoard(numSquares);
         int numDirt = 0;
-
-        for (int i = 0; i < this.width * this.height; i++) {
-            if (this.wallArray[i] && this.cheeseMineArray[i]) {
-                throw new RuntimeException("Walls can't be on the same square as cheese mines!");
-            }
-            if (this.cheeseMineArray[i]) {
-                cheeseMineLocs.add(indexToLocation(i));
+        for (int i = 0; i < numSquares; i++) {
+            if (wallArray[i]) {
+                walls.set(i);
             }
-            if (this.wallArray[i]) {
-                numWalls += 1;
+            if (cheeseMineArray[i]) {
+                mines.set(i);
             }
-            if (this.dirtArray[i]) {
-                numDirt += 1;
+            if (dirtArray[i]) {
+                numDirt++;
             }
         }
 
-        if (numWalls * 100 >= this.width * this.height * GameConstants.MAX_WALL_PERCENTAGE) {
+        if (walls.intersects(mines)) {
+            throw new RuntimeException("Walls can't be on the same square as cheese mines!");
+        }
+
+        int numWalls = walls.cardinality();
+
+        if (numWalls * 100 >= numSquares * GameConstants.MAX_WALL_PERCENTAGE) {
             throw new RuntimeException("Too much of the area of the map is composed of walls!");
         }
 
-        if (numDirt * 100 >= this.width * this.height * GameConstants.MAX_DIRT_PERCENTAGE) {
+        if (numDirt * 100 >= numSquares * GameConstants.MAX_DIRT_PERCENTAGE) {
             throw new RuntimeException("Too much of the area of the map is composed of dirt!");
         }
 
-        for (int i = 0; i < cheeseMineLocs.size(); i++) {
-            MapLocation curcheeseMine = cheeseMineLocs.get(i);
-            for (int j = i + 1; j < cheeseMineLocs.size(); j++) {
-                MapLocation othercheeseMine = cheeseMineLocs.get(j);
-                if (curcheeseMine.distanceSquaredTo(othercheeseMine) < GameConstants.MIN_CHEESE_MINE_SPACING_SQUARED)
-                    throw new RuntimeException("Cheese mines at location " + curcheeseMine.toString() + " and location "
-                            + othercheeseMine.toString() + " are too close to each other!");
+        assertCheeseMinesSpaced(mines);
+
+        // a wall within distance squared 8 (2^2 + 2^2) of a mine is one
+        // within two squares either way, so grow the mines by two and look for walls
+        final BitBoard nearMines = dilate(mines, 2);
+        nearMines.and(walls);
+        final int wall = nearMines.nextSetBit(0);
+        if (wall >= 0) {
+            // report the first mine near the first such wall, as a plain scan would
+            final MapLocation wallLoc = indexToLocation(wall);
+            for (int i = mines.nextSetBit(0); i >= 0; i = mines.nextSetBit(i + 1)) {
+                MapLocation cheeseMine = indexToLocation(i);
+                if (cheeseMine.distanceSquaredTo(wallLoc) <= 8)
+                    throw new RuntimeException("Wall appears at location " + wallLoc.toString()
+                            + " which is too close to cheese mine " + cheeseMine.toString());
             }
         }
-        for (int i = 0; i < this.width * this.height; i++) {
-            if (this.wallArray[i]) {
-                for (MapLocation cheeseMine : cheeseMineLocs) {
-                    if (cheeseMine.distanceSquaredTo(indexToLocation(i)) <= 8) // 2^2 + 2^2
-                        throw new RuntimeException("Wall appears at location " + indexToLocation(i).toString()
-                                + " which is too close to cheese mine " + cheeseMine.toString());
+
+        this.valid = true;
+    }
+
+    /**
+     * Check that no two cheese mines are closer than
+     * GameConstants.MIN_CHEESE_MINE_SPACING_SQUARED, reporting the same pair
+     * a scan of every pair in order would.
+     *
+     * Mines are hashed into square cells as wide as the spacing, so only
+     * mines in neighboring cells need to be compared. Each cell's mines are
+     * chained through nextInCell, most recently added first.
+     */
+    private void assertCheeseMinesSpaced(BitBoard mines) {
+        final int cell = (int) Math.ceil(Math.sqrt(GameConstants.MIN_CHEESE_MINE_SPACING_SQUARED));
+        final int cellsWide = (this.width + cell - 1) / cell;
+        final int cellsHigh = (this.height + cell - 1) / cell;
+        final int[] firstInCell = new int[cellsWide * cellsHigh];
+        final int[] nextInCell = new int[this.width * this.height];
+        Arrays.fill(firstInCell, -1);
+
+        for (int i = mines.nextSetBit(0); i >= 0; i = mines.nextSetBit(i + 1)) {
+            int c = (i % this.width) / cell + (i / this.width) / cell * cellsWide;
+            nextInCell[i] = firstInCell[c];
+            firstInCell[c] = i;
+        }
+
+        for (int i = mines.nextSetBit(0); i >= 0; i = mines.nextSetBit(i + 1)) {
+            MapLocation curcheeseMine = indexToLocation(i);
+            int cx = (i % this.width) / cell;
+            int cy = (i / this.width) / cell;
+            int closest = -1;
+            for (int y = Math.max(cy - 1, 0); y <= Math.min(cy + 1, cellsHigh - 1); y++) {
+                for (int x = Math.max(cx - 1, 0); x <= Math.min(cx + 1, cellsWide - 1); x++) {
+                    for (int j = firstInCell[x + y * cellsWide]; j >= 0; j = nextInCell[j]) {
+                        if (j > i && (closest < 0 || j < closest)
+                                && curcheeseMine.distanceSquaredTo(indexToLocation(j))
+                                        < GameConstants.MIN_CHEESE_MINE_SPACING_SQUARED) {
+                            closest = j;
+                        }
+                    }
                 }
             }
+            if (closest >= 0) {
+                throw new RuntimeException("Cheese mines at location " + curcheeseMine.toString() + " and location "
+                        + indexToLocation(closest).toString() + " are too close to each other!");
+            }
+        }
+    }
+
+    /**
+     * Grow a board: set every square within r squares horizontally and
+     * vertically of a set square. Rows are moved a word at a time, with
+     * the columns that would wrap onto the neighboring row masked off.
+     *
+     * @param board a board indexed like the map arrays
+     * @param r     how far to grow
+     * @return the grown board
+     */
+    private BitBoard dilate(BitBoard board, int r) {
+        final BitBoard rows = new BitBoard(board);
+        for (int d = 1; d <= r && d < this.width; d++) {
+            BitBoard east = board.shifted(d);
+            east.andNot(columnsBefore(d));
+            rows.or(east);
+
+            BitBoard west = board.shifted(-d);
+            west.and(columnsBefore(this.width - d));
+            rows.or(west);
+        }
+
+        final BitBoard result = new BitBoard(rows);
+        for (int d = 1; d <= r; d++) {
+            result.or(rows.shifted(d * this.width));
+            result.or(rows.shifted(-d * this.width));
         }
+        return result;
+    }
+
+    /**
+     * @return a board with every square whose x is less than n set
+     */
+    private BitBoard columnsBefore(int n) {
+        final BitBoard columns = new BitBoard(this.width * this.height);
+        for (int y = 0; y < this.height; y++) {
+            columns.set(y * this.width, y * this.width + n);
+        }
+        return columns;
     }
 
     private boolean isTeamNumber(int team) {
@@ -531,67 +731,9 @@ public class LiveMap {
         }
     }
 
-    /**
-     * Performs a flood fill algorithm to check if a predicate is true for any
-     * squares
-     * that can be reached from a given location (horizontal, vertical, and diagonal
-     * steps allowed).
-     * 
-     * @param startLoc       the starting location
-     * @param checkForBad    the predicate to check for each reachable square
-     * @param checkForWall   a predicate that checks if the given square has a wall
-     * @param alreadyChecked an array indexed by map location indices which has
-     *                       "true" at
-     *                       every location reachable from a spawn zone that has
-     *                       already been checked
-     *                       (WARNING: this array gets updated by floodFillMap)
-     * @return if checkForBad returns true for any reachable squares
-     */
-    private boolean floodFillMap(MapLocation startLoc, Predicate<MapLocation> checkForBad,
-            Predicate<MapLocation> checkForWall, boolean[] alreadyChecked) {
-        Queue<MapLocation> queue = new LinkedList<MapLocation>(); // stores map locations by index
-
-        if (!onTheMap(startLoc)) {
-            throw new RuntimeException("Cannot call floodFillMap with startLocation off the map.");
-        }
-
-        queue.add(startLoc);
-
-        while (!queue.isEmpty()) {
-            MapLocation loc = queue.remove();
-            int idx = locationToIndex(loc);
-
-            if (alreadyChecked[idx]) {
-                continue;
-            }
-
-            alreadyChecked[idx] = true;
-
-            if (!checkForWall.test(loc)) {
-                if (checkForBad.test(loc)) {
-                    return true;
-                }
-
-                for (Direction dir : Direction.allDirections()) {
-                    if (dir != Direction.CENTER) {
-                        MapLocation newLoc = loc.add(dir);
-
-                        if (onTheMap(newLoc)) {
-                            int newIdx = locationToIndex(newLoc);
-
-                            if (!(alreadyChecked[newIdx] || checkForWall.test(newLoc))) {
-                                queue.add(newLoc);
-                            }
-                        }
-                    }
-                }
-            }
-        }
-        return false;
-    }
-
     @Override
     public String toString() {
+        final boolean[] wallArray = getWallArray();
         if (wallArray.length == 0) {
             return "LiveMap{" +
                     "width=" + width +
@@ -612,9 +754,9 @@ public class LiveMap {
                     ", rounds=" + rounds +
                     ", mapName='" + mapName + '\'' +
                     ", wallArray=" + Arrays.toString(wallArray) +
-                    ", dirtArray=" + Arrays.toString(dirtArray) +
-                    ", cheeseMineArray=" + Arrays.toString(cheeseMineArray) +
-                    ", cheeseArray=" + Arrays.toString(cheeseArray) +
+                    ", dirtArray=" + Arrays.toString(getDirtArray()) +
+                    ", cheeseMineArray=" + Arrays.toString(getCheeseMineArray()) +
+                    ", cheeseArray=" + Arrays.toString(getCheeseArray()) +
                     ", initialBodies=" + Arrays.toString(initialBodies) +
                     "}";
         }
@@ -0,0 +1,98 @@
+package battlecode.world;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps loaded maps, so that a map played over and over is only read and
+ * deserialized once.
+ *
+ * A LiveMap never changes once loaded, so one instance is shared by every
+ * GameWorld that plays it; each world copies the dirt and cheese arrays the
+ * first time it changes them. Maps may also be memory-mapped rather than
+ * read; see GameMapIO.mapMap. A map read from a file is reloaded when the
+ * file's modification time or size changes. Maps bundled with the engine
+ * are kept for good.
+ *
+ * Safe to use from multiple threads.
+ */
+public final class MapCache {
+
+    private static final MapCache DEFAULT = new MapCache();
+
+    /**
+     * @return the cache shared by everything in this JVM
+     */
+    public static MapCache getDefault() {
+        return DEFAULT;
+    }
+
+    private static final class Entry {
+        private final long lastModified;
+        private final long length;
+        private final LiveMap map;
+
+        private Entry(long lastModified, long length, LiveMap map) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.map = map;
+        }
+    }
+
+    private final ConcurrentHashMap<String, Entry> entries = new ConcurrentHashMap<>();
+
+    /**
+     * Like GameMapIO.loadMap, but returns the cached map if the file hasn't
+     * changed since it was last loaded.
+     *
+     * @param mapName name of map.
+     * @param mapDir  directory to load the extra map from; may be null.
+     * @return LiveMap for map; must not be modified
+     * @throws IOException if the map fails to load or can't be found.
+     */
+    public LiveMap loadMap(String mapName, File mapDir, boolean teamsReversed) throws IOException {
+        return loadMap(mapName, mapDir, teamsReversed, false);
+    }
+
+    /**
+     * @param mapName name of map.
+     * @param mapDir  directory to load the extra map from; may be null.
+     * @param mapped  whether to memory-map the map file instead of reading it
+     * @return LiveMap for map; must not be modified
+     * @throws IOException if the map fails to load or can't be found.
+     */
+    public LiveMap loadMap(String mapName, File mapDir, boolean teamsReversed, boolean mapped) throws IOException {
+        final File mapFile = new File(mapDir, mapName + GameMapIO.MAP_EXTENSION);
+        // zero if there's no such file, in which case the bundled map is used
+        final long lastModified = mapFile.lastModified();
+        final long length = mapFile.length();
+        final String key = (lastModified != 0 ? mapFile.getAbsolutePath() : "resource:" + mapName)
+                + (teamsReversed ? ":reversed" : "") + (mapped ? ":mapped" : "");
+
+        final Entry cached = entries.get(key);
+        if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+            return cached.map;
+        }
+
+        final LiveMap map = mapped
+                ? GameMapIO.mapMap(mapName, mapDir, teamsReversed)
+                : GameMapIO.loadMap(mapName, mapDir, teamsReversed);
+        entries.put(key, new Entry(lastModified, length, map));
+        return map;
+    }
+
+    /**
+     * @return the number of maps held
+     */
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * Forget every map.
+     */
+    public void clear() {
+        entries.clear();
+    }
+}
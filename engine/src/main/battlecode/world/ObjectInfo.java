@@ -5,12 +5,9 @@ import battlecode.common.MapLocation;
 import battlecode.common.UnitType;
 import battlecode.common.Team;
 
-import gnu.trove.TIntArrayList;
-import gnu.trove.TIntObjectHashMap;
-// import gnu.trove.TIntObjectProcedure;
-// import gnu.trove.TIntProcedure;
+import battlecode.util.collections.IntIntHashMap;
+import battlecode.util.collections.ObjectProcedure;
 
-import gnu.trove.TObjectProcedure;
 // import com.infomatiq.jsi.SpatialIndex;
 // import com.infomatiq.jsi.rtree.RTree;
 // import com.infomatiq.jsi.Rectangle;
@@ -18,28 +15,52 @@ import gnu.trove.TObjectProcedure;
 
 // import java.util.ArrayList;
 // import java.util.Collection;
-import java.util.EnumMap;
-import java.util.Map;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
 
 /**
  * This class is used to hold information about the robots
  * in the game world.
+ *
+ * Robots live in slots: a robot gets the lowest free slot when it's created
+ * and gives it back when it's destroyed, so the slot arrays stay about as
+ * long as the most robots alive at once, and everything kept per robot is a
+ * plain array indexed by slot.
  */
 public class ObjectInfo {
     // private final int mapWidth;
     // private final int mapHeight;
     // private final MapLocation mapTopLeft;
 
-    private final TIntObjectHashMap<InternalRobot> gameRobotsByID;
+    private static final int NO_SLOT = -1;
 
-    private final TIntObjectHashMap<Integer> catHealthByID;
+    // slot of each robot, by ID
+    private final IntIntHashMap slotByID;
+
+    // the robot in each slot, or null; slots up to slotCount have been used
+    private InternalRobot[] robots;
+    private int slotCount;
+    // where each slot's robot is in execOrder
+    private int[] execPosition;
+    // the health last reported for each slot's cat; see updateCatHealth
+    private int[] catHealth;
+
+    // the slots whose robots are free, smallest first
+    private int[] freeSlots;
+    private int freeSlotCount;
 
     // private SpatialIndex robotIndex;
 
-    private final TIntArrayList dynamicBodyExecOrder;
+    // robot slots in the order they run, with NO_SLOT where a robot was
+    // destroyed; those gaps are closed after each pass over the robots
+    private int[] execOrder;
+    private int execSize;
+    private boolean execOrderHasGaps;
+    private int passesRunning;
 
-    private Map<Team, Map<UnitType, Integer>> robotTypeCount = new EnumMap<>(
-            Team.class);
+    private int[][] robotTypeCount = new int[Team.values().length][UnitType.values().length];
     private int[] robotCount = new int[3];
 
     public ObjectInfo(LiveMap gm) {
@@ -47,42 +68,38 @@ public class ObjectInfo {
         // this.mapHeight = gm.getHeight();
         // this.mapTopLeft = gm.getOrigin();
 
-        this.gameRobotsByID = new TIntObjectHashMap<>();
+        this.slotByID = new IntIntHashMap(NO_SLOT);
 
-        this.catHealthByID = new TIntObjectHashMap<Integer>();
+        this.robots = new InternalRobot[64];
+        this.execPosition = new int[64];
+        this.catHealth = new int[64];
+        this.freeSlots = new int[64];
 
         // robotIndex = new RTree();
 
-        dynamicBodyExecOrder = new TIntArrayList();
+        this.execOrder = new int[64];
 
         // robotIndex.init(null);
-
-        robotTypeCount.put(Team.A, new EnumMap<>(
-            UnitType.class));
-        robotTypeCount.put(Team.B, new EnumMap<>(
-                UnitType.class));
-        robotTypeCount.put(Team.NEUTRAL, new EnumMap<>(
-            UnitType.class));
     }
 
     public int getRobotTypeCount(Team team, UnitType type) {
-        if (robotTypeCount.get(team).containsKey(type)) {
-            return robotTypeCount.get(team).get(type);
-        } else {
-            return 0;
-        }
+        return robotTypeCount[team.ordinal()][type.ordinal()];
     }
 
     /**
-     * Apply an operation for every robot, ordered based on robot ID hash (effectively random).
+     * Apply an operation for every robot, ordered by slot (effectively random).
      * Return false to stop iterating.
      * If you call destroyRobot() on a robot that hasn't been seen yet,
      * that robot will be silently skipped.
      *
      * @param op a lambda (currency) -> void
      */
-    public void eachRobot(TObjectProcedure<InternalRobot> op) {
-        gameRobotsByID.forEachValue(op);
+    public void eachRobot(ObjectProcedure<InternalRobot> op) {
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (robots[slot] != null && !op.execute(robots[slot])) {
+                break;
+            }
+        }
         //eachRobotBySpawnOrder(op);
     }
 
@@ -95,22 +112,38 @@ public class ObjectInfo {
      *
      * @param op a lambda (body) -> void
      */
-    public void eachDynamicBodyByExecOrder(TObjectProcedure<InternalRobot> op) {
-        // We can't modify the ArrayList we are looping over
-        int[] spawnOrderArray = dynamicBodyExecOrder.toNativeArray();
-
-        for (int id : spawnOrderArray) {
-            // Check if body still exists.
-            if (existsRobot(id)) {
-                boolean returnedTrue = op.execute(gameRobotsByID.get(id));
-                if (!returnedTrue)
+    public void eachDynamicBodyByExecOrder(ObjectProcedure<InternalRobot> op) {
+        // Bodies created during the pass go after the end, so aren't visited;
+        // destroyed ones leave a gap, which is skipped
+        final int end = execSize;
+        passesRunning++;
+        try {
+            for (int i = 0; i < end; i++) {
+                int slot = execOrder[i];
+                if (slot != NO_SLOT && !op.execute(robots[slot])) {
                     break;
-            } else {
-                // The body does not exist, so it was deleted in an earlier
-                // iteration and should be skipped.
-                continue;
+                }
+            }
+        } finally {
+            passesRunning--;
+        }
+        if (passesRunning == 0 && execOrderHasGaps) {
+            closeExecOrderGaps();
+        }
+    }
+
+    private void closeExecOrderGaps() {
+        int kept = 0;
+        for (int i = 0; i < execSize; i++) {
+            int slot = execOrder[i];
+            if (slot != NO_SLOT) {
+                execOrder[kept] = slot;
+                execPosition[slot] = kept;
+                kept++;
             }
         }
+        execSize = kept;
+        execOrderHasGaps = false;
     }
 
     /**
@@ -132,11 +165,19 @@ public class ObjectInfo {
     }
 
     public InternalRobot getRobotByID(int id) {
-        return gameRobotsByID.get(id);
+        int slot = slotOf(id);
+        return slot != NO_SLOT ? robots[slot] : null;
+    }
+
+    private int slotOf(int id) {
+        return slotByID.get(id);
     }
 
     public void updateCatHealth(int id, int newHealth){
-        catHealthByID.put(id, newHealth);
+        int slot = slotOf(id);
+        if (slot != NO_SLOT) {
+            catHealth[slot] = newHealth;
+        }
     }
 
     // ****************************
@@ -147,15 +188,51 @@ public class ObjectInfo {
         incrementRobotCount(robot.getTeam());
         incrementRobotTypeCount(robot.getTeam(), robot.getType());
 
-        int id = robot.getID();
-        gameRobotsByID.put(id, robot);
+        int slot = takeSlot();
+        robots[slot] = robot;
+        slotByID.put(robot.getID(), slot);
 
         if(robot.getType() == UnitType.CAT){
-            catHealthByID.put(id, robot.getHealth());
+            catHealth[slot] = robot.getHealth();
+        }
+
+        if (execSize == execOrder.length) {
+            if (execOrderHasGaps && passesRunning == 0) {
+                closeExecOrderGaps();
+            } else {
+                execOrder = Arrays.copyOf(execOrder, execOrder.length * 2);
+            }
         }
+        execPosition[slot] = execSize;
+        execOrder[execSize++] = slot;
+    }
 
-        dynamicBodyExecOrder.add(id);
+    private int takeSlot() {
+        if (freeSlotCount > 0) {
+            // the smallest free slot is last; see giveBackSlot
+            return freeSlots[--freeSlotCount];
+        }
+        if (slotCount == robots.length) {
+            int capacity = robots.length * 2;
+            robots = Arrays.copyOf(robots, capacity);
+            execPosition = Arrays.copyOf(execPosition, capacity);
+            catHealth = Arrays.copyOf(catHealth, capacity);
+            freeSlots = Arrays.copyOf(freeSlots, capacity);
+        }
+        return slotCount++;
+    }
 
+    private void giveBackSlot(int slot) {
+        robots[slot] = null;
+        catHealth[slot] = 0;
+        // keep the free slots sorted largest first, so the smallest is
+        // reused first and the robots stay packed at the front
+        int i = freeSlotCount++;
+        while (i > 0 && freeSlots[i - 1] < slot) {
+            freeSlots[i] = freeSlots[i - 1];
+            i--;
+        }
+        freeSlots[i] = slot;
     }
 
     // ****************************
@@ -163,7 +240,7 @@ public class ObjectInfo {
     // ****************************
 
     public boolean existsRobot(int id) {
-        return gameRobotsByID.containsKey(id);
+        return slotByID.containsKey(id);
     }
 
     // ****************************
@@ -171,31 +248,70 @@ public class ObjectInfo {
     // ****************************
 
     public void destroyRobot(int id) {
-        InternalRobot robot = getRobotByID(id);
-
-        if(robot.getType() == UnitType.CAT){
-            catHealthByID.remove(id);
-        }
+        int slot = slotOf(id);
+        InternalRobot robot = robots[slot];
 
         decrementRobotCount(robot.getTeam());
         decrementRobotTypeCount(robot.getTeam(), robot.getType());
 
         MapLocation loc = robot.getLocation();
-        gameRobotsByID.remove(id);
-        try {
-            this.dynamicBodyExecOrder.remove(dynamicBodyExecOrder.indexOf(id));
-        } catch (ArrayIndexOutOfBoundsException e) {
-            // This should never happen, but if it does, we don't want to crash.
-            // Just log it and move on.
-            System.err.println("Warning: Tried to remove robot ID " + id + " from dynamicBodyExecOrder, but it was not found.");
-            throw new ArrayIndexOutOfBoundsException();
-        }
+        slotByID.remove(id);
+        execOrder[execPosition[slot]] = NO_SLOT;
+        execOrderHasGaps = true;
+        giveBackSlot(slot);
 
         if (loc != null) {
             // robotIndex.delete(fromPoint(loc),id);
         }
     }
     
+    // ****************************
+    // *** SNAPSHOTS **************
+    // ****************************
+
+    /**
+     * Write the counts and cat health, for a WorldSnapshot. The robots
+     * themselves are written by the world, which knows how to restore them.
+     */
+    void writeSnapshot(DataOutput out) throws IOException {
+        WorldSnapshot.writeInts(out, robotCount);
+        for (int[] counts : robotTypeCount) {
+            WorldSnapshot.writeInts(out, counts);
+        }
+
+        // in ID order, so equal worlds write equal bytes
+        int cats = 0;
+        long[] catIDAndHealth = new long[slotCount];
+        for (int slot = 0; slot < slotCount; slot++) {
+            if (robots[slot] != null && robots[slot].getType() == UnitType.CAT) {
+                catIDAndHealth[cats++] = ((long) robots[slot].getID() << 32) | (catHealth[slot] & 0xFFFFFFFFL);
+            }
+        }
+        Arrays.sort(catIDAndHealth, 0, cats);
+        out.writeInt(cats);
+        for (int i = 0; i < cats; i++) {
+            out.writeInt((int) (catIDAndHealth[i] >>> 32));
+            out.writeInt((int) catIDAndHealth[i]);
+        }
+    }
+
+    /**
+     * Replace the counts and cat health with ones written by writeSnapshot,
+     * once the robots have been restored with createRobot.
+     */
+    void readSnapshot(DataInput in) throws IOException {
+        this.robotCount = WorldSnapshot.readInts(in);
+        for (int team = 0; team < robotTypeCount.length; team++) {
+            robotTypeCount[team] = WorldSnapshot.readInts(in);
+        }
+
+        int cats = in.readInt();
+        for (int i = 0; i < cats; i++) {
+            int id = in.readInt();
+            updateCatHealth(id, in.readInt());
+        }
+    }
+
     // ****************************
     // *** PLAYER METHODS *********
     // ****************************
@@ -225,17 +341,11 @@ public class ObjectInfo {
     }
 
     private void incrementRobotTypeCount(Team team, UnitType type) {
-        if (robotTypeCount.get(team).containsKey(type)) {
-            robotTypeCount.get(team).put(type,
-                    robotTypeCount.get(team).get(type) + 1);
-        } else {
-            robotTypeCount.get(team).put(type, 1);
-        }
+        robotTypeCount[team.ordinal()][type.ordinal()]++;
     }
 
     private void decrementRobotTypeCount(Team team, UnitType type) {
-        Integer currentCount = getRobotTypeCount(team, type);
-        robotTypeCount.get(team).put(type,currentCount - 1);
+        robotTypeCount[team.ordinal()][type.ordinal()]--;
     }
 
 }
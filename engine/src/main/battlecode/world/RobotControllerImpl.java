@@ -30,6 +30,13 @@ public final class RobotControllerImpl implements RobotController {
      */
     private final InternalRobot robot;
 
+    /**
+     * What the last senseNearbyRobots and senseNearbyMapInfos calls found;
+     * see SenseCache.
+     */
+    private final SenseCache<InternalRobot> sensedRobots = new SenseCache<>();
+    private final SenseCache<MapInfo> sensedMapInfos = new SenseCache<>();
+
     /**
      * Create a new RobotControllerImpl
      * 
@@ -67,18 +74,52 @@ public final class RobotControllerImpl implements RobotController {
         return this.gameWorld.getObjectInfo().getRobotByID(id);
     }
 
+    /**
+     * The answer to the last sensing call of one kind, kept so that asking
+     * again, as bots tend to from several helpers in one turn, costs only
+     * the size of the answer rather than a look over the whole area.
+     *
+     * An answer is reused while the world's version (see
+     * GameWorld.getVersion), where the robot stands, which way it faces, its
+     * type and the question asked are all unchanged.
+     */
+    private static final class SenseCache<T> {
+        private T[] result;
+        private int version;
+        private MapLocation location;
+        private Direction dir;
+        private UnitType type;
+        private MapLocation center;
+        private int radiusSquared;
+        private Team team;
+
+        T[] get(int version, InternalRobot robot, MapLocation center, int radiusSquared, Team team) {
+            if (result != null && this.version == version && this.location.equals(robot.getLocation())
+                    && this.dir == robot.getDirection() && this.type == robot.getType()
+                    && this.center.equals(center) && this.radiusSquared == radiusSquared && this.team == team) {
+                return result;
+            }
+            return null;
+        }
+
+        void put(T[] result, int version, InternalRobot robot, MapLocation center, int radiusSquared, Team team) {
+            this.result = result;
+            this.version = version;
+            this.location = robot.getLocation();
+            this.dir = robot.getDirection();
+            this.type = robot.getType();
+            this.center = center;
+            this.radiusSquared = radiusSquared;
+            this.team = team;
+        }
+    }
+
     private int locationToInt(MapLocation loc) {
         return this.gameWorld.locationToIndex(loc);
     }
 
     private MapInfo getMapInfo(MapLocation loc) throws GameActionException {
-        GameWorld gw = this.gameWorld;
-        Trap trap = gw.getTrap(loc);
-        TrapType trapType = (trap != null && trap.getTeam() == this.getTeam()) ? trap.getType() : TrapType.NONE;
-        MapInfo currentLocInfo = new MapInfo(loc, gw.isPassable(loc), gw.getWall(loc), gw.getDirt(loc),
-                gw.getCheeseAmount(loc), trapType,
-                gw.hasCheeseMine(loc));
-        return currentLocInfo;
+        return this.gameWorld.getMapInfo(loc, this.getTeam());
     }
 
     // *********************************
@@ -533,8 +574,25 @@ public final class RobotControllerImpl implements RobotController {
         int actualRadiusSquared = radiusSquared == -1 ? this.robot.getVisionRadiusSquared()
                 : Math.min(radiusSquared, this.robot.getVisionRadiusSquared());
 
+        // the robots are cached rather than their RobotInfos, which change
+        // without anything moving (health, cheese, facing)
+        int version = this.gameWorld.getVersion();
+        InternalRobot[] sensed = this.sensedRobots.get(version, this.robot, center, actualRadiusSquared, team);
+        if (sensed == null) {
+            sensed = findNearbyRobots(center, actualRadiusSquared, team);
+            this.sensedRobots.put(sensed, version, this.robot, center, actualRadiusSquared, team);
+        }
+
+        RobotInfo[] infos = new RobotInfo[sensed.length];
+        for (int i = 0; i < sensed.length; i++) {
+            infos[i] = sensed[i].getRobotInfo();
+        }
+        return infos;
+    }
+
+    private InternalRobot[] findNearbyRobots(MapLocation center, int actualRadiusSquared, Team team) {
         InternalRobot[] allSensedRobots = gameWorld.getAllRobotsWithinRadiusSquared(center, actualRadiusSquared, team, this.robot.getChirality());
-        List<RobotInfo> validSensedRobots = new ArrayList<>();
+        List<InternalRobot> validSensedRobots = new ArrayList<>();
         HashSet<Integer> uniqueRobotIds = new HashSet<>();
         for (InternalRobot sensedRobot : allSensedRobots) {
             if (uniqueRobotIds.contains(sensedRobot.getID()))
@@ -544,8 +602,11 @@ public final class RobotControllerImpl implements RobotController {
                 continue;
             // check if can sense in vision cone (restricted radius)
             boolean canSensePartOfRobot = false;
-            for (MapLocation robotpart : sensedRobot.getAllPartLocations()){
-                canSensePartOfRobot = canSensePartOfRobot || (canSenseLocation(robotpart) && center.isWithinDistanceSquared(robotpart, actualRadiusSquared));
+            Footprint parts = sensedRobot.getFootprint();
+            MapLocation sensedLoc = sensedRobot.getLocation();
+            for (int i = 0; i < parts.size() && !canSensePartOfRobot; i++){
+                MapLocation robotpart = new MapLocation(sensedLoc.x + parts.dx(i), sensedLoc.y + parts.dy(i));
+                canSensePartOfRobot = canSenseLocation(robotpart) && center.isWithinDistanceSquared(robotpart, actualRadiusSquared);
             }
 
             if (!canSensePartOfRobot)
@@ -554,10 +615,10 @@ public final class RobotControllerImpl implements RobotController {
             // check if right team
             if (team != null && sensedRobot.getTeam() != team)
                 continue;
-            validSensedRobots.add(sensedRobot.getRobotInfo());
+            validSensedRobots.add(sensedRobot);
             uniqueRobotIds.add(sensedRobot.getID());
         }
-        return validSensedRobots.toArray(new RobotInfo[validSensedRobots.size()]);
+        return validSensedRobots.toArray(new InternalRobot[validSensedRobots.size()]);
     }
 
     @Override
@@ -600,6 +661,19 @@ public final class RobotControllerImpl implements RobotController {
         assertRadiusNonNegative(radiusSquared);
         int actualRadiusSquared = radiusSquared == -1 ? this.getType().visionConeRadiusSquared
                 : Math.min(radiusSquared, this.getType().visionConeRadiusSquared);
+
+        // MapInfos never change, so handing out the same ones again is safe;
+        // only the array needs to be fresh
+        int version = this.gameWorld.getVersion();
+        MapInfo[] sensed = this.sensedMapInfos.get(version, this.robot, center, actualRadiusSquared, null);
+        if (sensed == null) {
+            sensed = findNearbyMapInfos(center, actualRadiusSquared);
+            this.sensedMapInfos.put(sensed, version, this.robot, center, actualRadiusSquared, null);
+        }
+        return sensed.clone();
+    }
+
+    private MapInfo[] findNearbyMapInfos(MapLocation center, int actualRadiusSquared) throws GameActionException {
         MapLocation[] allSensedLocs = gameWorld.getAllLocationsWithinRadiusSquared(center,
                 actualRadiusSquared, this.robot.getChirality()); // expand slightly
                                                                                                       // to allow
@@ -731,32 +805,29 @@ public final class RobotControllerImpl implements RobotController {
 
     private void assertCanMove(Direction d) throws GameActionException {
         assertIsMovementReady();
-        MapLocation[] curLocs = robot.getAllPartLocations();
-
-        MapLocation[] newLocs = new MapLocation[curLocs.length];
-        for (int i = 0; i < newLocs.length; i++) {
-
-            newLocs[i] = curLocs[i].add(d);
-        }
+        Footprint parts = robot.getFootprint();
+        MapLocation curLoc = robot.getLocation();
 
-        for (MapLocation loc : newLocs) {
-            if (!onTheMap(loc)) {
+        for (int i = 0; i < parts.size(); i++) {
+            int x = curLoc.x + parts.dx(i) + d.dx;
+            int y = curLoc.y + parts.dy(i) + d.dy;
+            if (!this.gameWorld.getGameMap().onTheMap(x, y)) {
                 throw new GameActionException(OUT_OF_RANGE,
-                        "Can only move to locations on the map; " + loc + " is not on the map. Currently at location "
-                                + this.getLocation());
+                        "Can only move to locations on the map; " + new MapLocation(x, y)
+                                + " is not on the map. Currently at location " + this.getLocation());
             }
 
-            InternalRobot occupyingRobot = this.gameWorld.getRobot(loc);
+            InternalRobot occupyingRobot = this.gameWorld.getRobot(x, y);
 
             if ((occupyingRobot != null) && (occupyingRobot.getID() != this.robot.getID())
                 && !(occupyingRobot.getType().isBabyRatType() && this.getType().isCatType())) {
                 throw new GameActionException(CANT_MOVE_THERE,
-                    "Cannot move to an occupied location; " + loc + " is occupied by a different robot.");
+                    "Cannot move to an occupied location; " + new MapLocation(x, y) + " is occupied by a different robot.");
             }
 
-            if (!this.gameWorld.isPassable(loc)) {
+            if (!this.gameWorld.isPassable(x, y)) {
                 throw new GameActionException(CANT_MOVE_THERE,
-                        "Cannot move to an impassable location; " + loc + " is impassable.");
+                        "Cannot move to an impassable location; " + new MapLocation(x, y) + " is impassable.");
             }
 
         }
@@ -788,11 +859,18 @@ public final class RobotControllerImpl implements RobotController {
     }
 
     public void processTrapsAtLocation(MapLocation loc) {
+        processTrapsAt(loc.x, loc.y);
+    }
+
+    void processTrapsAt(int x, int y) {
         // process any traps at newly entered location
 
-        // add trap triggers in game world
-        for (int j = this.gameWorld.getTrapTriggers(loc).size() - 1; j >= 0; j--) {
-            Trap trap = this.gameWorld.getTrapTriggers(loc).get(j);
+        // add trap triggers in game world, newest trap first; triggered
+        // traps are removed as we go
+        TrapIndex trapIndex = this.gameWorld.getTrapIndex();
+        int square = this.gameWorld.locationToIndex(x, y);
+        for (int node = trapIndex.lastTrigger(square); node >= 0; node = trapIndex.previousTrigger(node)) {
+            Trap trap = trapIndex.getTrigger(node);
             TrapType type = trap.getType();
             boolean wrongTrapType = ((this.getType().isBabyRatType() || this.getType().isRatKingType())
                     && type == TrapType.CAT_TRAP)
@@ -813,10 +891,10 @@ public final class RobotControllerImpl implements RobotController {
         assertCanMove(d);
 
         // calculate set of next map locations
-        MapLocation[] curLocs = robot.getAllPartLocations();
-        for (int i = 0; i < curLocs.length; i++) {
-            MapLocation newLoc = curLocs[i].add(d);
-            InternalRobot crushedRobot = this.gameWorld.getRobot(newLoc);
+        Footprint parts = robot.getFootprint();
+        MapLocation curLoc = robot.getLocation();
+        for (int i = 0; i < parts.size(); i++) {
+            InternalRobot crushedRobot = this.gameWorld.getRobot(curLoc.x + parts.dx(i) + d.dx, curLoc.y + parts.dy(i) + d.dy);
             if (crushedRobot != null && this.getID() != crushedRobot.getID() && this.getType().isCatType()
                     && crushedRobot.getType().isBabyRatType()) {
                 // kill this rat
@@ -827,9 +905,8 @@ public final class RobotControllerImpl implements RobotController {
 
         this.robot.translateLocation(d.dx, d.dy);
 
-        for (int i = 0; i < curLocs.length; i++) {
-            MapLocation newLoc = curLocs[i].add(d);
-            processTrapsAtLocation(newLoc);
+        for (int i = 0; i < parts.size(); i++) {
+            processTrapsAt(curLoc.x + parts.dx(i) + d.dx, curLoc.y + parts.dy(i) + d.dy);
         }
 
         this.robot.addMovementCooldownTurns(d);
@@ -1181,12 +1258,7 @@ public final class RobotControllerImpl implements RobotController {
 
     @Override
     public Message[] readSqueaks(int roundNum) {
-        ArrayList<Message> messages = new ArrayList<>();
-        for (Message m : this.robot.getMessages()) {
-            if (roundNum == -1 || m.getRound() == roundNum)
-                messages.add(m);
-        }
-        return messages.toArray(new Message[messages.size()]);
+        return this.robot.getMessages(roundNum);
     }
 
     @Override
@@ -3,6 +3,9 @@ package battlecode.world;
 import battlecode.common.GameConstants;
 import battlecode.common.MapLocation;
 import battlecode.common.Team;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.util.*;
 import static battlecode.common.GameActionExceptionType.*;
 
@@ -69,6 +72,16 @@ public class TeamInfo {
         return this.cheeseTransferred[team.ordinal()];
     }
 
+    /**
+     * Get the total amount of cheese collected over the match.
+     * 
+     * @param team the team to query
+     * @return the team's collected cheese
+     */
+    public int getCheeseCollected(Team team) {
+        return this.cheeseCollected[team.ordinal()];
+    }
+
     /**
      * Get the amount of dirt.
      * 
@@ -245,4 +258,31 @@ public class TeamInfo {
         this.oldCheeseCounts[1] = this.globalCheese[1];
     }
 
+    // *********************************
+    // ***** SNAPSHOTS *****************
+    // *********************************
+
+    /**
+     * Write every team's counts, for a WorldSnapshot.
+     */
+    void writeSnapshot(DataOutput out) throws IOException {
+        for (int[] counts : allCounts()) {
+            WorldSnapshot.writeInts(out, counts);
+        }
+    }
+
+    /**
+     * Replace every team's counts with ones written by writeSnapshot.
+     */
+    void readSnapshot(DataInput in) throws IOException {
+        for (int[] counts : allCounts()) {
+            int[] saved = WorldSnapshot.readInts(in);
+            System.arraycopy(saved, 0, counts, 0, counts.length);
+        }
+    }
+
+    private int[][] allCounts() {
+        return new int[][] { globalCheese, dirtCounts, oldCheeseCounts, cheeseCollected, cheeseTransferred,
+                numBabyRats, numRatKings, damageToCats, damageSuffered, points };
+    }
 }
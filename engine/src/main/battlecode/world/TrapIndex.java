@@ -0,0 +1,235 @@
+package battlecode.world;
+
+import battlecode.common.TrapType;
+
+import java.util.Arrays;
+
+/**
+ * The traps on the map, and for every square the traps that can be
+ * triggered from it.
+ *
+ * Each trap covers the squares within its trigger radius, and each square
+ * keeps the traps covering it in a doubly linked list, oldest first. The
+ * links live in flat int arrays rather than in list objects: a trap's k-th
+ * covered square is node (trap square * STRIDE + k), so placing and removing
+ * a trap is a constant amount of work per covered square, and walking a
+ * square's traps allocates nothing.
+ *
+ * Nothing is allocated until the first trap is placed.
+ */
+public final class TrapIndex {
+
+    /**
+     * The most squares any trap covers, and so the number of nodes set
+     * aside for each square a trap could be placed on.
+     */
+    private static final int STRIDE = maxCoverage();
+
+    private final int width;
+    private final int height;
+
+    // the trap placed on each square, if any
+    private Trap[] traps;
+    // how many squares the trap on each square covers
+    private int[] coverCount;
+
+    // the oldest and newest node covering each square, or -1 for none
+    private int[] first;
+    private int[] last;
+
+    // the square each node covers, or -1 once it's removed
+    private int[] nodeSquare;
+    private int[] nodePrev;
+    private int[] nodeNext;
+
+    public TrapIndex(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    private static int maxCoverage() {
+        int max = 1;
+        for (TrapType type : TrapType.values()) {
+            int r = (int) Math.sqrt(type.triggerRadiusSquared);
+            int count = 0;
+            for (int dx = -r; dx <= r; dx++) {
+                for (int dy = -r; dy <= r; dy++) {
+                    if (dx * dx + dy * dy <= type.triggerRadiusSquared) {
+                        count++;
+                    }
+                }
+            }
+            max = Math.max(max, count);
+        }
+        return max;
+    }
+
+    private void allocate() {
+        int squares = width * height;
+        this.traps = new Trap[squares];
+        this.coverCount = new int[squares];
+        this.first = new int[squares];
+        this.last = new int[squares];
+        Arrays.fill(this.first, -1);
+        Arrays.fill(this.last, -1);
+        this.nodeSquare = new int[squares * STRIDE];
+        this.nodePrev = new int[squares * STRIDE];
+        this.nodeNext = new int[squares * STRIDE];
+    }
+
+    /**
+     * @param square the index of a square
+     * @return the trap placed on it, or null
+     */
+    public Trap getTrap(int square) {
+        return traps != null ? traps[square] : null;
+    }
+
+    /**
+     * Place a trap, covering every square within its trigger radius.
+     *
+     * @param trap   the trap
+     * @param square the index of the square it's on; must not have a trap
+     */
+    public void add(Trap trap, int square) {
+        put(trap, square);
+        int r2 = trap.getType().triggerRadiusSquared;
+        int r = (int) Math.sqrt(r2);
+        int x = square % width;
+        int y = square / width;
+        for (int cx = Math.max(x - r, 0); cx <= Math.min(x + r, width - 1); cx++) {
+            for (int cy = Math.max(y - r, 0); cy <= Math.min(y + r, height - 1); cy++) {
+                int dx = cx - x;
+                int dy = cy - y;
+                if (dx * dx + dy * dy <= r2) {
+                    cover(square, cx + cy * width);
+                }
+            }
+        }
+    }
+
+    /**
+     * Place a trap without covering any squares; see cover.
+     */
+    void put(Trap trap, int square) {
+        if (traps == null) {
+            allocate();
+        }
+        traps[square] = trap;
+        coverCount[square] = 0;
+    }
+
+    /**
+     * Make the trap on a square triggerable from another, after every trap
+     * already covering it.
+     *
+     * @param trapSquare the square the trap is on
+     * @param square     the square to cover
+     */
+    void cover(int trapSquare, int square) {
+        int node = trapSquare * STRIDE + coverCount[trapSquare]++;
+        nodeSquare[node] = square;
+        nodeNext[node] = -1;
+        nodePrev[node] = last[square];
+        if (last[square] >= 0) {
+            nodeNext[last[square]] = node;
+        } else {
+            first[square] = node;
+        }
+        last[square] = node;
+    }
+
+    /**
+     * Remove the trap on a square, if there is one.
+     *
+     * @param square the index of the square
+     */
+    public void remove(int square) {
+        if (traps == null || traps[square] == null) {
+            return;
+        }
+        traps[square] = null;
+        int base = square * STRIDE;
+        for (int node = base; node < base + coverCount[square]; node++) {
+            unlink(node);
+        }
+        coverCount[square] = 0;
+    }
+
+    private void unlink(int node) {
+        int square = nodeSquare[node];
+        int prev = nodePrev[node];
+        int next = nodeNext[node];
+        if (prev >= 0) {
+            nodeNext[prev] = next;
+        } else {
+            first[square] = next;
+        }
+        if (next >= 0) {
+            nodePrev[next] = prev;
+        } else {
+            last[square] = prev;
+        }
+        // keep nodePrev, so a walk that's standing on this node can go on
+        nodeSquare[node] = -1;
+    }
+
+    // *********************************
+    // ****** WALKING TRIGGERS *********
+    // *********************************
+
+    // A walk over a square's triggers goes by node, e.g.
+    //
+    //   for (int n = index.lastTrigger(sq); n >= 0; n = index.previousTrigger(n))
+    //       index.getTrigger(n) ...
+    //
+    // Traps may be removed during a walk, including the one the walk is on.
+
+    /**
+     * @param square the index of a square
+     * @return the node of the newest trap that can be triggered from the
+     *         square, or -1 if none can
+     */
+    public int lastTrigger(int square) {
+        return first != null ? last[square] : -1;
+    }
+
+    /**
+     * @param node a node from this square's walk, even if its trap has
+     *             since been removed
+     * @return the node of the next older trap still covering the square,
+     *         or -1 if there are none
+     */
+    public int previousTrigger(int node) {
+        int prev = nodePrev[node];
+        while (prev >= 0 && nodeSquare[prev] < 0) {
+            prev = nodePrev[prev];
+        }
+        return prev;
+    }
+
+    /**
+     * @param square the index of a square
+     * @return the node of the oldest trap that can be triggered from the
+     *         square, or -1 if none can
+     */
+    public int firstTrigger(int square) {
+        return first != null ? first[square] : -1;
+    }
+
+    /**
+     * @param node a node that hasn't been removed
+     * @return the node of the next newer trap covering the square, or -1
+     */
+    public int nextTrigger(int node) {
+        return nodeNext[node];
+    }
+
+    /**
+     * @param node a node from a walk
+     * @return the trap the node belongs to; null once it's been removed
+     */
+    public Trap getTrigger(int node) {
+        return traps[node / STRIDE];
+    }
+}
@@ -0,0 +1,235 @@
+package battlecode.world;
+
+import battlecode.common.Direction;
+import battlecode.common.MapLocation;
+import battlecode.common.Message;
+import battlecode.common.RobotInfo;
+import battlecode.common.Team;
+import battlecode.common.UnitType;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Everything a GameWorld knows about a game between two rounds: the board,
+ * the robots with their cooldowns, carrying, throwing and messages, traps,
+ * cheese mines, the random number generators, the shared arrays and the
+ * cats' state machines.
+ *
+ * The players' own objects aren't part of it, so a restored world is run by
+ * freshly started players, or by none at all (see NullControlProvider),
+ * which is enough to replay the engine's side of a game from any snapshot.
+ *
+ * Made by GameWorld.snapshot, and turned back into a world on the same map
+ * by GameWorld.restore. writeTo and readFrom move them to and from files.
+ */
+public final class WorldSnapshot {
+
+    /**
+     * Changed whenever the layout of the state changes, so old files are
+     * refused instead of misread.
+     */
+    static final int FORMAT_VERSION = 2;
+
+    private static final int MAGIC = 0x42435753; // "BCWS"
+
+    private final String mapName;
+    private final int round;
+    private final byte[] state;
+
+    WorldSnapshot(String mapName, int round, byte[] state) {
+        this.mapName = mapName;
+        this.round = round;
+        this.state = state;
+    }
+
+    /**
+     * @return the name of the map the snapshot was taken on
+     */
+    public String getMapName() {
+        return mapName;
+    }
+
+    /**
+     * @return the last round that had been run when the snapshot was taken
+     */
+    public int getRound() {
+        return round;
+    }
+
+    /**
+     * @return the size of the saved state, in bytes
+     */
+    public int size() {
+        return state.length;
+    }
+
+    DataInputStream openState() {
+        return new DataInputStream(new ByteArrayInputStream(state));
+    }
+
+    /**
+     * Where GameWorld writes its state. Like a ByteArrayOutputStream, but
+     * without the locking on every write, which costs more than the writes
+     * themselves when a snapshot is thousands of ints.
+     */
+    static final class StateBuffer extends OutputStream {
+        private byte[] bytes = new byte[4096];
+        private int size;
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(size + 1);
+            bytes[size++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            ensureCapacity(size + len);
+            System.arraycopy(b, off, bytes, size, len);
+            size += len;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length * 2));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, size);
+        }
+    }
+
+    /**
+     * Write the snapshot out; the stream is flushed, not closed.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(MAGIC);
+        data.writeInt(FORMAT_VERSION);
+        data.writeUTF(mapName);
+        data.writeInt(round);
+        data.writeInt(state.length);
+        data.write(state);
+        data.flush();
+    }
+
+    /**
+     * Read a snapshot written by writeTo.
+     *
+     * @throws IOException if the stream doesn't hold a snapshot this version
+     *                     of the engine can read
+     */
+    public static WorldSnapshot readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a world snapshot");
+        }
+        int version = data.readInt();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Can't read snapshot format " + version + ", only " + FORMAT_VERSION);
+        }
+        String mapName = data.readUTF();
+        int round = data.readInt();
+        byte[] state = new byte[data.readInt()];
+        data.readFully(state);
+        return new WorldSnapshot(mapName, round, state);
+    }
+
+    // *********************************
+    // ****** FIELD HELPERS ************
+    // *********************************
+
+    // Shared by the classes that write their own state. Everything that can
+    // be null is written so it reads back as null.
+
+    static void writeLocation(DataOutput out, MapLocation loc) throws IOException {
+        out.writeBoolean(loc != null);
+        if (loc != null) {
+            out.writeInt(loc.x);
+            out.writeInt(loc.y);
+        }
+    }
+
+    static MapLocation readLocation(DataInput in) throws IOException {
+        return in.readBoolean() ? new MapLocation(in.readInt(), in.readInt()) : null;
+    }
+
+    static void writeEnum(DataOutput out, Enum<?> value) throws IOException {
+        out.writeByte(value == null ? -1 : value.ordinal());
+    }
+
+    static <E extends Enum<E>> E readEnum(DataInput in, E[] values) throws IOException {
+        int ordinal = in.readByte();
+        return ordinal < 0 ? null : values[ordinal];
+    }
+
+    static void writeInts(DataOutput out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+
+    static int[] readInts(DataInput in) throws IOException {
+        int[] values = new int[in.readInt()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = in.readInt();
+        }
+        return values;
+    }
+
+    static void writeRobotInfo(DataOutput out, RobotInfo info) throws IOException {
+        out.writeBoolean(info != null);
+        if (info == null) {
+            return;
+        }
+        out.writeInt(info.ID);
+        writeEnum(out, info.team);
+        writeEnum(out, info.type);
+        out.writeInt(info.health);
+        writeLocation(out, info.location);
+        writeEnum(out, info.direction);
+        out.writeInt(info.chirality);
+        out.writeInt(info.cheeseAmount);
+        writeRobotInfo(out, info.carryingRobot);
+    }
+
+    static RobotInfo readRobotInfo(DataInput in) throws IOException {
+        if (!in.readBoolean()) {
+            return null;
+        }
+        int id = in.readInt();
+        Team team = readEnum(in, Team.values());
+        UnitType type = readEnum(in, UnitType.values());
+        int health = in.readInt();
+        MapLocation location = readLocation(in);
+        Direction direction = readEnum(in, Direction.values());
+        int chirality = in.readInt();
+        int cheeseAmount = in.readInt();
+        RobotInfo carrying = readRobotInfo(in);
+        return new RobotInfo(id, team, type, health, location, direction, chirality, cheeseAmount, carrying);
+    }
+
+    static void writeMessage(DataOutput out, Message message) throws IOException {
+        out.writeInt(message.getBytes());
+        out.writeInt(message.getSenderID());
+        out.writeInt(message.getRound());
+        writeLocation(out, message.getSource());
+    }
+
+    static Message readMessage(DataInput in) throws IOException {
+        int bytes = in.readInt();
+        int senderID = in.readInt();
+        int round = in.readInt();
+        return new Message(bytes, senderID, round, readLocation(in));
+    }
+}
@@ -7,6 +7,8 @@ import battlecode.instrumenter.TeamClassLoaderFactory;
 import battlecode.instrumenter.SandboxedRobotPlayer;
 import battlecode.instrumenter.profiler.Profiler;
 import battlecode.instrumenter.profiler.ProfilerCollection;
+import battlecode.instrumenter.stream.LimitedPrintStream;
+import battlecode.server.Config;
 import battlecode.server.ErrorReporter;
 import battlecode.world.GameWorld;
 import battlecode.world.InternalRobot;
@@ -60,6 +62,11 @@ public class PlayerControlProvider implements RobotControlProvider {
      */
     private final Team team;
 
+    /**
+     * How much more output the team's robots may write, shared by all of them.
+     */
+    private final LimitedPrintStream.Budget outputBudget;
+
     /**
      * The ProfilerCollection instance holding the profilers for the team.
      * Null if profiling is disabled.
@@ -90,17 +97,42 @@ public class PlayerControlProvider implements RobotControlProvider {
                                  String teamURL,
                                  OutputStream robotOut,
                                  boolean profilingEnabled) {
+        this(team, teamPackage, new TeamClassLoaderFactory(teamURL), robotOut, profilingEnabled);
+    }
+
+    /**
+     * Create a new PlayerControlProvider that loads the team's classes with
+     * an existing factory, so that classes instrumented for earlier games
+     * are reused.
+     *
+     * @param team             the team we're loading
+     * @param teamPackage      the name / package of the team we're loading
+     * @param factory          the factory for the team's classes
+     * @param robotOut         the output that robots should write to
+     * @param profilingEnabled whether profiling is enabled or not
+     */
+    public PlayerControlProvider(Team team,
+                                 String teamPackage,
+                                 TeamClassLoaderFactory factory,
+                                 OutputStream robotOut,
+                                 boolean profilingEnabled) {
         this.teamPackage = teamPackage;
         this.sandboxes = new HashMap<>(); // GameWorld maintains order for us
-        this.factory = new TeamClassLoaderFactory(teamURL);
+        this.factory = factory;
         this.robotOut = robotOut;
         this.team = team;
+        this.outputBudget = new LimitedPrintStream.Budget(Config.getGlobalConfig()
+                .getInt("bc.server.robot-player-replay-file-per-team-limit-bytes"));
 
         if (profilingEnabled) {
             profilerCollection = new ProfilerCollection();
         }
     }
 
+    public LimitedPrintStream.Budget getOutputBudget() {
+        return outputBudget;
+    }
+
     public long getTimeElapsed() {
         return totalPlayerTime;
     }
@@ -0,0 +1,107 @@
+package battlecode.instrumenter;
+
+import battlecode.instrumenter.inject.IdentityHashed;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * Tests the identity hash codes the instrumenter gives player classes,
+ * loading the classes the way a robot's would be. The sample classes are in
+ * src/test/instrumentertest, since player code can't be in battlecode.
+ */
+public class IdentityHashCodeTest {
+
+    static String tempClassFolder;
+
+    @BeforeClass
+    public static void setupFolder() throws Exception {
+        tempClassFolder = URLUtils.toTempFolder(
+                "instrumentertest/DoesntOverrideHashCode.class",
+                "instrumentertest/ExtendsDoesntOverrideHashCode.class",
+                "instrumentertest/OverridesHashCode.class"
+        );
+    }
+
+    @Test
+    public void testOnlyRootClassesGetTheField() throws Exception {
+        TeamClassLoaderFactory.Loader loader = new TeamClassLoaderFactory(tempClassFolder).createLoader(false);
+        Class<?> root = loader.loadClass("instrumentertest.DoesntOverrideHashCode");
+        Class<?> child = loader.loadClass("instrumentertest.ExtendsDoesntOverrideHashCode");
+
+        assertTrue(Arrays.asList(root.getInterfaces()).contains(IdentityHashed.class));
+        assertEquals(1, syntheticFields(root));
+
+        // the subclass inherits both; declaring the final accessor again
+        // wouldn't even load
+        assertTrue(IdentityHashed.class.isAssignableFrom(child));
+        assertFalse(Arrays.asList(child.getInterfaces()).contains(IdentityHashed.class));
+        assertEquals(0, syntheticFields(child));
+    }
+
+    @Test
+    public void testCodesFollowTheMapSequence() throws Exception {
+        TeamClassLoaderFactory factory = new TeamClassLoaderFactory(tempClassFolder);
+
+        // what ObjectMethods' map used to hand out for every object: the
+        // next code, the first time the object is hashed
+        List<Integer> expected = Arrays.asList(0, 1, 2, 0, 57, 3, 2, 1);
+        assertEquals(expected, hashInOrder(factory.createLoader(false)));
+
+        // the second loader gets the cached instrumented classes, and a
+        // fresh counter
+        assertEquals(expected, hashInOrder(factory.createLoader(false)));
+    }
+
+    private static int syntheticFields(Class<?> c) {
+        int count = 0;
+        for (Field f : c.getDeclaredFields()) {
+            if (f.isSynthetic()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Hash a mix of player and non-player objects, some more than once.
+     */
+    private static List<Integer> hashInOrder(TeamClassLoaderFactory.Loader loader) throws Exception {
+        // let the robot run without a thread to pause
+        Class<?> monitor = loader.loadClass("battlecode.instrumenter.inject.RobotMonitor");
+        monitor.getMethod("setBytecodeLimit", int.class).invoke(null, Integer.MAX_VALUE);
+        monitor.getMethod("reactivate").invoke(null);
+
+        Class<?> objectMethods = loader.loadClass("battlecode.instrumenter.inject.ObjectMethods");
+        Object a = newInstance(loader, "instrumentertest.DoesntOverrideHashCode");
+        Object b = newInstance(loader, "instrumentertest.ExtendsDoesntOverrideHashCode");
+        Object c = newInstance(loader, "instrumentertest.DoesntOverrideHashCode");
+        Object overrides = newInstance(loader, "instrumentertest.OverridesHashCode");
+        Object plain = new Object();
+
+        List<Integer> codes = new ArrayList<>();
+        codes.add(getHashCode(a));
+        codes.add(getHashCode(b));
+        codes.add((Integer) objectMethods.getMethod("hashCode", Object.class).invoke(null, plain));
+        codes.add(getHashCode(a));
+        codes.add(getHashCode(overrides));
+        codes.add(getHashCode(c));
+        codes.add((Integer) objectMethods.getMethod("hashCode", Object.class).invoke(null, plain));
+        codes.add(getHashCode(b));
+        return codes;
+    }
+
+    private static Object newInstance(ClassLoader loader, String name) throws Exception {
+        return loader.loadClass(name).getConstructor().newInstance();
+    }
+
+    private static int getHashCode(Object o) throws Exception {
+        return (Integer) o.getClass().getMethod("getHashCode").invoke(o);
+    }
+}
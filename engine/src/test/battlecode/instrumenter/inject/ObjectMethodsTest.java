@@ -0,0 +1,73 @@
+package battlecode.instrumenter.inject;
+
+import battlecode.common.Direction;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+public class ObjectMethodsTest {
+
+    static class Plain {
+    }
+
+    static class Hashed {
+        @Override
+        public int hashCode() {
+            return 42;
+        }
+
+        @Override
+        public String toString() {
+            return "hashed";
+        }
+    }
+
+    static class HashedChild extends Hashed {
+    }
+
+    @Test
+    public void testIdentityCodesAreSequential() {
+        Object a = new Plain();
+        Object b = new Object();
+
+        int first = ObjectMethods.hashCode(a);
+        assertEquals(first + 1, ObjectMethods.hashCode(b));
+        assertEquals(first, ObjectMethods.hashCode(a));
+        assertEquals(first, ObjectMethods.identityHashCode(a));
+        assertEquals("object" + first, ObjectMethods.toString(a));
+
+        // enums and Characters hash by identity too
+        int enumCode = ObjectMethods.hashCode(Direction.NORTH);
+        assertEquals(first + 2, enumCode);
+        assertEquals(enumCode + 1, ObjectMethods.hashCode(Character.valueOf('\u2603')));
+    }
+
+    @Test
+    public void testOverriddenMethodsAreCalled() {
+        assertEquals(42, ObjectMethods.hashCode(new Hashed()));
+        assertEquals(42, ObjectMethods.hashCode(new HashedChild()));
+        assertEquals("hashed", ObjectMethods.toString(new HashedChild()));
+        assertEquals("abc".hashCode(), ObjectMethods.hashCode("abc"));
+        assertEquals("abc", ObjectMethods.toString("abc"));
+        assertEquals(Arrays.asList(1, 2).hashCode(), ObjectMethods.hashCode(new ArrayList<>(Arrays.asList(1, 2))));
+
+        // enums print their names
+        assertEquals("NORTH", ObjectMethods.toString(Direction.NORTH));
+    }
+
+    @Test
+    public void testClassProperties() {
+        assertTrue(ClassProperties.usesObjectHashCode(Plain.class));
+        assertTrue(ClassProperties.usesObjectHashCode(Direction.class));
+        assertTrue(ClassProperties.usesObjectHashCode(Character.class));
+        assertFalse(ClassProperties.usesObjectHashCode(HashedChild.class));
+        assertFalse(ClassProperties.usesObjectHashCode(String.class));
+
+        assertTrue(ClassProperties.usesObjectToString(Plain.class));
+        assertFalse(ClassProperties.usesObjectToString(Direction.class));
+        assertFalse(ClassProperties.usesObjectToString(HashedChild.class));
+    }
+}
@@ -1,12 +1,20 @@
 package battlecode.server;
 
+import battlecode.common.Direction;
 import battlecode.common.GameConstants;
 import battlecode.common.MapLocation;
 import battlecode.common.Team;
+import battlecode.common.UnitType;
+import battlecode.schema.Action;
 import battlecode.schema.Event;
 import battlecode.schema.GameHeader;
 import battlecode.schema.GameWrapper;
+import battlecode.schema.MatchFooter;
+import battlecode.schema.RobotLog;
+import battlecode.schema.RobotLogs;
+import battlecode.schema.Round;
 import battlecode.util.TeamMapping;
+import battlecode.world.DominationFactor;
 import battlecode.world.TestMapBuilder;
 
 import java.util.ArrayList;
@@ -19,6 +27,7 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.zip.GZIPInputStream;
 
 import static org.junit.Assert.*;
@@ -111,6 +120,181 @@ public class GameMakerTest {
     //     verify(mockServer, times(9)).addEvent(any(byte[].class));
     // }
 
+    private byte[] playShortGame(NetServer sink) throws IOException {
+        GameMaker gm = new GameMaker(info, sink, true);
+        gm.makeGameHeader();
+        playShortMatch(gm.getMatchMaker());
+        gm.makeGameFooter(Team.B);
+        return gm.toBytes();
+    }
+
+    private void playShortMatch(GameMaker.MatchMaker mm) throws IOException {
+        mm.makeMatchHeader(new TestMapBuilder("honolulu", 0, 0, 30, 30, 1337).build());
+        for (int round = 1; round <= 3; round++) {
+            mm.startRound(round);
+            mm.startTurn(round, Team.A);
+            mm.getOut(Team.A).write(("hello " + round).getBytes(StandardCharsets.UTF_8));
+            mm.addSpawnAction(round, new MapLocation(round, round), Direction.NORTH, 0, Team.A, UnitType.BABY_RAT);
+            mm.addIndicatorString(round, "round " + round);
+            mm.endTurn(round, 100, round, 0, 0, 0, 1000, new MapLocation(round, round), Direction.NORTH, false);
+            mm.endRound();
+        }
+        mm.makeMatchFooter(Team.B, DominationFactor.RESIGNATION, 3, new ArrayList<>());
+    }
+
+    @Test
+    public void testPacketSinkProducesEquivalentReplay() throws Exception {
+        NetServer sink = new NetServer(0, false);
+        GameWrapper withSink = GameWrapper.getRootAsGameWrapper(ByteBuffer.wrap(ungzip(playShortGame(sink))));
+        GameWrapper fileOnly = GameWrapper.getRootAsGameWrapper(ByteBuffer.wrap(ungzip(playShortGame(null))));
+
+        assertEquals(fileOnly.eventsLength(), withSink.eventsLength());
+        assertEquals(7, withSink.eventsLength());
+        assertEquals(1, withSink.matchHeadersLength());
+        assertEquals(1, withSink.matchFootersLength());
+
+        for (int i = 0; i < fileOnly.eventsLength(); i++) {
+            assertEquals(fileOnly.events(i).eType(), withSink.events(i).eType());
+        }
+
+        GameHeader h = (GameHeader) withSink.events(0).e(new GameHeader());
+        assertEquals(GameConstants.SPEC_VERSION, h.specVersion());
+        assertEquals("bananas", h.teams(0).name());
+        assertEquals("org.yellow", h.teams(1).packageName());
+
+        for (int i = 2; i <= 4; i++) {
+            Round expected = (Round) fileOnly.events(i).e(new Round());
+            Round actual = (Round) withSink.events(i).e(new Round());
+            assertEquals(expected.roundId(), actual.roundId());
+            assertEquals(expected.turnsLength(), actual.turnsLength());
+            assertEquals(expected.turns(0).robotId(), actual.turns(0).robotId());
+            assertEquals(expected.turns(0).cheese(), actual.turns(0).cheese());
+            assertEquals(expected.turns(0).actionsLength(), actual.turns(0).actionsLength());
+            assertEquals(expected.turns(0).actionsType(0), actual.turns(0).actionsType(0));
+        }
+
+        MatchFooter f = (MatchFooter) withSink.events(5).e(new MatchFooter());
+        assertEquals(TeamMapping.id(Team.B), f.winner());
+        assertEquals(3, f.totalRounds());
+    }
+
+    private byte[] playGameWithActionsBetweenTurns(NetServer sink) throws IOException {
+        GameMaker gm = new GameMaker(info, sink, true);
+        gm.makeGameHeader();
+        GameMaker.MatchMaker mm = gm.getMatchMaker();
+        mm.makeMatchHeader(new TestMapBuilder("honolulu", 0, 0, 30, 30, 1337).build());
+        for (int round = 1; round <= 3; round++) {
+            mm.startRound(round);
+            mm.startTurn(round, Team.A);
+            mm.addSpawnAction(round, new MapLocation(round, round), Direction.NORTH, 0, Team.A, UnitType.BABY_RAT);
+            mm.endTurn(round, 100, round, 0, 0, 0, 1000, new MapLocation(round, round), Direction.NORTH, false);
+            // recorded after the round's last turn, as the mines' cheese is
+            mm.addCheeseSpawnAction(new MapLocation(0, round), round);
+            mm.endRound();
+        }
+        mm.makeMatchFooter(Team.B, DominationFactor.RESIGNATION, 3, new ArrayList<>());
+        gm.makeGameFooter(Team.B);
+        return gm.toBytes();
+    }
+
+    @Test
+    public void testActionsBetweenTurnsSurviveStreaming() throws Exception {
+        NetServer sink = new NetServer(0, false);
+        GameWrapper withSink = GameWrapper.getRootAsGameWrapper(
+                ByteBuffer.wrap(ungzip(playGameWithActionsBetweenTurns(sink))));
+        GameWrapper fileOnly = GameWrapper.getRootAsGameWrapper(
+                ByteBuffer.wrap(ungzip(playGameWithActionsBetweenTurns(null))));
+
+        assertEquals(fileOnly.eventsLength(), withSink.eventsLength());
+        for (int i = 2; i <= 4; i++) {
+            Round expected = (Round) fileOnly.events(i).e(new Round());
+            Round actual = (Round) withSink.events(i).e(new Round());
+            // the first round's turn has only its spawn; later ones also
+            // take the cheese spawned at the end of the round before
+            int actions = i == 2 ? 1 : 2;
+            assertEquals(actions, expected.turns(0).actionsLength());
+            assertEquals(actions, actual.turns(0).actionsLength());
+            for (int j = 0; j < actions; j++) {
+                assertEquals(expected.turns(0).actionsType(j), actual.turns(0).actionsType(j));
+            }
+            if (actions == 2) {
+                assertEquals(Action.CheeseSpawn, actual.turns(0).actionsType(0));
+            }
+        }
+    }
+
+    @Test
+    public void testRobotLogsSavedSeparately() throws Exception {
+        GameWrapper output = GameWrapper.getRootAsGameWrapper(ByteBuffer.wrap(ungzip(playShortGame(null))));
+        assertTrue(output.logsLength() > 0);
+
+        ByteBuffer zipped = output.logsAsByteBuffer();
+        byte[] logBytes = new byte[zipped.remaining()];
+        zipped.get(logBytes);
+        RobotLogs logs = RobotLogs.getRootAsRobotLogs(ByteBuffer.wrap(ungzip(logBytes)));
+
+        assertEquals(3, logs.logsLength());
+        assertEquals(0, logs.droppedBytes(TeamMapping.id(Team.A)));
+        for (int i = 0; i < 3; i++) {
+            RobotLog log = logs.logs(i);
+            assertEquals(0, log.match());
+            assertEquals(i + 1, log.round());
+            assertEquals(i + 1, log.robotId());
+            assertEquals(TeamMapping.id(Team.A), log.team());
+            ByteBuffer text = log.textAsByteBuffer();
+            assertEquals("hello " + (i + 1), StandardCharsets.UTF_8.decode(text).toString());
+        }
+    }
+
+    @Test
+    public void testForkedMatchesAbsorbedInOrder() throws Exception {
+        GameMaker sequential = new GameMaker(info, null, true);
+        sequential.makeGameHeader();
+        playShortMatch(sequential.getMatchMaker());
+        playShortMatch(sequential.getMatchMaker());
+        sequential.makeGameFooter(Team.B);
+
+        // forks of a streaming game capture their events in the sink's buffers
+        GameMaker forked = new GameMaker(info, new NetServer(0, false), true);
+        forked.makeGameHeader();
+        GameMaker first = forked.fork(0);
+        GameMaker second = forked.fork(1);
+        // play out of order, as concurrent matches may finish
+        playShortMatch(second.getMatchMaker());
+        playShortMatch(first.getMatchMaker());
+        forked.absorb(first);
+        forked.absorb(second);
+        forked.makeGameFooter(Team.B);
+
+        GameWrapper expected = GameWrapper.getRootAsGameWrapper(ByteBuffer.wrap(ungzip(sequential.toBytes())));
+        GameWrapper actual = GameWrapper.getRootAsGameWrapper(ByteBuffer.wrap(ungzip(forked.toBytes())));
+
+        assertEquals(12, actual.eventsLength());
+        assertEquals(expected.eventsLength(), actual.eventsLength());
+        for (int i = 0; i < expected.eventsLength(); i++) {
+            assertEquals(expected.events(i).eType(), actual.events(i).eType());
+        }
+        assertEquals(2, actual.matchHeadersLength());
+        for (int i = 0; i < 2; i++) {
+            assertEquals(expected.matchHeaders(i), actual.matchHeaders(i));
+            assertEquals(expected.matchFooters(i), actual.matchFooters(i));
+        }
+
+        Round round = (Round) actual.events(7).e(new Round());
+        assertEquals(1, round.roundId());
+        assertEquals(1, round.turns(0).robotId());
+
+        ByteBuffer zipped = actual.logsAsByteBuffer();
+        byte[] logBytes = new byte[zipped.remaining()];
+        zipped.get(logBytes);
+        RobotLogs logs = RobotLogs.getRootAsRobotLogs(ByteBuffer.wrap(ungzip(logBytes)));
+        assertEquals(6, logs.logsLength());
+        for (int i = 0; i < 6; i++) {
+            assertEquals(i / 3, logs.logs(i).match());
+            assertEquals(i % 3 + 1, logs.logs(i).round());
+        }
+    }
+
     public byte[] ungzip(byte[] in) throws IOException {
         ByteArrayOutputStream result = new ByteArrayOutputStream();
         IOUtils.copy(new GZIPInputStream(new ByteArrayInputStream(in)), result);
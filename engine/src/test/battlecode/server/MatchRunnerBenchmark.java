@@ -0,0 +1,90 @@
+package battlecode.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how MatchRunner throughput scales with the number of threads.
+ *
+ * Not a unit test: run it by hand with the usual headless properties, e.g.
+ *
+ *   java -Dbc.game.team-a=examplefuncsplayer -Dbc.game.team-a.url=... \
+ *        -Dbc.game.team-b=examplefuncsplayer -Dbc.game.team-b.url=... \
+ *        -Dbc.game.maps=DefaultSmall -Dbc.benchmark.games=16 \
+ *        battlecode.server.MatchRunnerBenchmark -c=-
+ *
+ * It runs the same game bc.benchmark.games times with 1, 2, 4, ... threads,
+ * up to bc.benchmark.max-threads (default: the number of cores), and prints
+ * matches per hour at each level. Games are run in stats-only mode so that
+ * writing replays doesn't dominate.
+ *
+ * The only numbers recorded so far are from a single-core machine, with a
+ * small test bot on DefaultSmall and 8 games, where extra threads can't
+ * help; they show the runner costs little when they don't:
+ *
+ *    threads    seconds   matches/hour  speedup
+ *          1      11.01         2616.7     1.00
+ *          2      10.74         2681.4     1.02
+ *          4      11.62         2478.0     0.95
+ *
+ * How far it scales on more cores hasn't been measured.
+ */
+public class MatchRunnerBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final Config options = Main.setupConfig(args);
+        options.setBoolean("bc.server.stats-only", true);
+        options.setBoolean("bc.server.robot-player-to-system-out", false);
+
+        final int games = options.get("bc.benchmark.games") != null
+                ? options.getInt("bc.benchmark.games") : 8;
+        final int maxThreads = options.get("bc.benchmark.max-threads") != null
+                ? options.getInt("bc.benchmark.max-threads") : Runtime.getRuntime().availableProcessors();
+        final String[] maps = options.get("bc.game.maps").split(",");
+
+        final GameInfo game = new GameInfo(
+                options.get("bc.game.team-a"), options.get("bc.game.team-a.package"), options.get("bc.game.team-a.url"),
+                options.get("bc.game.team-b"), options.get("bc.game.team-b.package"), options.get("bc.game.team-b.url"),
+                maps, null, false
+        );
+
+        // warm up the JIT so the first level isn't penalized
+        runGames(options, game, 1, 1);
+
+        double baseline = 0;
+        System.out.printf("%8s %10s %14s %8s%n", "threads", "seconds", "matches/hour", "speedup");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            double seconds = runGames(options, game, threads, games);
+            double perHour = games * maps.length * 3600 / seconds;
+            if (threads == 1) {
+                baseline = perHour;
+            }
+            System.out.printf("%8d %10.2f %14.1f %8.2f%n", threads, seconds, perHour, perHour / baseline);
+        }
+    }
+
+    /**
+     * @return how long it took, in seconds
+     */
+    private static double runGames(Config options, GameInfo game, int threads, int games) throws Exception {
+        final MatchRunner runner = new MatchRunner(options, threads, false);
+        final long start = System.nanoTime();
+
+        final List<Future<MatchRunner.Result>> results = new ArrayList<>();
+        for (int i = 0; i < games; i++) {
+            results.add(runner.submit(game));
+        }
+        for (Future<MatchRunner.Result> result : results) {
+            if (!result.get().isSuccess()) {
+                System.err.print(result.get().getOutput());
+                throw new RuntimeException("A benchmark game failed to run");
+            }
+        }
+
+        final double seconds = (System.nanoTime() - start) / 1e9;
+        runner.shutdown(1, TimeUnit.MINUTES);
+        return seconds;
+    }
+}
@@ -0,0 +1,57 @@
+package battlecode.server;
+
+import battlecode.instrumenter.URLUtils;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class MatchSummaryTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testStatsOnlyWritesSummariesAndNoReplay() throws Exception {
+        String bot = URLUtils.toTempFolder("resigningplayer/RobotPlayer.class");
+        File replay = new File(folder.getRoot(), "game.bc26");
+        File stats = new File(folder.getRoot(), "stats.csv");
+
+        Config options = new Config(new String[0]);
+        options.setBoolean("bc.server.websocket", false);
+        options.setBoolean("bc.server.stats-only", true);
+        options.set("bc.server.stats-file", stats.getPath());
+
+        Server server = new Server(options, false);
+        server.addGameNotification(new GameInfo(
+                "resigningplayer", "resigningplayer", bot,
+                "resigningplayer", "resigningplayer", bot,
+                new String[]{"DefaultSmall", "DefaultMedium"}, replay, false));
+        server.terminateNotification();
+        server.run();
+
+        assertFalse(replay.exists());
+
+        List<String> lines = Files.readAllLines(stats.toPath());
+        assertEquals(3, lines.size());
+        assertEquals(MatchSummary.csvHeader(), lines.get(0));
+        int columns = lines.get(0).split(",").length;
+        String[] maps = {"DefaultSmall", "DefaultMedium"};
+        for (int match = 0; match < maps.length; match++) {
+            String[] row = lines.get(match + 1).split(",");
+            assertEquals(columns, row.length);
+            assertEquals("resigningplayer", row[0]);
+            assertEquals("resigningplayer", row[1]);
+            assertEquals(maps[match], row[2]);
+            assertEquals(Integer.toString(match), row[3]);
+            // whichever team's king moves first resigns
+            assertTrue(row[4], row[4].equals("A") || row[4].equals("B"));
+            assertEquals("RESIGNATION", row[5]);
+            assertEquals("1", row[6]);
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package battlecode.server;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.Assert.*;
+
+public class TournamentTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Tournament tournament(String format, String... results) throws IOException {
+        File spec = folder.newFile("bracket.properties");
+        try (FileWriter out = new FileWriter(spec)) {
+            out.write("teams=a,b,c,d\n");
+            for (String team : new String[]{"a", "b", "c", "d"}) {
+                out.write("team." + team + ".url=bots/" + team + "\n");
+            }
+            out.write("maps=m1,m2\nformat=" + format + "\n");
+        }
+        File outDir = folder.newFolder("out");
+        try (FileWriter out = new FileWriter(new File(outDir, "results.csv"))) {
+            out.write("game,teamA,teamB,map,winner\n");
+            for (String line : results) {
+                out.write(line + "\n");
+            }
+            // cut short by a crash
+            out.write("r1-a-vs-c-on-m1,a,c,m1");
+        }
+        Config options = new Config(new String[0]);
+        options.set("bc.tournament.out-dir", outDir.getPath());
+        Tournament t = Tournament.fromSpec(spec, options);
+        t.loadResults();
+        return t;
+    }
+
+    @Test
+    public void testRoundRobinPlaysEveryPairOnEveryMap() throws IOException {
+        Tournament t = tournament("round-robin");
+        List<Tournament.Pairing> games = t.roundRobin();
+        assertEquals(6 * 2, games.size());
+
+        Set<String> ids = new HashSet<>();
+        for (Tournament.Pairing game : games) {
+            assertTrue(ids.add(game.getId()));
+        }
+    }
+
+    @Test
+    public void testBradleyTerryOrdersByStrength() throws IOException {
+        Tournament t = tournament("round-robin",
+                "r1-b-vs-a-on-m1,b,a,m1,a",
+                "r1-a-vs-b-on-m2,a,b,m2,a",
+                "r1-c-vs-b-on-m1,c,b,m1,b",
+                "r1-d-vs-c-on-m1,d,c,m1,c",
+                "r1-c-vs-a-on-m2,c,a,m2,-",
+                // not in this schedule, so left out of the fit
+                "r2-d-vs-a-on-m1,d,a,m1,d",
+                "r2-a-vs-d-on-m2,a,d,m2,d");
+        Map<String, Double> strength = t.bradleyTerry(t.roundRobin());
+
+        assertTrue(strength.get("a") > strength.get("b"));
+        assertTrue(strength.get("b") > strength.get("c"));
+        assertTrue(strength.get("c") > strength.get("d"));
+        double product = 1;
+        for (double s : strength.values()) {
+            product *= s;
+        }
+        assertEquals(1.0, product, 1e-6);
+        assertEquals(1500.0, Tournament.toElo(1.0), 1e-9);
+    }
+
+    @Test
+    public void testSwissPairsByScoreWithoutRematches() throws IOException {
+        Tournament t = tournament("swiss");
+        Set<String> byes = new HashSet<>();
+        List<Tournament.Pairing> first = t.swissRound(1, byes, new ArrayList<>());
+        assertEquals(4, first.size());
+        assertTrue(byes.isEmpty());
+
+        // nothing has been played, so the second round avoids the first's pairings
+        List<Tournament.Pairing> second = t.swissRound(2, byes, first);
+        for (Tournament.Pairing game : second) {
+            for (Tournament.Pairing earlier : first) {
+                assertFalse(Arrays.asList(earlier.teamA, earlier.teamB).containsAll(
+                        Arrays.asList(game.teamA, game.teamB)));
+            }
+        }
+    }
+
+    @Test
+    public void testSwissResumesWithTheSamePairings() throws IOException {
+        Tournament t = tournament("swiss");
+        Set<String> byes = new HashSet<>();
+        List<Tournament.Pairing> earlier = new ArrayList<>();
+        for (int round = 1; round <= 3; round++) {
+            List<Tournament.Pairing> games = t.swissRound(round, byes, earlier);
+            for (int i = 0; i < games.size(); i++) {
+                Tournament.Pairing game = games.get(i);
+                // the first game of the first round fails to run
+                String winner = round == 1 && i == 0 ? null : game.teamB.name;
+                t.recordResult(game.getId(), new Tournament.Outcome(game.teamA.name, game.teamB.name,
+                        game.map, winner));
+            }
+            earlier.addAll(games);
+        }
+
+        Config options = new Config(new String[0]);
+        options.set("bc.tournament.out-dir", new File(folder.getRoot(), "out").getPath());
+        Tournament resumed = Tournament.fromSpec(new File(folder.getRoot(), "bracket.properties"), options);
+        resumed.loadResults();
+        Set<String> resumedByes = new HashSet<>();
+        List<Tournament.Pairing> resumedEarlier = new ArrayList<>();
+        for (int round = 1; round <= 3; round++) {
+            for (Tournament.Pairing game : resumed.swissRound(round, resumedByes, resumedEarlier)) {
+                assertEquals(earlier.get(resumedEarlier.size()).getId(), game.getId());
+                // including the failed game, which isn't played again
+                assertTrue(game.getId(), resumed.hasResult(game.getId()));
+                resumedEarlier.add(game);
+            }
+            assertEquals(t.swissScores(byes, resumedEarlier), resumed.swissScores(resumedByes, resumedEarlier));
+        }
+    }
+
+    @Test
+    public void testSwissRematchesAreNewGames() throws IOException {
+        // four teams only have three opponents each, so round 4 has rematches
+        Tournament t = tournament("swiss");
+        Set<String> byes = new HashSet<>();
+        List<Tournament.Pairing> earlier = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        for (int round = 1; round <= 4; round++) {
+            List<Tournament.Pairing> games = t.swissRound(round, byes, earlier);
+            assertEquals(4, games.size());
+            for (Tournament.Pairing game : games) {
+                assertEquals(round, game.round);
+                assertTrue(game.getId(), ids.add(game.getId()));
+                t.recordResult(game.getId(), new Tournament.Outcome(game.teamA.name, game.teamB.name,
+                        game.map, game.teamA.name));
+            }
+            earlier.addAll(games);
+
+            // every game played so far is scored once
+            double total = 0;
+            for (double score : t.swissScores(byes, earlier).values()) {
+                total += score;
+            }
+            assertEquals(4.0 * round, total, 0);
+        }
+        assertTrue(byes.isEmpty());
+    }
+}
@@ -0,0 +1,84 @@
+package battlecode.util;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BitBoardTest {
+    @Test
+    public void testGetSet() {
+        BitBoard board = new BitBoard(130);
+        for (int i = 0; i < board.size(); i++) {
+            board.set(i, i % 3 == 0);
+        }
+        for (int i = 0; i < board.size(); i++) {
+            assertEquals(i % 3 == 0, board.get(i));
+        }
+        assertEquals(44, board.cardinality());
+
+        board.clear(63);
+        assertFalse(board.get(63));
+        assertEquals(66, board.nextSetBit(61));
+        assertEquals(129, board.nextSetBit(128));
+        assertEquals(-1, board.nextSetBit(130));
+    }
+
+    @Test
+    public void testOfAndOr() {
+        BitBoard walls = BitBoard.of(new boolean[]{true, false, false, false});
+        BitBoard dirt = BitBoard.of(new boolean[]{false, false, true, false});
+        BitBoard both = new BitBoard(walls);
+        both.or(dirt);
+
+        assertTrue(both.get(0));
+        assertFalse(both.get(1));
+        assertTrue(both.get(2));
+        assertFalse(walls.get(2));
+        assertEquals(-1, both.nextSetBit(3));
+    }
+
+    @Test
+    public void testShiftedAndCombine() {
+        BitBoard board = new BitBoard(130);
+        board.set(0);
+        board.set(63);
+        board.set(129);
+
+        BitBoard up = board.shifted(65);
+        assertEquals(2, up.cardinality());
+        assertTrue(up.get(65));
+        assertTrue(up.get(128));
+
+        BitBoard down = board.shifted(-63);
+        assertEquals(2, down.cardinality());
+        assertTrue(down.get(0));
+        assertEquals(66, down.nextSetBit(1));
+        assertEquals(board, board.shifted(0));
+
+        BitBoard run = new BitBoard(130);
+        run.set(60, 129);
+        assertEquals(69, run.cardinality());
+        assertEquals(60, run.nextSetBit(0));
+        assertFalse(run.get(129));
+        run.set(3, 3);
+        assertFalse(run.get(3));
+
+        BitBoard mask = new BitBoard(130);
+        mask.set(65);
+        assertTrue(up.intersects(mask));
+        up.andNot(mask);
+        assertFalse(up.intersects(mask));
+        up.and(mask);
+        assertTrue(up.isEmpty());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testSizeMismatch() {
+        new BitBoard(10).or(new BitBoard(11));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testOutOfBounds() {
+        new BitBoard(10).get(10);
+    }
+}
@@ -0,0 +1,179 @@
+package battlecode.util.collections;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Measures the collections here next to the boxed java.util ones they
+ * stand in for, doing what the engine does with them.
+ *
+ * Not a unit test: run it by hand, e.g.
+ *
+ *   java battlecode.util.collections.CollectionsBenchmark
+ *
+ * Each case runs a few times first so the JIT has settled; the numbers are
+ * nanoseconds per operation.
+ */
+public class CollectionsBenchmark {
+
+    // about as many robots as are alive at once on a big map
+    private static final int ROBOTS = 1000;
+    private static final int LOOKUPS = 5_000_000;
+    private static final int APPENDS = 5_000_000;
+    private static final int HASHED = 200_000;
+
+    private static int sink;
+
+    public static void main(String[] args) {
+        System.out.printf("%-34s %10s %10s%n", "case", "ours", "java.util");
+        for (int round = 0; round < 5; round++) {
+            boolean report = round == 4;
+            compare(report, "robot lookup by ID", CollectionsBenchmark::lookupOurs, CollectionsBenchmark::lookupBoxed,
+                    LOOKUPS);
+            compare(report, "robot churn (spawn + destroy)", CollectionsBenchmark::churnOurs,
+                    CollectionsBenchmark::churnBoxed, LOOKUPS / 10);
+            compare(report, "append + toArray", CollectionsBenchmark::appendOurs, CollectionsBenchmark::appendBoxed,
+                    APPENDS);
+            compare(report, "identity hash codes", CollectionsBenchmark::identityOurs,
+                    CollectionsBenchmark::identityBoxed, HASHED * 4);
+        }
+        if (sink == 42) {
+            System.out.println();
+        }
+    }
+
+    private static void compare(boolean report, String name, Runnable ours, Runnable boxed, int ops) {
+        long oursTime = time(ours);
+        long boxedTime = time(boxed);
+        if (report) {
+            System.out.printf("%-34s %10.2f %10.2f%n", name, (double) oursTime / ops, (double) boxedTime / ops);
+        }
+    }
+
+    private static long time(Runnable run) {
+        long start = System.nanoTime();
+        run.run();
+        return System.nanoTime() - start;
+    }
+
+    private static int[] robotIDs() {
+        Random random = new Random(1);
+        int[] ids = new int[ROBOTS];
+        for (int i = 0; i < ROBOTS; i++) {
+            ids[i] = 10000 + random.nextInt(4096 * 8);
+        }
+        return ids;
+    }
+
+    private static void lookupOurs() {
+        int[] ids = robotIDs();
+        IntIntHashMap map = new IntIntHashMap(-1);
+        for (int i = 0; i < ids.length; i++) {
+            map.put(ids[i], i);
+        }
+        int total = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            total += map.get(ids[i % ids.length]);
+        }
+        sink += total;
+    }
+
+    private static void lookupBoxed() {
+        int[] ids = robotIDs();
+        Map<Integer, Integer> map = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            map.put(ids[i], i);
+        }
+        int total = 0;
+        for (int i = 0; i < LOOKUPS; i++) {
+            total += map.get(ids[i % ids.length]);
+        }
+        sink += total;
+    }
+
+    private static void churnOurs() {
+        IntIntHashMap map = new IntIntHashMap(-1);
+        int next = 10000;
+        for (int i = 0; i < ROBOTS; i++) {
+            map.put(next++, i);
+        }
+        for (int i = 0; i < LOOKUPS / 10; i++) {
+            map.remove(next - ROBOTS);
+            map.put(next++, i);
+        }
+        sink += map.size();
+    }
+
+    private static void churnBoxed() {
+        Map<Integer, Integer> map = new HashMap<>();
+        int next = 10000;
+        for (int i = 0; i < ROBOTS; i++) {
+            map.put(next++, i);
+        }
+        for (int i = 0; i < LOOKUPS / 10; i++) {
+            map.remove(next - ROBOTS);
+            map.put(next++, i);
+        }
+        sink += map.size();
+    }
+
+    private static void appendOurs() {
+        // a round's worth of actions at a time, into a list that's reused
+        IntArrayList list = new IntArrayList();
+        for (int i = 0; i < APPENDS; i += 1000) {
+            list.clear();
+            for (int j = 0; j < 1000; j++) {
+                list.add(i + j);
+            }
+            sink += list.toArray().length;
+        }
+    }
+
+    private static void appendBoxed() {
+        List<Integer> list = new ArrayList<>();
+        for (int i = 0; i < APPENDS; i += 1000) {
+            list.clear();
+            for (int j = 0; j < 1000; j++) {
+                list.add(i + j);
+            }
+            sink += list.stream().mapToInt(x -> x).toArray().length;
+        }
+    }
+
+    private static void identityOurs() {
+        Object[] objects = new Object[HASHED];
+        for (int i = 0; i < HASHED; i++) {
+            objects[i] = new Object();
+        }
+        WeakIdentityHashMap<Object, Integer> codes = new WeakIdentityHashMap<>();
+        for (int pass = 0; pass < 4; pass++) {
+            for (Object o : objects) {
+                Integer code = codes.get(o);
+                if (code == null) {
+                    codes.put(o, sink++);
+                }
+            }
+        }
+    }
+
+    private static void identityBoxed() {
+        // not weak, so only a floor for what a weak identity map can do
+        Object[] objects = new Object[HASHED];
+        for (int i = 0; i < HASHED; i++) {
+            objects[i] = new Object();
+        }
+        Map<Object, Integer> codes = new IdentityHashMap<>();
+        for (int pass = 0; pass < 4; pass++) {
+            for (Object o : objects) {
+                Integer code = codes.get(o);
+                if (code == null) {
+                    codes.put(o, sink++);
+                }
+            }
+        }
+    }
+}
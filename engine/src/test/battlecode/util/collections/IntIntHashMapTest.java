@@ -0,0 +1,60 @@
+package battlecode.util.collections;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class IntIntHashMapTest {
+
+    @Test
+    public void testMissingValue() {
+        IntIntHashMap map = new IntIntHashMap(-1);
+        assertEquals(-1, map.get(5));
+        assertEquals(-1, map.put(5, 0));
+        assertEquals(0, map.get(5));
+        assertTrue(map.containsKey(5));
+
+        // zero is kept aside from the table, but acts like any other key
+        assertFalse(map.containsKey(0));
+        assertEquals(-1, map.put(0, 7));
+        assertEquals(7, map.get(0));
+        assertEquals(2, map.size());
+        assertEquals(7, map.remove(0));
+        assertEquals(-1, map.get(0));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testMatchesHashMap() {
+        // small keys so runs collide, wrap around and get shifted back often
+        Random random = new Random(2026);
+        IntIntHashMap map = new IntIntHashMap(Integer.MIN_VALUE);
+        Map<Integer, Integer> expected = new HashMap<>();
+        for (int i = 0; i < 200000; i++) {
+            int key = random.nextInt(3000) - 100;
+            if (random.nextInt(3) == 0) {
+                Integer old = expected.remove(key);
+                assertEquals(old == null ? Integer.MIN_VALUE : old, map.remove(key));
+            } else {
+                Integer old = expected.put(key, i);
+                assertEquals(old == null ? Integer.MIN_VALUE : old, map.put(key, i));
+            }
+            if (i % 1000 == 0) {
+                assertEquals(expected.size(), map.size());
+                for (int k = -100; k < 2900; k++) {
+                    Integer value = expected.get(k);
+                    assertEquals(value != null, map.containsKey(k));
+                    assertEquals(value == null ? Integer.MIN_VALUE : value, map.get(k));
+                }
+            }
+        }
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.containsKey(expected.keySet().iterator().next()));
+    }
+}
@@ -0,0 +1,55 @@
+package battlecode.util.collections;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class WeakIdentityHashMapTest {
+
+    @Test
+    public void testIdentity() {
+        WeakIdentityHashMap<String, Integer> map = new WeakIdentityHashMap<>();
+        String a = new String("key");
+        String b = new String("key");
+        map.put(a, 1);
+        assertEquals(Integer.valueOf(1), map.get(a));
+        assertNull(map.get(b));
+
+        assertNull(map.put(b, 2));
+        assertEquals(Integer.valueOf(1), map.put(a, 3));
+        assertEquals(Integer.valueOf(3), map.get(a));
+        assertEquals(Integer.valueOf(2), map.get(b));
+        assertEquals(2, map.size());
+
+        assertEquals(Integer.valueOf(2), map.remove(b));
+        assertNull(map.get(b));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    public void testGrowsAndForgets() throws InterruptedException {
+        WeakIdentityHashMap<Object, Integer> map = new WeakIdentityHashMap<>();
+        List<Object> kept = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            Object key = new Object();
+            map.put(key, i);
+            if (i % 2 == 0) {
+                kept.add(key);
+            }
+        }
+        for (int i = 0; i < kept.size(); i++) {
+            assertEquals(Integer.valueOf(2 * i), map.get(kept.get(i)));
+        }
+
+        // the odd keys are garbage now; give the collector a few chances
+        for (int tries = 0; tries < 50 && map.size() > kept.size(); tries++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(kept.size(), map.size());
+        assertEquals(Integer.valueOf(0), map.get(kept.get(0)));
+    }
+}
@@ -0,0 +1,41 @@
+package battlecode.world;
+
+import battlecode.common.GameConstants;
+import battlecode.common.MapLocation;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class CheeseSpawnerTest {
+
+    @Test
+    public void testSpawnsInPairsOffWalls() throws IOException {
+        GameWorld world = SqueakTest.newWorld();
+        LiveMap map = world.getGameMap();
+        int[] before = new int[map.getWidth() * map.getHeight()];
+        for (int i = 0; i < before.length; i++) {
+            before[i] = world.getCheese(world.indexToLocation(i));
+        }
+
+        for (int round = 0; round < 300; round++) {
+            world.runRound();
+        }
+
+        int spawned = 0;
+        for (int i = 0; i < before.length; i++) {
+            MapLocation loc = world.indexToLocation(i);
+            int added = world.getCheese(loc) - before[i];
+            if (added > 0) {
+                spawned++;
+                assertFalse(loc + " is a wall", world.getWall(loc));
+                assertEquals(0, added % GameConstants.CHEESE_SPAWN_AMOUNT);
+                MapLocation mirrored = world.symmetryLocation(loc);
+                assertEquals(loc + " and " + mirrored, added,
+                        world.getCheese(mirrored) - before[world.locationToIndex(mirrored)]);
+            }
+        }
+        assertTrue(spawned > 0);
+    }
+}
@@ -0,0 +1,97 @@
+package battlecode.world;
+
+import battlecode.common.Direction;
+import battlecode.common.MapLocation;
+import battlecode.common.UnitType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FootprintTest {
+
+    private static final MapLocation LOC = new MapLocation(7, 11);
+
+    // the layouts as InternalRobot used to build them for every call
+
+    private static MapLocation[] ratLocations(UnitType type, int chirality, MapSymmetry symmetry) {
+        List<Integer> xs = new ArrayList<>();
+        List<Integer> ys = new ArrayList<>();
+        for (int i = -(type.size - 1) / 2; i <= type.size / 2; i++) {
+            xs.add(i);
+            ys.add(i);
+        }
+        if (chirality == 1) {
+            if (symmetry != MapSymmetry.VERTICAL) {
+                Collections.reverse(ys);
+            }
+            if (symmetry != MapSymmetry.HORIZONTAL) {
+                Collections.reverse(xs);
+            }
+        }
+        List<MapLocation> locs = new ArrayList<>();
+        for (int i : xs) {
+            for (int j : ys) {
+                locs.add(new MapLocation(LOC.x + i, LOC.y - j));
+            }
+        }
+        return locs.toArray(new MapLocation[0]);
+    }
+
+    private static MapLocation[] catLocations(int chirality, MapSymmetry symmetry) {
+        MapLocation corner = LOC;
+        Direction rotateDir = Direction.NORTH;
+        if (chirality != 0) {
+            switch (symmetry) {
+                case VERTICAL:
+                    corner = LOC.add(Direction.EAST);
+                    break;
+                case HORIZONTAL:
+                    corner = LOC.add(Direction.NORTH);
+                    rotateDir = Direction.SOUTH;
+                    break;
+                case ROTATIONAL:
+                    corner = LOC.add(Direction.NORTHEAST);
+                    rotateDir = Direction.WEST;
+                    break;
+            }
+        }
+        MapLocation[] locs = new MapLocation[4];
+        for (int i = 0; i < 4; i++) {
+            locs[i] = corner;
+            corner = corner.add(rotateDir);
+            rotateDir = chirality == 0 ? rotateDir.rotateRight().rotateRight() : rotateDir.rotateLeft().rotateLeft();
+        }
+        return locs;
+    }
+
+    @Test
+    public void testMatchesLayouts() {
+        for (UnitType type : UnitType.values()) {
+            for (int chirality = 0; chirality <= 1; chirality++) {
+                for (MapSymmetry symmetry : MapSymmetry.values()) {
+                    MapLocation[] expected = type.isCatType() ? catLocations(chirality, symmetry)
+                            : ratLocations(type, chirality, symmetry);
+                    Footprint parts = Footprint.of(type, chirality, symmetry);
+                    String what = type + " " + chirality + " " + symmetry;
+                    assertArrayEquals(what, expected, parts.locationsAt(LOC));
+                    assertEquals(what, expected.length, parts.size());
+                    for (int i = 0; i < parts.size(); i++) {
+                        assertEquals(what, expected[i], new MapLocation(LOC.x + parts.dx(i), LOC.y + parts.dy(i)));
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testShared() {
+        assertSame(Footprint.of(UnitType.BABY_RAT, 1, MapSymmetry.ROTATIONAL),
+                Footprint.of(UnitType.BABY_RAT, 1, MapSymmetry.ROTATIONAL));
+        assertSame(Footprint.of(UnitType.RAT_KING, 0, MapSymmetry.ROTATIONAL),
+                Footprint.of(UnitType.RAT_KING, 0, MapSymmetry.HORIZONTAL));
+    }
+}
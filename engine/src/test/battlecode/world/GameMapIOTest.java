@@ -31,6 +31,71 @@ public class GameMapIOTest {
     //     assertEquals(readMap.getOrigin().y, 0.0, 0);
     // }
 
+    @Test
+    public void testMappedMapMatchesLoadedMap() throws IOException {
+        File dir = Files.createTempDirectory("maps").toFile();
+        String name = "DefaultSmall";
+        Files.copy(loader.getResourceAsStream(GameMapIO.DEFAULT_MAP_PACKAGE + name + GameMapIO.MAP_EXTENSION),
+                new File(dir, name + GameMapIO.MAP_EXTENSION).toPath());
+
+        LiveMap loaded = GameMapIO.loadMap(name, dir, true);
+        LiveMap mapped = GameMapIO.mapMap(name, dir, true);
+
+        assertEquals(loaded, mapped);
+        assertArrayEquals(loaded.getDirtArray(), mapped.getDirtArray());
+        assertArrayEquals(loaded.getInitialBodies(), mapped.getInitialBodies());
+        assertEquals(loaded.getNumCats(), mapped.getNumCats());
+        for (int i = 0; i < loaded.getNumCats(); i++) {
+            assertEquals(loaded.getCatWaypointIDs().get(i), mapped.getCatWaypointIDs().get(i));
+            assertArrayEquals(loaded.getCatWaypoints().get(i), mapped.getCatWaypoints().get(i));
+        }
+        assertEquals(loaded, new LiveMap(mapped));
+    }
+
+    @Test
+    public void testValidation() throws Exception {
+        LiveMap map = GameMapIO.loadMapAsResource(loader, GameMapIO.DEFAULT_MAP_PACKAGE, "DefaultSmall", false);
+        map.assertIsValid();
+
+        // put a wall right next to the first cheese mine
+        boolean[] walls = map.getWallArray();
+        boolean[] mines = map.getCheeseMineArray();
+        int mine = 0;
+        while (!mines[mine]) {
+            mine++;
+        }
+        int wall = mine % map.getWidth() + 1 < map.getWidth() ? mine + 1 : mine - 1;
+        walls[wall] = true;
+
+        LiveMap broken = new LiveMap(map.getWidth(), map.getHeight(), map.getOrigin(), map.getSeed(),
+                map.getRounds(), map.getMapName(), map.getSymmetry(), walls, map.getDirtArray(), mines,
+                map.getCheeseArray(), map.getCatWaypointIDs(), map.getCatWaypoints(), map.getInitialBodies());
+        try {
+            broken.assertIsValid();
+            fail("A wall next to a cheese mine should be rejected");
+        } catch (RuntimeException e) {
+            assertEquals("Wall appears at location " + map.indexToLocation(wall)
+                    + " which is too close to cheese mine " + map.indexToLocation(mine), e.getMessage());
+        }
+
+        // put a second mine three squares from the first
+        walls[wall] = false;
+        int extra = mine % map.getWidth() + 3 < map.getWidth() ? mine + 3 : mine - 3;
+        assertFalse(walls[extra]);
+        mines[extra] = true;
+        LiveMap crowded = new LiveMap(map.getWidth(), map.getHeight(), map.getOrigin(), map.getSeed(),
+                map.getRounds(), map.getMapName(), map.getSymmetry(), walls, map.getDirtArray(), mines,
+                map.getCheeseArray(), map.getCatWaypointIDs(), map.getCatWaypoints(), map.getInitialBodies());
+        try {
+            crowded.assertIsValid();
+            fail("Cheese mines three squares apart should be rejected");
+        } catch (RuntimeException e) {
+            assertEquals("Cheese mines at location " + map.indexToLocation(Math.min(mine, extra))
+                    + " and location " + map.indexToLocation(Math.max(mine, extra))
+                    + " are too close to each other!", e.getMessage());
+        }
+    }
+
     // @Test
     // public void testRoundTrip() throws IOException {
     //     LiveMap inputMap = new TestMapBuilder("simple", 55, 3, 58, 50, 1337, 50)
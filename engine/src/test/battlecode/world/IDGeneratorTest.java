@@ -2,8 +2,14 @@ package battlecode.world;
 
 import org.junit.Test;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
 import java.util.BitSet;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 
 /**
@@ -23,4 +29,22 @@ public class IDGeneratorTest {
             seen.set(nextID, true);
         }
     }
+
+    @Test
+    public void testSnapshot() throws IOException {
+        IDGenerator gen = new IDGenerator(7);
+        for (int i = 0; i < IDGenerator.ID_BLOCK_SIZE + 100; i++) {
+            gen.nextID();
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        gen.writeSnapshot(new DataOutputStream(bytes));
+        IDGenerator restored = new IDGenerator(7);
+        restored.readSnapshot(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        // into the next block, to check the generator's state came back too
+        for (int i = 0; i < IDGenerator.ID_BLOCK_SIZE * 2; i++) {
+            assertEquals(gen.nextID(), restored.nextID());
+        }
+    }
 }
@@ -0,0 +1,49 @@
+package battlecode.world;
+
+import battlecode.common.MapLocation;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+
+import static org.junit.Assert.*;
+
+public class MapCacheTest {
+
+    @Test
+    public void testReloadsOnlyWhenFileChanges() throws Exception {
+        File dir = Files.createTempDirectory("maps").toFile();
+        GameMapIO.writeMap(new TestMapBuilder("cached", 0, 0, 20, 20, 1337).build(), dir);
+        File file = new File(dir, "cached" + GameMapIO.MAP_EXTENSION);
+
+        MapCache cache = new MapCache();
+        LiveMap first = cache.loadMap("cached", dir, false);
+        assertSame(first, cache.loadMap("cached", dir, false));
+        assertNotSame(first, cache.loadMap("cached", dir, true));
+        assertEquals(2, cache.size());
+
+        assertTrue(file.setLastModified(file.lastModified() - 60000));
+        LiveMap reloaded = cache.loadMap("cached", dir, false);
+        assertNotSame(first, reloaded);
+        assertEquals(first, reloaded);
+        assertEquals(2, cache.size());
+    }
+
+    @Test
+    public void testWorldsDoNotShareChanges() throws Exception {
+        LiveMap map = new TestMapBuilder("shared", 0, 0, 20, 20, 1337).build();
+        GameWorld one = new TestGame(map).getWorld();
+        GameWorld two = new TestGame(map).getWorld();
+        MapLocation loc = new MapLocation(3, 4);
+
+        one.setDirt(loc, true);
+        one.addCheese(loc, 5);
+
+        assertTrue(one.getDirt(loc));
+        assertEquals(5, one.getCheese(loc));
+        assertFalse(two.getDirt(loc));
+        assertEquals(0, two.getCheese(loc));
+        assertFalse(map.getDirtArray()[loc.x + loc.y * map.getWidth()]);
+        assertEquals(0, map.getCheeseArray()[loc.x + loc.y * map.getWidth()]);
+    }
+}
@@ -0,0 +1,40 @@
+package battlecode.world;
+
+/**
+ * Measures how long LiveMap.assertIsValid takes on the bundled maps.
+ *
+ * Not a unit test: run it by hand, e.g.
+ *
+ *   java battlecode.world.MapValidationBenchmark DefaultLarge evileye
+ *
+ * With no arguments it uses the largest bundled maps. Each map is checked
+ * on fresh copies, since a map that passes isn't checked again.
+ */
+public class MapValidationBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final String[] maps = args.length > 0 ? args
+                : new String[]{"DefaultLarge", "cheeseguardians", "evileye"};
+        final int iterations = 20000;
+        final ClassLoader loader = MapValidationBenchmark.class.getClassLoader();
+
+        System.out.printf("%16s %14s%n", "map", "us/validation");
+        for (String name : maps) {
+            final LiveMap map = GameMapIO.loadMapAsResource(loader, GameMapIO.DEFAULT_MAP_PACKAGE, name, false);
+
+            // warm up the JIT so the first map isn't penalized
+            for (int i = 0; i < iterations; i++) {
+                new LiveMap(map).assertIsValid();
+            }
+
+            long elapsed = 0;
+            for (int i = 0; i < iterations; i++) {
+                final LiveMap copy = new LiveMap(map);
+                final long start = System.nanoTime();
+                copy.assertIsValid();
+                elapsed += System.nanoTime() - start;
+            }
+            System.out.printf("%16s %14.1f%n", name, elapsed / 1e3 / iterations);
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package battlecode.world;
+
+import battlecode.common.Direction;
+import battlecode.common.MapLocation;
+import battlecode.common.Team;
+import battlecode.common.UnitType;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ObjectInfoTest {
+
+    private static List<Integer> execOrder(ObjectInfo info) {
+        List<Integer> ids = new ArrayList<>();
+        info.eachDynamicBodyByExecOrder(robot -> ids.add(robot.getID()));
+        return ids;
+    }
+
+    @Test
+    public void testChangesDuringPass() throws IOException {
+        GameWorld world = SqueakTest.newWorld();
+        ObjectInfo info = world.getObjectInfo();
+        MapLocation empty = SqueakTest.findEmptyBlock(world);
+        for (int i = 0; i < 4; i++) {
+            world.spawnRobot(UnitType.BABY_RAT, empty.translate(i - 2, 0), Direction.NORTH, 0, Team.A);
+        }
+        List<Integer> before = execOrder(info);
+        int first = before.get(0);
+        int doomed = before.get(before.size() - 2);
+        int babyRats = info.getRobotTypeCount(Team.A, UnitType.BABY_RAT);
+
+        // destroy a robot further on and make a new one during a pass
+        List<Integer> seen = new ArrayList<>();
+        int[] born = new int[1];
+        info.eachDynamicBodyByExecOrder(robot -> {
+            seen.add(robot.getID());
+            if (robot.getID() == first) {
+                world.destroyRobot(doomed);
+                born[0] = world.spawnRobot(UnitType.BABY_RAT, empty.translate(0, 2), Direction.NORTH, 0, Team.A);
+            }
+            return true;
+        });
+
+        List<Integer> expected = new ArrayList<>(before);
+        expected.remove((Integer) doomed);
+        assertEquals(expected, seen);
+
+        // the new robot goes last, and the gap is gone
+        expected.add(born[0]);
+        assertEquals(expected, execOrder(info));
+        assertNull(info.getRobotByID(doomed));
+        assertFalse(info.existsRobot(doomed));
+        assertSame(world.getRobot(empty.translate(0, 2)), info.getRobotByID(born[0]));
+        assertEquals(babyRats, info.getRobotTypeCount(Team.A, UnitType.BABY_RAT));
+
+        List<Integer> all = new ArrayList<>();
+        info.eachRobot(robot -> all.add(robot.getID()));
+        all.sort(null);
+        expected.sort(null);
+        assertEquals(expected, all);
+    }
+}
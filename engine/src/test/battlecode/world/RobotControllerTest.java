@@ -2,7 +2,6 @@ package battlecode.world;
 
 import battlecode.common.*;
 
-import gnu.trove.TIntArrayList;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
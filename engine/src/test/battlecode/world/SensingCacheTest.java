@@ -0,0 +1,114 @@
+package battlecode.world;
+
+import battlecode.common.Direction;
+import battlecode.common.GameActionException;
+import battlecode.common.MapInfo;
+import battlecode.common.MapLocation;
+import battlecode.common.RobotInfo;
+import battlecode.common.Team;
+import battlecode.common.TrapType;
+import battlecode.common.UnitType;
+import org.junit.Test;
+
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class SensingCacheTest {
+
+    private static MapInfo infoAt(MapInfo[] infos, MapLocation loc) {
+        for (MapInfo info : infos) {
+            if (info.getMapLocation().equals(loc)) {
+                return info;
+            }
+        }
+        throw new AssertionError(loc + " not sensed");
+    }
+
+    @Test
+    public void testRepeatedSensingSeesChanges() throws IOException, GameActionException {
+        GameWorld world = SqueakTest.newWorld();
+        MapLocation center = SqueakTest.findEmptyBlock(world);
+        InternalRobot rat = world.getObjectInfo().getRobotByID(
+                world.spawnRobot(UnitType.BABY_RAT, center, Direction.EAST, 0, Team.A));
+        InternalRobot enemy = world.getObjectInfo().getRobotByID(
+                world.spawnRobot(UnitType.BABY_RAT, center.translate(2, 0), Direction.WEST, 0, Team.B));
+        RobotControllerImpl rc = rat.getController();
+
+        RobotInfo[] first = rc.senseNearbyRobots();
+        assertEquals(1, first.length);
+        assertEquals(enemy.getID(), first[0].getID());
+
+        // bots get their own array, and scribbling on it changes nothing
+        first[0] = null;
+        RobotInfo[] second = rc.senseNearbyRobots();
+        assertNotSame(first, second);
+        assertEquals(enemy.getID(), second[0].getID());
+
+        // nothing moved, but what's sensed about the robot is still current
+        enemy.addHealth(-1);
+        assertEquals(enemy.getHealth(), rc.senseNearbyRobots()[0].getHealth());
+
+        world.spawnRobot(UnitType.BABY_RAT, center.translate(3, 0), Direction.WEST, 0, Team.B);
+        assertEquals(2, rc.senseNearbyRobots().length);
+        assertEquals(0, rc.senseNearbyRobots(-1, Team.A).length);
+
+        MapLocation spot = center.translate(1, 0);
+        MapInfo[] infos = rc.senseNearbyMapInfos();
+        infos[0] = null;
+        assertEquals(0, infoAt(rc.senseNearbyMapInfos(), spot).getCheeseAmount());
+        world.addCheese(spot, 5);
+        assertEquals(5, infoAt(rc.senseNearbyMapInfos(), spot).getCheeseAmount());
+    }
+
+    @Test
+    public void testMapInfosSharedPerTeam() throws IOException {
+        GameWorld world = SqueakTest.newWorld();
+        MapLocation loc = SqueakTest.findEmptyBlock(world);
+
+        MapInfo seen = world.getMapInfo(loc, Team.A);
+        assertSame(seen, world.getMapInfo(loc, Team.A));
+        assertSame(seen, world.getMapInfo(new MapLocation(loc.x, loc.y), Team.A));
+
+        world.placeTrap(loc, new Trap(loc, TrapType.RAT_TRAP, Team.B, 1));
+        assertSame(seen, world.getMapInfo(loc, Team.A));
+        assertEquals(TrapType.RAT_TRAP, world.getMapInfo(loc, Team.B).getTrap());
+        assertEquals(TrapType.NONE, world.getMapInfo(loc, Team.A).getTrap());
+
+        world.setDirt(loc, true);
+        assertNotSame(seen, world.getMapInfo(loc, Team.A));
+        assertTrue(world.getMapInfo(loc, Team.A).isDirt());
+        assertFalse(world.getMapInfo(loc, Team.B).isPassable());
+    }
+
+    @Test
+    public void testRobotInfoKeptUntilChanged() throws IOException {
+        GameWorld world = SqueakTest.newWorld();
+        MapLocation center = SqueakTest.findEmptyBlock(world);
+        InternalRobot rat = world.getObjectInfo().getRobotByID(
+                world.spawnRobot(UnitType.BABY_RAT, center, Direction.EAST, 0, Team.A));
+        InternalRobot other = world.getObjectInfo().getRobotByID(
+                world.spawnRobot(UnitType.BABY_RAT, center.translate(1, 0), Direction.WEST, 0, Team.B));
+
+        RobotInfo info = rat.getRobotInfo();
+        assertSame(info, rat.getRobotInfo());
+        rat.addHealth(-1);
+        assertEquals(rat.getHealth(), rat.getRobotInfo().getHealth());
+        rat.addCheese(3);
+        assertEquals(3, rat.getRobotInfo().getRawCheeseAmount());
+        rat.setDirection(Direction.NORTH);
+        assertEquals(Direction.NORTH, rat.getRobotInfo().getDirection());
+
+        // the carried robot's info is part of the carrier's, and kept current
+        rat.grabRobot(other.getLocation());
+        RobotInfo carrying = rat.getRobotInfo();
+        assertSame(other.getRobotInfo(), carrying.getCarryingRobot());
+        assertSame(carrying, rat.getRobotInfo());
+        other.addHealth(-2);
+        assertEquals(other.getHealth(), rat.getRobotInfo().getCarryingRobot().getHealth());
+        assertSame(rat.getRobotInfo(), rat.getRobotInfo());
+
+        rat.clearCarryingRobot();
+        assertNull(rat.getRobotInfo().getCarryingRobot());
+    }
+}
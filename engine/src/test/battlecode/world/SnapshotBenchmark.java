@@ -0,0 +1,70 @@
+package battlecode.world;
+
+import battlecode.server.GameInfo;
+import battlecode.server.GameMaker;
+import battlecode.server.GameState;
+import battlecode.world.control.NullControlProvider;
+
+/**
+ * Measures how long GameWorld.snapshot takes next to running a round, on
+ * the bundled maps.
+ *
+ * Not a unit test: run it by hand, e.g.
+ *
+ *   java battlecode.world.SnapshotBenchmark DefaultLarge evileye
+ *
+ * With no arguments it uses the largest bundled maps. Nobody controls the
+ * robots, so rounds are as cheap as they get and the overhead shown is an
+ * upper bound on what snapshotting every round costs a real match.
+ */
+public class SnapshotBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        final String[] maps = args.length > 0 ? args
+                : new String[]{"DefaultLarge", "cheeseguardians", "evileye"};
+        final int rounds = 500;
+        final ClassLoader loader = SnapshotBenchmark.class.getClassLoader();
+
+        System.out.printf("%16s %12s %14s %12s %10s%n", "map", "us/round", "us/snapshot", "bytes", "overhead");
+        for (String name : maps) {
+            final LiveMap map = GameMapIO.loadMapAsResource(loader, GameMapIO.DEFAULT_MAP_PACKAGE, name, false);
+
+            // warm up the JIT so the first map isn't penalized
+            run(map, rounds);
+
+            final long[] times = run(map, rounds);
+            final double roundMicros = times[0] / 1e3 / times[2];
+            final double snapshotMicros = times[1] / 1e3 / times[2];
+            System.out.printf("%16s %12.1f %14.1f %12d %9.1f%%%n", name, roundMicros, snapshotMicros, times[3],
+                    100 * snapshotMicros / roundMicros);
+        }
+    }
+
+    /**
+     * @return nanoseconds running rounds, nanoseconds snapshotting, rounds
+     *         run and the size of the last snapshot
+     */
+    private static long[] run(LiveMap map, int rounds) {
+        final GameMaker gameMaker = new GameMaker(new GameInfo("a", "a", null, "b", "b", null,
+                new String[]{map.getMapName()}, null, false), null, false, false);
+        gameMaker.makeGameHeader();
+        final GameWorld world = new GameWorld(map, new NullControlProvider(), gameMaker.getMatchMaker());
+
+        long roundTime = 0;
+        long snapshotTime = 0;
+        long size = 0;
+        int run = 0;
+        while (run < rounds) {
+            final long start = System.nanoTime();
+            if (world.runRound() == GameState.DONE) {
+                break;
+            }
+            final long middle = System.nanoTime();
+            size = world.snapshot().size();
+            snapshotTime += System.nanoTime() - middle;
+            roundTime += middle - start;
+            run++;
+        }
+        return new long[]{roundTime, snapshotTime, run, size};
+    }
+}
@@ -0,0 +1,103 @@
+package battlecode.world;
+
+import battlecode.common.Direction;
+import battlecode.common.MapLocation;
+import battlecode.common.Message;
+import battlecode.common.Team;
+import battlecode.common.UnitType;
+import battlecode.server.GameMaker;
+import battlecode.world.control.NullControlProvider;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class SqueakTest {
+
+    /**
+     * @return the middle of a 9x9 block of the map with nobody in it
+     */
+    static MapLocation findEmptyBlock(GameWorld world) {
+        LiveMap map = world.getGameMap();
+        for (int x = 4; x < map.getWidth() - 4; x++) {
+            for (int y = 4; y < map.getHeight() - 4; y++) {
+                boolean empty = true;
+                for (int dx = -4; dx <= 4 && empty; dx++) {
+                    for (int dy = -4; dy <= 4 && empty; dy++) {
+                        empty = world.getRobot(new MapLocation(x + dx, y + dy)) == null;
+                    }
+                }
+                if (empty) {
+                    return new MapLocation(x, y);
+                }
+            }
+        }
+        throw new AssertionError("no room on the map");
+    }
+
+    static GameWorld newWorld() throws IOException {
+        LiveMap map = GameMapIO.loadMapAsResource(SqueakTest.class.getClassLoader(),
+                GameMapIO.DEFAULT_MAP_PACKAGE, "DefaultSmall", false);
+        return new GameWorld(map, new NullControlProvider(), Mockito.mock(GameMaker.MatchMaker.class));
+    }
+
+    @Test
+    public void testDeliveredOncePerRobot() throws IOException {
+        GameWorld world = newWorld();
+        MapLocation center = findEmptyBlock(world);
+        InternalRobot king = world.getObjectInfo().getRobotByID(
+                world.spawnRobot(UnitType.RAT_KING, center, Direction.NORTH, 0, Team.A));
+        InternalRobot sender = world.getObjectInfo().getRobotByID(
+                world.spawnRobot(UnitType.BABY_RAT, center.translate(3, 0), Direction.NORTH, 0, Team.A));
+        InternalRobot enemy = world.getObjectInfo().getRobotByID(
+                world.spawnRobot(UnitType.BABY_RAT, center.translate(-3, 0), Direction.NORTH, 0, Team.B));
+
+        Message first = new Message(1, sender.getID(), 1, sender.getLocation());
+        Message second = new Message(2, sender.getID(), 1, sender.getLocation());
+        world.squeak(sender, first);
+        world.squeak(sender, second);
+
+        // all nine of the king's squares are in range, but it hears each squeak once
+        assertArrayEquals(new Message[]{first, second}, king.getMessages());
+        assertSame(first, king.getMessages()[0]);
+        assertArrayEquals(new Message[]{first, second}, sender.getMessages());
+        assertEquals(0, enemy.getMessages().length);
+    }
+
+    @Test
+    public void testInboxByRound() throws IOException {
+        GameWorld world = newWorld();
+        InternalRobot rat = world.getObjectInfo().getRobotByID(
+                world.spawnRobot(UnitType.BABY_RAT, findEmptyBlock(world), Direction.NORTH, 0, Team.A));
+
+        // enough to wrap around and grow the ring a few times
+        List<Message> sent = new ArrayList<>();
+        for (int round = 1; round <= 10; round++) {
+            for (int i = 0; i < round; i++) {
+                Message message = new Message(i, 1, round, null);
+                rat.addMessage(message);
+                sent.add(message);
+            }
+            if (round % 3 == 0) {
+                rat.popMessage();
+                sent.remove(0);
+            }
+        }
+
+        assertArrayEquals(sent.toArray(), rat.getMessages());
+        assertArrayEquals(sent.toArray(), rat.getMessages(-1));
+        for (int round = 0; round <= 11; round++) {
+            List<Message> expected = new ArrayList<>();
+            for (Message message : sent) {
+                if (message.getRound() == round) {
+                    expected.add(message);
+                }
+            }
+            assertArrayEquals(expected.toArray(), rat.getMessages(round));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package battlecode.world;
+
+import battlecode.common.MapLocation;
+import battlecode.common.Team;
+import battlecode.common.TrapType;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class TrapIndexTest {
+
+    private static final int WIDTH = 10;
+    private static final int HEIGHT = 8;
+
+    private static Trap place(TrapIndex index, int x, int y, int id) {
+        Trap trap = new Trap(new MapLocation(x, y), TrapType.RAT_TRAP, Team.A, id);
+        index.add(trap, x + y * WIDTH);
+        return trap;
+    }
+
+    private static List<Integer> triggersNewestFirst(TrapIndex index, int x, int y) {
+        List<Integer> ids = new ArrayList<>();
+        for (int n = index.lastTrigger(x + y * WIDTH); n >= 0; n = index.previousTrigger(n)) {
+            ids.add(index.getTrigger(n).getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void testCoverage() {
+        TrapIndex index = new TrapIndex(WIDTH, HEIGHT);
+        assertEquals(-1, index.lastTrigger(0));
+
+        place(index, 0, 0, 1);
+        int radiusSquared = TrapType.RAT_TRAP.triggerRadiusSquared;
+        for (int x = 0; x < WIDTH; x++) {
+            for (int y = 0; y < HEIGHT; y++) {
+                boolean covered = x * x + y * y <= radiusSquared;
+                assertEquals(covered ? Arrays.asList(1) : new ArrayList<Integer>(), triggersNewestFirst(index, x, y));
+            }
+        }
+    }
+
+    @Test
+    public void testOrderAndRemoval() {
+        TrapIndex index = new TrapIndex(WIDTH, HEIGHT);
+        place(index, 4, 4, 30);
+        place(index, 5, 4, 10);
+        place(index, 4, 5, 20);
+        assertEquals(Arrays.asList(20, 10, 30), triggersNewestFirst(index, 4, 4));
+
+        index.remove(5 + 4 * WIDTH);
+        assertNull(index.getTrap(5 + 4 * WIDTH));
+        assertEquals(Arrays.asList(20, 30), triggersNewestFirst(index, 4, 4));
+
+        // a replacement goes to the front, not back where the old one was
+        place(index, 5, 4, 40);
+        assertEquals(Arrays.asList(40, 20, 30), triggersNewestFirst(index, 4, 4));
+    }
+
+    @Test
+    public void testRemoveDuringWalk() {
+        TrapIndex index = new TrapIndex(WIDTH, HEIGHT);
+        place(index, 4, 4, 1);
+        place(index, 5, 4, 2);
+        place(index, 4, 5, 3);
+        place(index, 5, 5, 4);
+
+        // trigger everything, and take out the next one too on the way past
+        List<Integer> seen = new ArrayList<>();
+        int square = 4 + 4 * WIDTH;
+        for (int n = index.lastTrigger(square); n >= 0; n = index.previousTrigger(n)) {
+            Trap trap = index.getTrigger(n);
+            seen.add(trap.getId());
+            index.remove(trap.getLocation().x + trap.getLocation().y * WIDTH);
+            if (trap.getId() == 4) {
+                index.remove(4 + 5 * WIDTH);
+            }
+        }
+        assertEquals(Arrays.asList(4, 2, 1), seen);
+        assertEquals(-1, index.lastTrigger(square));
+    }
+}
@@ -0,0 +1,90 @@
+package battlecode.world;
+
+import battlecode.common.MapLocation;
+import battlecode.common.Team;
+import battlecode.server.GameMaker;
+import battlecode.server.GameState;
+import battlecode.world.control.NullControlProvider;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static org.junit.Assert.*;
+
+public class WorldSnapshotTest {
+
+    private static LiveMap loadMap(String name) throws IOException {
+        return GameMapIO.loadMapAsResource(WorldSnapshotTest.class.getClassLoader(),
+                GameMapIO.DEFAULT_MAP_PACKAGE, name, false);
+    }
+
+    private static GameWorld newWorld(LiveMap map) {
+        return new GameWorld(map, new NullControlProvider(), Mockito.mock(GameMaker.MatchMaker.class));
+    }
+
+    private static void runRounds(GameWorld world, int rounds) {
+        for (int i = 0; i < rounds; i++) {
+            if (world.runRound() == GameState.DONE) {
+                return;
+            }
+        }
+    }
+
+    private static byte[] bytesOf(WorldSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshot.writeTo(bytes);
+        return bytes.toByteArray();
+    }
+
+    @Test
+    public void testRestoredWorldPlaysOnTheSame() throws IOException {
+        LiveMap map = loadMap("DefaultSmall");
+        GameWorld world = newWorld(map);
+        runRounds(world, 150);
+
+        // through bytes, the way the server saves them
+        byte[] saved = bytesOf(world.snapshot());
+        WorldSnapshot snapshot = WorldSnapshot.readFrom(new ByteArrayInputStream(saved));
+        assertEquals(world.getCurrentRound(), snapshot.getRound());
+        assertEquals(map.getMapName(), snapshot.getMapName());
+
+        GameWorld restored = GameWorld.restore(map, snapshot, new NullControlProvider(),
+                Mockito.mock(GameMaker.MatchMaker.class));
+        assertEquals(world.getCurrentRound(), restored.getCurrentRound());
+        assertEquals(world.getNumCats(), restored.getNumCats());
+        for (Team team : new Team[]{Team.A, Team.B}) {
+            assertEquals(world.getTeamInfo().getCheese(team), restored.getTeamInfo().getCheese(team));
+            assertEquals(world.getObjectInfo().getRobotCount(team), restored.getObjectInfo().getRobotCount(team));
+        }
+        for (int x = 0; x < map.getWidth(); x++) {
+            for (int y = 0; y < map.getHeight(); y++) {
+                MapLocation loc = new MapLocation(x, y);
+                assertEquals(world.getCheese(loc), restored.getCheese(loc));
+                assertEquals(world.getRobot(loc), restored.getRobot(loc));
+            }
+        }
+        assertArrayEquals(saved, bytesOf(restored.snapshot()));
+
+        // the cats and cheese mines carry on exactly as they would have
+        runRounds(world, 300);
+        runRounds(restored, 300);
+        assertEquals(world.getCurrentRound(), restored.getCurrentRound());
+        assertEquals(world.getWinner(), restored.getWinner());
+        assertArrayEquals(bytesOf(world.snapshot()), bytesOf(restored.snapshot()));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testRestoreOnOtherMap() throws IOException {
+        WorldSnapshot snapshot = newWorld(loadMap("DefaultSmall")).snapshot();
+        GameWorld.restore(loadMap("DefaultMedium"), snapshot, new NullControlProvider(),
+                Mockito.mock(GameMaker.MatchMaker.class));
+    }
+
+    @Test(expected = IOException.class)
+    public void testReadGarbage() throws IOException {
+        WorldSnapshot.readFrom(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5, 6, 7, 8}));
+    }
+}
@@ -0,0 +1,9 @@
+package instrumentertest;
+
+/**
+ * Used to test hashCode instrumentation of a player class whose superclass
+ * is also a player class.
+ */
+@SuppressWarnings("unused")
+public class ExtendsDoesntOverrideHashCode extends DoesntOverrideHashCode {
+}
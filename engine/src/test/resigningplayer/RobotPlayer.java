@@ -0,0 +1,14 @@
+package resigningplayer;
+
+import battlecode.common.*;
+
+/**
+ * A RobotPlayer that gives up straight away, so that its matches are over
+ * in a round.
+ */
+@SuppressWarnings("unused")
+public class RobotPlayer {
+    public static void run(RobotController rc) throws GameActionException {
+        rc.resign();
+    }
+}
@@ -61,19 +61,31 @@ public final class GameWrapper extends Table {
   public IntVector matchFootersVector(IntVector obj) { int o = __offset(8); return o != 0 ? obj.__assign(__vector(o), bb) : null; }
   public ByteBuffer matchFootersAsByteBuffer() { return __vector_as_bytebuffer(8, 4); }
   public ByteBuffer matchFootersInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 8, 4); }
+  /**
+   * A gzipped RobotLogs buffer holding robot output for the whole game.
+   * Absent if no robot printed anything.
+   */
+  public int logs(int j) { int o = __offset(10); return o != 0 ? bb.get(__vector(o) + j * 1) & 0xFF : 0; }
+  public int logsLength() { int o = __offset(10); return o != 0 ? __vector_len(o) : 0; }
+  public ByteVector logsVector() { return logsVector(new ByteVector()); }
+  public ByteVector logsVector(ByteVector obj) { int o = __offset(10); return o != 0 ? obj.__assign(__vector(o), bb) : null; }
+  public ByteBuffer logsAsByteBuffer() { return __vector_as_bytebuffer(10, 1); }
+  public ByteBuffer logsInByteBuffer(ByteBuffer _bb) { return __vector_in_bytebuffer(_bb, 10, 1); }
 
   public static int createGameWrapper(FlatBufferBuilder builder,
       int eventsOffset,
       int matchHeadersOffset,
-      int matchFootersOffset) {
-    builder.startTable(3);
+      int matchFootersOffset,
+      int logsOffset) {
+    builder.startTable(4);
+    GameWrapper.addLogs(builder, logsOffset);
     GameWrapper.addMatchFooters(builder, matchFootersOffset);
     GameWrapper.addMatchHeaders(builder, matchHeadersOffset);
     GameWrapper.addEvents(builder, eventsOffset);
     return GameWrapper.endGameWrapper(builder);
   }
 
-  public static void startGameWrapper(FlatBufferBuilder builder) { builder.startTable(3); }
+  public static void startGameWrapper(FlatBufferBuilder builder) { builder.startTable(4); }
   public static void addEvents(FlatBufferBuilder builder, int eventsOffset) { builder.addOffset(0, eventsOffset, 0); }
   public static int createEventsVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addOffset(data[i]); return builder.endVector(); }
   public static void startEventsVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
@@ -83,6 +95,10 @@ public final class GameWrapper extends Table {
   public static void addMatchFooters(FlatBufferBuilder builder, int matchFootersOffset) { builder.addOffset(2, matchFootersOffset, 0); }
   public static int createMatchFootersVector(FlatBufferBuilder builder, int[] data) { builder.startVector(4, data.length, 4); for (int i = data.length - 1; i >= 0; i--) builder.addInt(data[i]); return builder.endVector(); }
   public static void startMatchFootersVector(FlatBufferBuilder builder, int numElems) { builder.startVector(4, numElems, 4); }
+  public static void addLogs(FlatBufferBuilder builder, int logsOffset) { builder.addOffset(3, logsOffset, 0); }
+  public static int createLogsVector(FlatBufferBuilder builder, byte[] data) { return builder.createByteVector(data); }
+  public static int createLogsVector(FlatBufferBuilder builder, ByteBuffer data) { return builder.createByteVector(data); }
+  public static void startLogsVector(FlatBufferBuilder builder, int numElems) { builder.startVector(1, numElems, 1); }
   public static int endGameWrapper(FlatBufferBuilder builder) {
     int o = builder.endTable();
     return o;
@@ -33,6 +33,8 @@ export { RatCollision } from './schema/rat-collision';
 export { RatNap } from './schema/rat-nap';
 export { RatSqueak } from './schema/rat-squeak';
 export { RemoveTrap } from './schema/remove-trap';
+export { RobotLog } from './schema/robot-log';
+export { RobotLogs } from './schema/robot-logs';
 export { RobotType } from './schema/robot-type';
 export { RobotTypeMetadata } from './schema/robot-type-metadata';
 export { Round } from './schema/round';
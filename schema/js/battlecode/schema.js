@@ -1,7 +1,7 @@
 "use strict";
 // automatically generated by the FlatBuffers compiler, do not modify
 Object.defineProperty(exports, "__esModule", { value: true });
-exports.WinType = exports.VecTable = exports.Vec = exports.UpgradeToRatKing = exports.Turn = exports.TriggerTrap = exports.TrapType = exports.TimelineMarker = exports.ThrowRat = exports.TeamData = exports.StunAction = exports.SpawnAction = exports.Round = exports.RobotTypeMetadata = exports.RobotType = exports.RemoveTrap = exports.RatSqueak = exports.RatNap = exports.RatCollision = exports.RatAttack = exports.ProfilerProfile = exports.ProfilerFile = exports.ProfilerEvent = exports.PlaceTrap = exports.PlaceDirt = exports.MatchHeader = exports.MatchFooter = exports.InitialBodyTable = exports.IndicatorStringAction = exports.IndicatorLineAction = exports.IndicatorDotAction = exports.GameplayConstants = exports.GameWrapper = exports.GameMap = exports.GameHeader = exports.GameFooter = exports.EventWrapper = exports.Event = exports.DieType = exports.DieAction = exports.DamageAction = exports.CreateRatKing = exports.CheeseTransfer = exports.CheeseSpawn = exports.CheesePickup = exports.CatScratch = exports.CatPounce = exports.CatFeed = exports.BreakDirt = exports.Action = void 0;
+exports.WinType = exports.VecTable = exports.Vec = exports.UpgradeToRatKing = exports.Turn = exports.TriggerTrap = exports.TrapType = exports.TimelineMarker = exports.ThrowRat = exports.TeamData = exports.StunAction = exports.SpawnAction = exports.Round = exports.RobotTypeMetadata = exports.RobotType = exports.RobotLogs = exports.RobotLog = exports.RemoveTrap = exports.RatSqueak = exports.RatNap = exports.RatCollision = exports.RatAttack = exports.ProfilerProfile = exports.ProfilerFile = exports.ProfilerEvent = exports.PlaceTrap = exports.PlaceDirt = exports.MatchHeader = exports.MatchFooter = exports.InitialBodyTable = exports.IndicatorStringAction = exports.IndicatorLineAction = exports.IndicatorDotAction = exports.GameplayConstants = exports.GameWrapper = exports.GameMap = exports.GameHeader = exports.GameFooter = exports.EventWrapper = exports.Event = exports.DieType = exports.DieAction = exports.DamageAction = exports.CreateRatKing = exports.CheeseTransfer = exports.CheeseSpawn = exports.CheesePickup = exports.CatScratch = exports.CatPounce = exports.CatFeed = exports.BreakDirt = exports.Action = void 0;
 /* eslint-disable @typescript-eslint/no-unused-vars, @typescript-eslint/no-explicit-any, @typescript-eslint/no-non-null-assertion */
 var action_1 = require("./schema/action");
 Object.defineProperty(exports, "Action", { enumerable: true, get: function () { return action_1.Action; } });
@@ -73,6 +73,10 @@ var rat_squeak_1 = require("./schema/rat-squeak");
 Object.defineProperty(exports, "RatSqueak", { enumerable: true, get: function () { return rat_squeak_1.RatSqueak; } });
 var remove_trap_1 = require("./schema/remove-trap");
 Object.defineProperty(exports, "RemoveTrap", { enumerable: true, get: function () { return remove_trap_1.RemoveTrap; } });
+var robot_log_1 = require("./schema/robot-log");
+Object.defineProperty(exports, "RobotLog", { enumerable: true, get: function () { return robot_log_1.RobotLog; } });
+var robot_logs_1 = require("./schema/robot-logs");
+Object.defineProperty(exports, "RobotLogs", { enumerable: true, get: function () { return robot_logs_1.RobotLogs; } });
 var robot_type_1 = require("./schema/robot-type");
 Object.defineProperty(exports, "RobotType", { enumerable: true, get: function () { return robot_type_1.RobotType; } });
 var robot_type_metadata_1 = require("./schema/robot-type-metadata");
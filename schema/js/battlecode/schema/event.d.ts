@@ -2,6 +2,7 @@ import { GameFooter } from '../../battlecode/schema/game-footer';
 import { GameHeader } from '../../battlecode/schema/game-header';
 import { MatchFooter } from '../../battlecode/schema/match-footer';
 import { MatchHeader } from '../../battlecode/schema/match-header';
+import { RobotLogs } from '../../battlecode/schema/robot-logs';
 import { Round } from '../../battlecode/schema/round';
 /**
  * Events
@@ -35,7 +36,12 @@ export declare enum Event {
     /**
      * There should only be one GameFooter, at the end of the stream.
      */
-    GameFooter = 5
+    GameFooter = 5,
+    /**
+     * Robot output printed during the preceding round. Only sent to live
+     * clients; saved games keep their logs in GameWrapper.logs instead.
+     */
+    RobotLogs = 6
 }
-export declare function unionToEvent(type: Event, accessor: (obj: GameFooter | GameHeader | MatchFooter | MatchHeader | Round) => GameFooter | GameHeader | MatchFooter | MatchHeader | Round | null): GameFooter | GameHeader | MatchFooter | MatchHeader | Round | null;
-export declare function unionListToEvent(type: Event, accessor: (index: number, obj: GameFooter | GameHeader | MatchFooter | MatchHeader | Round) => GameFooter | GameHeader | MatchFooter | MatchHeader | Round | null, index: number): GameFooter | GameHeader | MatchFooter | MatchHeader | Round | null;
+export declare function unionToEvent(type: Event, accessor: (obj: GameFooter | GameHeader | MatchFooter | MatchHeader | RobotLogs | Round) => GameFooter | GameHeader | MatchFooter | MatchHeader | RobotLogs | Round | null): GameFooter | GameHeader | MatchFooter | MatchHeader | RobotLogs | Round | null;
+export declare function unionListToEvent(type: Event, accessor: (index: number, obj: GameFooter | GameHeader | MatchFooter | MatchHeader | RobotLogs | Round) => GameFooter | GameHeader | MatchFooter | MatchHeader | RobotLogs | Round | null, index: number): GameFooter | GameHeader | MatchFooter | MatchHeader | RobotLogs | Round | null;
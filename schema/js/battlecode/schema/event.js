@@ -9,6 +9,7 @@ var game_footer_1 = require("../../battlecode/schema/game-footer");
 var game_header_1 = require("../../battlecode/schema/game-header");
 var match_footer_1 = require("../../battlecode/schema/match-footer");
 var match_header_1 = require("../../battlecode/schema/match-header");
+var robot_logs_1 = require("../../battlecode/schema/robot-logs");
 var round_1 = require("../../battlecode/schema/round");
 /**
  * Events
@@ -44,6 +45,11 @@ var Event;
      * There should only be one GameFooter, at the end of the stream.
      */
     Event[Event["GameFooter"] = 5] = "GameFooter";
+    /**
+     * Robot output printed during the preceding round. Only sent to live
+     * clients; saved games keep their logs in GameWrapper.logs instead.
+     */
+    Event[Event["RobotLogs"] = 6] = "RobotLogs";
 })(Event || (exports.Event = Event = {}));
 function unionToEvent(type, accessor) {
     switch (Event[type]) {
@@ -53,6 +59,7 @@ function unionToEvent(type, accessor) {
         case 'Round': return accessor(new round_1.Round());
         case 'MatchFooter': return accessor(new match_footer_1.MatchFooter());
         case 'GameFooter': return accessor(new game_footer_1.GameFooter());
+        case 'RobotLogs': return accessor(new robot_logs_1.RobotLogs());
         default: return null;
     }
 }
@@ -64,6 +71,7 @@ function unionListToEvent(type, accessor, index) {
         case 'Round': return accessor(index, new round_1.Round());
         case 'MatchFooter': return accessor(index, new match_footer_1.MatchFooter());
         case 'GameFooter': return accessor(index, new game_footer_1.GameFooter());
+        case 'RobotLogs': return accessor(index, new robot_logs_1.RobotLogs());
         default: return null;
     }
 }
@@ -31,6 +31,13 @@ export declare class GameWrapper {
     matchFooters(index: number): number | null;
     matchFootersLength(): number;
     matchFootersArray(): Int32Array | null;
+    /**
+     * A gzipped RobotLogs buffer holding robot output for the whole game.
+     * Absent if no robot printed anything.
+     */
+    logs(index: number): number | null;
+    logsLength(): number;
+    logsArray(): Uint8Array | null;
     static startGameWrapper(builder: flatbuffers.Builder): void;
     static addEvents(builder: flatbuffers.Builder, eventsOffset: flatbuffers.Offset): void;
     static createEventsVector(builder: flatbuffers.Builder, data: flatbuffers.Offset[]): flatbuffers.Offset;
@@ -49,6 +56,9 @@ export declare class GameWrapper {
      */
     static createMatchFootersVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
     static startMatchFootersVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addLogs(builder: flatbuffers.Builder, logsOffset: flatbuffers.Offset): void;
+    static createLogsVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startLogsVector(builder: flatbuffers.Builder, numElems: number): void;
     static endGameWrapper(builder: flatbuffers.Builder): flatbuffers.Offset;
-    static createGameWrapper(builder: flatbuffers.Builder, eventsOffset: flatbuffers.Offset, matchHeadersOffset: flatbuffers.Offset, matchFootersOffset: flatbuffers.Offset): flatbuffers.Offset;
+    static createGameWrapper(builder: flatbuffers.Builder, eventsOffset: flatbuffers.Offset, matchHeadersOffset: flatbuffers.Offset, matchFootersOffset: flatbuffers.Offset, logsOffset: flatbuffers.Offset): flatbuffers.Offset;
 }
@@ -71,8 +71,24 @@ var GameWrapper = /** @class */ (function () {
         var offset = this.bb.__offset(this.bb_pos, 8);
         return offset ? new Int32Array(this.bb.bytes().buffer, this.bb.bytes().byteOffset + this.bb.__vector(this.bb_pos + offset), this.bb.__vector_len(this.bb_pos + offset)) : null;
     };
+    /**
+     * A gzipped RobotLogs buffer holding robot output for the whole game.
+     * Absent if no robot printed anything.
+     */
+    GameWrapper.prototype.logs = function (index) {
+        var offset = this.bb.__offset(this.bb_pos, 10);
+        return offset ? this.bb.readUint8(this.bb.__vector(this.bb_pos + offset) + index) : 0;
+    };
+    GameWrapper.prototype.logsLength = function () {
+        var offset = this.bb.__offset(this.bb_pos, 10);
+        return offset ? this.bb.__vector_len(this.bb_pos + offset) : 0;
+    };
+    GameWrapper.prototype.logsArray = function () {
+        var offset = this.bb.__offset(this.bb_pos, 10);
+        return offset ? new Uint8Array(this.bb.bytes().buffer, this.bb.bytes().byteOffset + this.bb.__vector(this.bb_pos + offset), this.bb.__vector_len(this.bb_pos + offset)) : null;
+    };
     GameWrapper.startGameWrapper = function (builder) {
-        builder.startObject(3);
+        builder.startObject(4);
     };
     GameWrapper.addEvents = function (builder, eventsOffset) {
         builder.addFieldOffset(0, eventsOffset, 0);
@@ -113,15 +129,29 @@ var GameWrapper = /** @class */ (function () {
     GameWrapper.startMatchFootersVector = function (builder, numElems) {
         builder.startVector(4, numElems, 4);
     };
+    GameWrapper.addLogs = function (builder, logsOffset) {
+        builder.addFieldOffset(3, logsOffset, 0);
+    };
+    GameWrapper.createLogsVector = function (builder, data) {
+        builder.startVector(1, data.length, 1);
+        for (var i = data.length - 1; i >= 0; i--) {
+            builder.addInt8(data[i]);
+        }
+        return builder.endVector();
+    };
+    GameWrapper.startLogsVector = function (builder, numElems) {
+        builder.startVector(1, numElems, 1);
+    };
     GameWrapper.endGameWrapper = function (builder) {
         var offset = builder.endObject();
         return offset;
     };
-    GameWrapper.createGameWrapper = function (builder, eventsOffset, matchHeadersOffset, matchFootersOffset) {
+    GameWrapper.createGameWrapper = function (builder, eventsOffset, matchHeadersOffset, matchFootersOffset, logsOffset) {
         GameWrapper.startGameWrapper(builder);
         GameWrapper.addEvents(builder, eventsOffset);
         GameWrapper.addMatchHeaders(builder, matchHeadersOffset);
         GameWrapper.addMatchFooters(builder, matchFootersOffset);
+        GameWrapper.addLogs(builder, logsOffset);
         return GameWrapper.endGameWrapper(builder);
     };
     return GameWrapper;
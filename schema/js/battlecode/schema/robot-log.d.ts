@@ -0,0 +1,34 @@
+import * as flatbuffers from 'flatbuffers';
+/**
+ * Output printed by a single robot during a single turn.
+ */
+export declare class RobotLog {
+    bb: flatbuffers.ByteBuffer | null;
+    bb_pos: number;
+    __init(i: number, bb: flatbuffers.ByteBuffer): RobotLog;
+    static getRootAsRobotLog(bb: flatbuffers.ByteBuffer, obj?: RobotLog): RobotLog;
+    static getSizePrefixedRootAsRobotLog(bb: flatbuffers.ByteBuffer, obj?: RobotLog): RobotLog;
+    /**
+     * The index of the match in the game.
+     */
+    match(): number;
+    round(): number;
+    robotId(): number;
+    team(): number;
+    /**
+     * The printed text, UTF-8 encoded.
+     */
+    text(index: number): number | null;
+    textLength(): number;
+    textArray(): Uint8Array | null;
+    static startRobotLog(builder: flatbuffers.Builder): void;
+    static addMatch(builder: flatbuffers.Builder, match: number): void;
+    static addRound(builder: flatbuffers.Builder, round: number): void;
+    static addRobotId(builder: flatbuffers.Builder, robotId: number): void;
+    static addTeam(builder: flatbuffers.Builder, team: number): void;
+    static addText(builder: flatbuffers.Builder, textOffset: flatbuffers.Offset): void;
+    static createTextVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startTextVector(builder: flatbuffers.Builder, numElems: number): void;
+    static endRobotLog(builder: flatbuffers.Builder): flatbuffers.Offset;
+    static createRobotLog(builder: flatbuffers.Builder, match: number, round: number, robotId: number, team: number, textOffset: flatbuffers.Offset): flatbuffers.Offset;
+}
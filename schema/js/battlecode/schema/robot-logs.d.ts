@@ -0,0 +1,34 @@
+import * as flatbuffers from 'flatbuffers';
+import { RobotLog } from '../../battlecode/schema/robot-log';
+/**
+ * A batch of robot output.
+ */
+export declare class RobotLogs {
+    bb: flatbuffers.ByteBuffer | null;
+    bb_pos: number;
+    __init(i: number, bb: flatbuffers.ByteBuffer): RobotLogs;
+    static getRootAsRobotLogs(bb: flatbuffers.ByteBuffer, obj?: RobotLogs): RobotLogs;
+    static getSizePrefixedRootAsRobotLogs(bb: flatbuffers.ByteBuffer, obj?: RobotLogs): RobotLogs;
+    logs(index: number, obj?: RobotLog): RobotLog | null;
+    logsLength(): number;
+    /**
+     * The number of bytes each team printed that did not fit in its log
+     * buffer, indexed by team ID.
+     */
+    droppedBytes(index: number): number | null;
+    droppedBytesLength(): number;
+    droppedBytesArray(): Int32Array | null;
+    static startRobotLogs(builder: flatbuffers.Builder): void;
+    static addLogs(builder: flatbuffers.Builder, logsOffset: flatbuffers.Offset): void;
+    static createLogsVector(builder: flatbuffers.Builder, data: flatbuffers.Offset[]): flatbuffers.Offset;
+    static startLogsVector(builder: flatbuffers.Builder, numElems: number): void;
+    static addDroppedBytes(builder: flatbuffers.Builder, droppedBytesOffset: flatbuffers.Offset): void;
+    static createDroppedBytesVector(builder: flatbuffers.Builder, data: number[] | Int32Array): flatbuffers.Offset;
+    /**
+     * @deprecated This Uint8Array overload will be removed in the future.
+     */
+    static createDroppedBytesVector(builder: flatbuffers.Builder, data: number[] | Uint8Array): flatbuffers.Offset;
+    static startDroppedBytesVector(builder: flatbuffers.Builder, numElems: number): void;
+    static endRobotLogs(builder: flatbuffers.Builder): flatbuffers.Offset;
+    static createRobotLogs(builder: flatbuffers.Builder, logsOffset: flatbuffers.Offset, droppedBytesOffset: flatbuffers.Offset): flatbuffers.Offset;
+}
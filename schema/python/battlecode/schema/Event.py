@@ -23,3 +23,6 @@ class Event(object):
     MatchFooter = 4
     # There should only be one GameFooter, at the end of the stream.
     GameFooter = 5
+    # Robot output printed during the preceding round. Only sent to live
+    # clients; saved games keep their logs in GameWrapper.logs instead.
+    RobotLogs = 6
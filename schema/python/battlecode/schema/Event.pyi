@@ -15,4 +15,5 @@ class Event(object):
   Round: int
   MatchFooter: int
   GameFooter: int
+  RobotLogs: int
 
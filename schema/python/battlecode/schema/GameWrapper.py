@@ -114,8 +114,37 @@ class GameWrapper(object):
         o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(8))
         return o == 0
 
+    # A gzipped RobotLogs buffer holding robot output for the whole game.
+    # Absent if no robot printed anything.
+    # GameWrapper
+    def Logs(self, j: int):
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(10))
+        if o != 0:
+            a = self._tab.Vector(o)
+            return self._tab.Get(flatbuffers.number_types.Uint8Flags, a + flatbuffers.number_types.UOffsetTFlags.py_type(j * 1))
+        return 0
+
+    # GameWrapper
+    def LogsAsNumpy(self):
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(10))
+        if o != 0:
+            return self._tab.GetVectorAsNumpy(flatbuffers.number_types.Uint8Flags, o)
+        return 0
+
+    # GameWrapper
+    def LogsLength(self) -> int:
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(10))
+        if o != 0:
+            return self._tab.VectorLen(o)
+        return 0
+
+    # GameWrapper
+    def LogsIsNone(self) -> bool:
+        o = flatbuffers.number_types.UOffsetTFlags.py_type(self._tab.Offset(10))
+        return o == 0
+
 def GameWrapperStart(builder: flatbuffers.Builder):
-    builder.StartObject(3)
+    builder.StartObject(4)
 
 def Start(builder: flatbuffers.Builder):
     GameWrapperStart(builder)
@@ -156,6 +185,18 @@ def GameWrapperStartMatchFootersVector(builder, numElems: int) -> int:
 def StartMatchFootersVector(builder, numElems: int) -> int:
     return GameWrapperStartMatchFootersVector(builder, numElems)
 
+def GameWrapperAddLogs(builder: flatbuffers.Builder, logs: int):
+    builder.PrependUOffsetTRelativeSlot(3, flatbuffers.number_types.UOffsetTFlags.py_type(logs), 0)
+
+def AddLogs(builder: flatbuffers.Builder, logs: int):
+    GameWrapperAddLogs(builder, logs)
+
+def GameWrapperStartLogsVector(builder, numElems: int) -> int:
+    return builder.StartVector(1, numElems, 1)
+
+def StartLogsVector(builder, numElems: int) -> int:
+    return GameWrapperStartLogsVector(builder, numElems)
+
 def GameWrapperEnd(builder: flatbuffers.Builder) -> int:
     return builder.EndObject()
 
@@ -26,6 +26,10 @@ class GameWrapper(object):
   def MatchFootersAsNumpy(self) -> np.ndarray: ...
   def MatchFootersLength(self) -> int: ...
   def MatchFootersIsNone(self) -> bool: ...
+  def Logs(self, i: int) -> typing.List[int]: ...
+  def LogsAsNumpy(self) -> np.ndarray: ...
+  def LogsLength(self) -> int: ...
+  def LogsIsNone(self) -> bool: ...
 def GameWrapperStart(builder: flatbuffers.Builder) -> None: ...
 def Start(builder: flatbuffers.Builder) -> None: ...
 def GameWrapperAddEvents(builder: flatbuffers.Builder, events: uoffset) -> None: ...
@@ -37,6 +41,9 @@ def StartMatchHeadersVector(builder: flatbuffers.Builder, num_elems: int) -> uof
 def GameWrapperAddMatchFooters(builder: flatbuffers.Builder, matchFooters: uoffset) -> None: ...
 def GameWrapperStartMatchFootersVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
 def StartMatchFootersVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def GameWrapperAddLogs(builder: flatbuffers.Builder, logs: uoffset) -> None: ...
+def GameWrapperStartLogsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartLogsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
 def GameWrapperEnd(builder: flatbuffers.Builder) -> uoffset: ...
 def End(builder: flatbuffers.Builder) -> uoffset: ...
 
@@ -0,0 +1,36 @@
+from __future__ import annotations
+
+import flatbuffers
+import numpy as np
+
+import flatbuffers
+import typing
+
+uoffset: typing.TypeAlias = flatbuffers.number_types.UOffsetTFlags.py_type
+
+class RobotLog(object):
+  @classmethod
+  def GetRootAs(cls, buf: bytes, offset: int) -> RobotLog: ...
+  @classmethod
+  def GetRootAsRobotLog(cls, buf: bytes, offset: int) -> RobotLog: ...
+  def Init(self, buf: bytes, pos: int) -> None: ...
+  def Match(self) -> int: ...
+  def Round(self) -> int: ...
+  def RobotId(self) -> int: ...
+  def Team(self) -> int: ...
+  def Text(self, i: int) -> typing.List[int]: ...
+  def TextAsNumpy(self) -> np.ndarray: ...
+  def TextLength(self) -> int: ...
+  def TextIsNone(self) -> bool: ...
+def RobotLogStart(builder: flatbuffers.Builder) -> None: ...
+def Start(builder: flatbuffers.Builder) -> None: ...
+def RobotLogAddMatch(builder: flatbuffers.Builder, match: int) -> None: ...
+def RobotLogAddRound(builder: flatbuffers.Builder, round: int) -> None: ...
+def RobotLogAddRobotId(builder: flatbuffers.Builder, robotId: int) -> None: ...
+def RobotLogAddTeam(builder: flatbuffers.Builder, team: int) -> None: ...
+def RobotLogAddText(builder: flatbuffers.Builder, text: uoffset) -> None: ...
+def RobotLogStartTextVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartTextVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def RobotLogEnd(builder: flatbuffers.Builder) -> uoffset: ...
+def End(builder: flatbuffers.Builder) -> uoffset: ...
+
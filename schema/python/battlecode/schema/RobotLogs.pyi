@@ -0,0 +1,35 @@
+from __future__ import annotations
+
+import flatbuffers
+import numpy as np
+
+import flatbuffers
+import typing
+from ..schema.RobotLog import RobotLog
+
+uoffset: typing.TypeAlias = flatbuffers.number_types.UOffsetTFlags.py_type
+
+class RobotLogs(object):
+  @classmethod
+  def GetRootAs(cls, buf: bytes, offset: int) -> RobotLogs: ...
+  @classmethod
+  def GetRootAsRobotLogs(cls, buf: bytes, offset: int) -> RobotLogs: ...
+  def Init(self, buf: bytes, pos: int) -> None: ...
+  def Logs(self, i: int) -> RobotLog | None: ...
+  def LogsLength(self) -> int: ...
+  def LogsIsNone(self) -> bool: ...
+  def DroppedBytes(self, i: int) -> typing.List[int]: ...
+  def DroppedBytesAsNumpy(self) -> np.ndarray: ...
+  def DroppedBytesLength(self) -> int: ...
+  def DroppedBytesIsNone(self) -> bool: ...
+def RobotLogsStart(builder: flatbuffers.Builder) -> None: ...
+def Start(builder: flatbuffers.Builder) -> None: ...
+def RobotLogsAddLogs(builder: flatbuffers.Builder, logs: uoffset) -> None: ...
+def RobotLogsStartLogsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartLogsVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def RobotLogsAddDroppedBytes(builder: flatbuffers.Builder, droppedBytes: uoffset) -> None: ...
+def RobotLogsStartDroppedBytesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def StartDroppedBytesVector(builder: flatbuffers.Builder, num_elems: int) -> uoffset: ...
+def RobotLogsEnd(builder: flatbuffers.Builder) -> uoffset: ...
+def End(builder: flatbuffers.Builder) -> uoffset: ...
+
@@ -6,6 +6,7 @@ import { GameFooter } from '../../battlecode/schema/game-footer';
 import { GameHeader } from '../../battlecode/schema/game-header';
 import { MatchFooter } from '../../battlecode/schema/match-footer';
 import { MatchHeader } from '../../battlecode/schema/match-header';
+import { RobotLogs } from '../../battlecode/schema/robot-logs';
 import { Round } from '../../battlecode/schema/round';
 
 
@@ -46,13 +47,19 @@ export enum Event {
   /**
    * There should only be one GameFooter, at the end of the stream.
    */
-  GameFooter = 5
+  GameFooter = 5,
+
+  /**
+   * Robot output printed during the preceding round. Only sent to live
+   * clients; saved games keep their logs in GameWrapper.logs instead.
+   */
+  RobotLogs = 6
 }
 
 export function unionToEvent(
   type: Event,
-  accessor: (obj:GameFooter|GameHeader|MatchFooter|MatchHeader|Round) => GameFooter|GameHeader|MatchFooter|MatchHeader|Round|null
-): GameFooter|GameHeader|MatchFooter|MatchHeader|Round|null {
+  accessor: (obj:GameFooter|GameHeader|MatchFooter|MatchHeader|RobotLogs|Round) => GameFooter|GameHeader|MatchFooter|MatchHeader|RobotLogs|Round|null
+): GameFooter|GameHeader|MatchFooter|MatchHeader|RobotLogs|Round|null {
   switch(Event[type]) {
     case 'NONE': return null; 
     case 'GameHeader': return accessor(new GameHeader())! as GameHeader;
@@ -60,15 +67,16 @@ export function unionToEvent(
     case 'Round': return accessor(new Round())! as Round;
     case 'MatchFooter': return accessor(new MatchFooter())! as MatchFooter;
     case 'GameFooter': return accessor(new GameFooter())! as GameFooter;
+    case 'RobotLogs': return accessor(new RobotLogs())! as RobotLogs;
     default: return null;
   }
 }
 
 export function unionListToEvent(
   type: Event, 
-  accessor: (index: number, obj:GameFooter|GameHeader|MatchFooter|MatchHeader|Round) => GameFooter|GameHeader|MatchFooter|MatchHeader|Round|null, 
+  accessor: (index: number, obj:GameFooter|GameHeader|MatchFooter|MatchHeader|RobotLogs|Round) => GameFooter|GameHeader|MatchFooter|MatchHeader|RobotLogs|Round|null, 
   index: number
-): GameFooter|GameHeader|MatchFooter|MatchHeader|Round|null {
+): GameFooter|GameHeader|MatchFooter|MatchHeader|RobotLogs|Round|null {
   switch(Event[type]) {
     case 'NONE': return null; 
     case 'GameHeader': return accessor(index, new GameHeader())! as GameHeader;
@@ -76,6 +84,7 @@ export function unionListToEvent(
     case 'Round': return accessor(index, new Round())! as Round;
     case 'MatchFooter': return accessor(index, new MatchFooter())! as MatchFooter;
     case 'GameFooter': return accessor(index, new GameFooter())! as GameFooter;
+    case 'RobotLogs': return accessor(index, new RobotLogs())! as RobotLogs;
     default: return null;
   }
 }